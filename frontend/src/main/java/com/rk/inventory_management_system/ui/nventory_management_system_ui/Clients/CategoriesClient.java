@@ -1,5 +1,7 @@
 package com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients;
 
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.ConditionalGetClient;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.ReferenceDataCache;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductCategoryDto;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductDto;
 import lombok.RequiredArgsConstructor;
@@ -16,48 +18,50 @@ import java.util.List;
 public class CategoriesClient {
 
     private final RestClient restClient;
+    private final ConditionalGetClient conditionalGetClient;
+    private final ReferenceDataCache referenceDataCache;
 
     public ProductCategoryDto create(ProductCategoryDto categoryDto) {
         log.debug("Creating Product Category: {}", categoryDto.getName());
-        return restClient.post()
+        ProductCategoryDto created = restClient.post()
                 .uri("/api/category/create")
                 .body(categoryDto)
                 .retrieve()
                 .body(ProductCategoryDto.class);
+        referenceDataCache.add(ReferenceDataCache.CATEGORIES, created);
+        return created;
     }
 
     public ProductCategoryDto delete(Long categoryId) {
         log.debug("Deleting Product Category: {}", categoryId);
 
-        return restClient.delete()
+        ProductCategoryDto deleted = restClient.delete()
                 .uri("api/category/{categoryId}/delete",categoryId)
                 .retrieve()
                 .body(ProductCategoryDto.class);
+        referenceDataCache.remove(ReferenceDataCache.CATEGORIES, categoryId,
+                category -> categoryId.equals(category.getId()));
+        // Products of a deleted category may have been moved or dropped
+        referenceDataCache.invalidate(ReferenceDataCache.PRODUCTS);
+        return deleted;
     }
 
     public List<ProductCategoryDto> findAll() {
         log.debug("Finding All Product Categories");
 
-        return restClient.get()
-                .uri("/api/category/all")
-                .retrieve()
-                .body(new ParameterizedTypeReference<List<ProductCategoryDto>>() {});
+        return referenceDataCache.getList(ReferenceDataCache.CATEGORIES, () ->
+                conditionalGetClient.getShared(new ParameterizedTypeReference<List<ProductCategoryDto>>() {}, "/api/category/all"));
     }
 
     public ProductCategoryDto findById(Long id) {
-        return restClient.get()
-                .uri("/api/category/{id}",id)
-                .retrieve()
-                .body(ProductCategoryDto.class);
+        return referenceDataCache.getById(ReferenceDataCache.CATEGORIES, id, () ->
+                conditionalGetClient.getShared(ProductCategoryDto.class, "/api/category/{id}",id));
     }
 
     public List<ProductDto> findProductsByCategoryId(Long categoryId) {
         log.debug("Finding all products of category: {}",categoryId);
 
-        return restClient.get()
-                .uri("api/category/{categoryId}/products",categoryId)
-                .retrieve()
-                .body(new ParameterizedTypeReference<List<ProductDto>>() {});
+        return conditionalGetClient.get(new ParameterizedTypeReference<List<ProductDto>>() {}, "api/category/{categoryId}/products",categoryId);
     }
 
 }
@@ -1,6 +1,8 @@
 package com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients;
 
-
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.ConditionalGetClient;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.ReferenceDataCache;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.StreamingGetClient;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.CustomerDto;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderDto;
 import jakarta.servlet.http.Cookie;
@@ -20,38 +22,42 @@ import java.util.List;
 public class CustomersClient {
 
     private final RestClient restClient;
+    private final ConditionalGetClient conditionalGetClient;
+    private final ReferenceDataCache referenceDataCache;
+    private final StreamingGetClient streamingGetClient;
 
     public CustomerDto create(CustomerDto customerDto) {
         log.debug("Creating Customer: {}",customerDto.getName());
-        return restClient.post()
+        CustomerDto created = restClient.post()
                 .uri("/api/customer/create")
                 .body(customerDto)
                 .retrieve()
                 .body(CustomerDto.class);
-
+        referenceDataCache.add(ReferenceDataCache.CUSTOMERS, created);
+        return created;
     }
 
     public CustomerDto findCustomerById(Long customerId) {
         log.debug("Finding customer by id: {}",customerId);
-        return restClient.get()
-                .uri("/api/customer/{customerID}",customerId)
-                .retrieve()
-                .body(CustomerDto.class);
+        return referenceDataCache.getById(ReferenceDataCache.CUSTOMERS, customerId, () ->
+                conditionalGetClient.getShared(CustomerDto.class, "/api/customer/{customerID}",customerId));
     }
 
     public List<CustomerDto> findAll(){
         log.debug("Finding all customers");
-        return restClient.get()
-                .uri("/api/customer/all")
-                .retrieve()
-                .body(new ParameterizedTypeReference<List<CustomerDto>>(){});
+        return referenceDataCache.getList(ReferenceDataCache.CUSTOMERS, () ->
+                conditionalGetClient.getShared(new ParameterizedTypeReference<List<CustomerDto>>(){}, "/api/customer/all"));
+    }
+
+    /**
+     * Every customer, read from the backend one at a time as it is iterated; must be closed
+     */
+    public StreamingGetClient.Elements<CustomerDto> streamAll() {
+        return streamingGetClient.openArray(CustomerDto.class, "/api/customer/all");
     }
 
     public List<OrderDto> findOrdersByCustomerId(Long customerID) {
         log.debug("Finding orders for customer: {}",customerID);
-        return restClient.get()
-                .uri("/api/customer/{customerID}/order",customerID)
-                .retrieve()
-                .body(new ParameterizedTypeReference<List<OrderDto>>() {});
+        return conditionalGetClient.get(new ParameterizedTypeReference<List<OrderDto>>() {}, "/api/customer/{customerID}/order",customerID);
     }
 }
@@ -1,5 +1,7 @@
 package com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients;
 
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.ConditionalGetClient;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.ReferenceDataCache;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderDto;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderItemDto;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.RemoveOrderItemRequestDto;
@@ -18,36 +20,40 @@ import java.util.List;
 public class OrderItemClient {
 
     private final RestClient restClient;
+    private final ConditionalGetClient conditionalGetClient;
+    private final ReferenceDataCache referenceDataCache;
     private final static String PREFIX_URL = "api/orderItem";
 
     public OrderDto addItemToOrder(Long orderId, OrderItemDto orderItemDto) {
         log.debug("Adding item to order: {}", orderId);
 
-        return restClient.post()
+        OrderDto order = restClient.post()
                 .uri(PREFIX_URL + "/{orderId}", orderId)
                 .body(orderItemDto)
                 .retrieve()
                 .body(OrderDto.class);
+        // Item changes move product stock
+        referenceDataCache.invalidate(ReferenceDataCache.PRODUCTS);
+        return order;
     }
 
     public List<OrderItemDto> removeItemFromOrder(Long orderId, RemoveOrderItemRequestDto itemRequestDto) {
         log.debug("Removing item from order: {}, itemId: {}, quantity: {}",
                 orderId, itemRequestDto.getOrderItemId(), itemRequestDto.getQuantityToRemove());
 
-        return restClient.method(HttpMethod.DELETE)
+        List<OrderItemDto> remaining = restClient.method(HttpMethod.DELETE)
                 .uri(PREFIX_URL + "/{orderId}", orderId)
                 .body(itemRequestDto)
                 .retrieve()
                 .body(new ParameterizedTypeReference<List<OrderItemDto>>() {});
+        referenceDataCache.invalidate(ReferenceDataCache.PRODUCTS);
+        return remaining;
     }
 
     public OrderDto getAllItemsByOrder(Long orderId) {
         log.debug("Getting all items for order: {}", orderId);
 
-        return restClient.get()
-                .uri(PREFIX_URL + "/{orderId}", orderId)
-                .retrieve()
-                .body(OrderDto.class);
+        return conditionalGetClient.get(OrderDto.class, PREFIX_URL + "/{orderId}", orderId);
     }
 }
 
@@ -1,13 +1,35 @@
 package com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients;
 
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.ConditionalGetClient;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.LocalOrderPager;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.OrderCursor;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.ReferenceDataCache;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.StreamingGetClient;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics.OrderAnalytics;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderPageDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderPageQuery;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderSummaryDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.PageResponseDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderStatus;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.search.NgramIndex;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.search.SearchIndex;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.StockLevels;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Component
@@ -15,50 +37,230 @@ import java.util.List;
 public class OrdersClient {
 
     private final RestClient restClient;
+    private final ConditionalGetClient conditionalGetClient;
+    private final ReferenceDataCache referenceDataCache;
+    private final StreamingGetClient streamingGetClient;
+    private final SearchIndex searchIndex;
+    private final OrderAnalytics orderAnalytics;
+    private final StockLevels stockLevels;
     private final static String PREFIX_URL = "api/orders";
 
+    // Answers meaning "no such endpoint"; 400 covers /page and /summary being routed to /{orderId},
+    // but from /page it may also be a rejected parameter (see pageEndpointMissing)
+    private static final Set<Integer> ENDPOINT_UNSUPPORTED = Set.of(400, 404, 405, 501);
+
+    @Value("${backend.orders.page.default-size:25}")
+    private int defaultPageSize;
+
+    @Value("${backend.orders.page.max-size:200}")
+    private int maxPageSize;
+
+    // How long to compute pages and summaries locally before trying the backend endpoints again
+    @Value("${backend.orders.page.recheck-after:10m}")
+    private Duration recheckAfter;
+
+    private volatile long pageUnsupportedSince;
+    private volatile long summaryUnsupportedSince;
+
     public List<OrderDto> findAll() {
-        return restClient.get()
-                .uri(PREFIX_URL+"/all")
-                .retrieve()
-                .body(new ParameterizedTypeReference<List<OrderDto>>() {});
+        return conditionalGetClient.get(new ParameterizedTypeReference<List<OrderDto>>() {}, PREFIX_URL+"/all");
+    }
+
+    /**
+     * Every order, read from the backend one at a time as it is iterated; must be closed
+     */
+    public StreamingGetClient.Elements<OrderDto> streamAll() {
+        return streamingGetClient.openArray(OrderDto.class, PREFIX_URL + "/all");
+    }
+
+    /**
+     * One page of the orders list. Filters, sort and page (or, for date sorts, the keyset cursor)
+     * go to the backend's paged endpoint; without one the page is cut from {@link #findAll()}.
+     */
+    public OrderPageDto findPage(OrderPageQuery query) {
+        int size = query.getSize() > 0 ? Math.min(query.getSize(), maxPageSize) : defaultPageSize;
+        OrderPageQuery normalized = query.toBuilder()
+                .size(size)
+                .page(Math.max(0, query.getPage()))
+                .cursor(query.getSort().isKeyset() ? query.getCursor() : null)
+                .build();
+
+        if (shouldTry(pageUnsupportedSince)) {
+            try {
+                OrderPageDto page = findPageFromBackend(normalized);
+                pageUnsupportedSince = 0;
+                return page;
+            } catch (RestClientResponseException e) {
+                if (!ENDPOINT_UNSUPPORTED.contains(e.getStatusCode().value())
+                        || e.getStatusCode().isSameCodeAs(HttpStatus.BAD_REQUEST) && !pageEndpointMissing()) {
+                    throw e;
+                }
+                log.info("Backend has no paged orders endpoint ({}), paging locally", e.getStatusCode());
+                pageUnsupportedSince = System.nanoTime();
+            }
+        }
+        return LocalOrderPager.page(localCandidates(normalized), normalized);
+    }
+
+    /**
+     * Whether a 400 from /page means the path was taken for an order id: a minimal page request,
+     * which a backend with the endpoint always accepts, then fails the same way
+     */
+    private boolean pageEndpointMissing() {
+        try {
+            restClient.get()
+                    .uri(PREFIX_URL + "/page?page=0&size=1")
+                    .retrieve()
+                    .toBodilessEntity();
+            return false;
+        } catch (RestClientResponseException e) {
+            return ENDPOINT_UNSUPPORTED.contains(e.getStatusCode().value());
+        }
+    }
+
+    /**
+     * Status counters and analytics over all orders, from the backend's summary endpoint or
+     * aggregated locally in one pass
+     */
+    public OrderSummaryDto summary() {
+        if (shouldTry(summaryUnsupportedSince)) {
+            try {
+                OrderSummaryDto summary = conditionalGetClient.get(OrderSummaryDto.class, PREFIX_URL + "/summary");
+                summaryUnsupportedSince = 0;
+                return summary;
+            } catch (RestClientResponseException e) {
+                if (!ENDPOINT_UNSUPPORTED.contains(e.getStatusCode().value())) {
+                    throw e;
+                }
+                log.info("Backend has no orders summary endpoint ({}), aggregating locally", e.getStatusCode());
+                summaryUnsupportedSince = System.nanoTime();
+            }
+        }
+        return LocalOrderPager.summarize(findAllAndOfferToIndex(), LocalDate.now().withDayOfMonth(1).atStartOfDay());
+    }
+
+    /**
+     * Orders a local page is cut from: every order, or for a search of three or more characters
+     * while the index is fresh, those of them whose ids the index matches. Rows always come from
+     * the fetched list, not the index; shorter searches go through LocalOrderPager's matcher
+     * alone, as the index would only match them against word prefixes.
+     */
+    private List<OrderDto> localCandidates(OrderPageQuery query) {
+        String search = query.getSearch() != null ? query.getSearch().trim() : "";
+        List<OrderDto> matches = search.length() >= NgramIndex.MIN_SUBSTRING_QUERY && !searchIndex.ordersNeedRebuild()
+                ? searchIndex.searchOrders(search) : null;
+        List<OrderDto> orders = findAllAndOfferToIndex();
+        if (matches == null) {
+            return orders;
+        }
+        Set<Long> ids = new HashSet<>(matches.size() * 2);
+        for (OrderDto match : matches) {
+            ids.add(match.getOrderId());
+        }
+        List<OrderDto> candidates = new ArrayList<>(matches.size());
+        for (OrderDto order : orders) {
+            if (ids.contains(order.getOrderId())) {
+                candidates.add(order);
+            }
+        }
+        return candidates;
+    }
+
+    private List<OrderDto> findAllAndOfferToIndex() {
+        long started = System.nanoTime();
+        List<OrderDto> orders = findAll();
+        searchIndex.offerOrders(orders, started);
+        return orders;
+    }
+
+    private OrderPageDto findPageFromBackend(OrderPageQuery query) {
+        StringBuilder uri = new StringBuilder(PREFIX_URL + "/page?page={page}&size={size}&sort={sort}");
+        List<Object> variables = new ArrayList<>(List.of(query.getPage(), query.getSize(), query.getSort().getBackendSort()));
+        appendParam(uri, variables, "search", query.getSearch());
+        appendParam(uri, variables, "status", query.getStatus());
+        appendParam(uri, variables, "type", query.getType());
+        OrderCursor cursor = OrderCursor.decode(query.getCursor());
+        if (cursor != null) {
+            // Keyset: the backend continues after this (createdAt, orderId) instead of skipping rows
+            appendParam(uri, variables, "afterCreatedAt", cursor.createdAt());
+            appendParam(uri, variables, "afterId", cursor.orderId());
+        }
+
+        PageResponseDto<OrderDto> page = conditionalGetClient.get(
+                new ParameterizedTypeReference<PageResponseDto<OrderDto>>() {}, uri.toString(), variables.toArray());
+        List<OrderDto> content = page.getContent() != null ? page.getContent() : List.of();
+        boolean hasNext = cursor != null
+                ? content.size() == query.getSize() && (long) (query.getPage() + 1) * query.getSize() < page.getTotalElements()
+                : page.getNumber() + 1 < page.getTotalPages();
+        return OrderPageDto.builder()
+                .content(content)
+                .page(query.getPage())
+                .size(query.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .hasNext(hasNext)
+                .nextCursor(hasNext && query.getSort().isKeyset() && !content.isEmpty()
+                        ? LocalOrderPager.cursorOf(content.get(content.size() - 1)) : null)
+                .build();
+    }
+
+    private static void appendParam(StringBuilder uri, List<Object> variables, String name, Object value) {
+        if (value == null || value.toString().isBlank()) {
+            return;
+        }
+        uri.append('&').append(name).append("={").append(name).append('}');
+        variables.add(value.toString());
+    }
+
+    private boolean shouldTry(long unsupportedSince) {
+        return unsupportedSince == 0 || System.nanoTime() - unsupportedSince > recheckAfter.toNanos();
     }
 
     public OrderDto create(OrderDto orderDto) {
         log.debug("Creating order");
 
-        return restClient.post()
+        OrderDto created = restClient.post()
                 .uri(PREFIX_URL+"/create")
                 .body(orderDto)
                 .retrieve()
                 .body(OrderDto.class);
+        onOrderChanged();
+        searchIndex.orderSaved(created);
+        orderAnalytics.orderSaved(created);
+        stockLevels.orderCreated(created, referenceDataCache.version(ReferenceDataCache.PRODUCTS));
+        return created;
     }
 
     public OrderDto cancel(Long orderId) {
         log.debug("Cancelling order: {}",orderId);
 
-        return restClient.post()
+        OrderDto order = restClient.post()
                 .uri(PREFIX_URL+"/{orderID}/cancel",orderId)
                 .retrieve()
                 .body(OrderDto.class);
+        onOrderChanged();
+        searchIndex.orderStatusChanged(orderId, OrderStatus.CANCELLED);
+        orderAnalytics.orderStatusChanged(orderId, OrderStatus.CANCELLED);
+        return order;
     }
 
     public OrderDto complete(Long orderId) {
         log.debug("Completing order: {}",orderId);
 
-        return restClient.post()
+        OrderDto order = restClient.post()
                 .uri(PREFIX_URL+"/{orderID}/complete",orderId)
                 .retrieve()
                 .body(OrderDto.class);
+        onOrderChanged();
+        searchIndex.orderStatusChanged(orderId, OrderStatus.COMPLETED);
+        orderAnalytics.orderStatusChanged(orderId, OrderStatus.COMPLETED);
+        return order;
     }
 
     public OrderDto findOrderById(Long orderId) {
         log.debug("Finding order by id: {}",orderId);
 
-        return restClient.get()
-                .uri(PREFIX_URL+"/{orderId}",orderId)
-                .retrieve()
-                .body(OrderDto.class);
+        return conditionalGetClient.get(OrderDto.class, PREFIX_URL+"/{orderId}",orderId);
     }
 
     public void updateStatus(Long orderId, String orderStatus) {
@@ -66,18 +268,30 @@ public class OrdersClient {
 
         restClient.post()
                 .uri(PREFIX_URL + "/{orderId}/status?orderStatus={orderStatus}",
-                        orderId, orderId, orderStatus)
+                        orderId, orderStatus)
                 .retrieve()
                 .body(String.class);
+        onOrderChanged();
+        searchIndex.orderStatusChanged(orderId, statusOf(orderStatus));
+        orderAnalytics.orderStatusChanged(orderId, statusOf(orderStatus));
+    }
+
+    private static OrderStatus statusOf(String orderStatus) {
+        try {
+            return OrderStatus.valueOf(orderStatus);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
     }
 
     public List<OrderDto> findAllOrdersOfCustomer(Long customerId) {
         log.debug("Finding all orders of customer: {}",customerId);
 
-        return restClient.get()
-                .uri(PREFIX_URL+"/customer/{customerId}",customerId)
-                .retrieve()
-                .body(new ParameterizedTypeReference<List<OrderDto>>() {});
+        return conditionalGetClient.get(new ParameterizedTypeReference<List<OrderDto>>() {}, PREFIX_URL+"/customer/{customerId}",customerId);
     }
 
+    // Orders move stock and customer order history, so cached products/customers are stale now
+    private void onOrderChanged() {
+        referenceDataCache.invalidate(ReferenceDataCache.PRODUCTS, ReferenceDataCache.CUSTOMERS);
+    }
 }
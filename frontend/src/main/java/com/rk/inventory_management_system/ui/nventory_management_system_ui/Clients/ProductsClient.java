@@ -1,17 +1,37 @@
 package com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients;
 
-
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.ConditionalGetClient;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.ReferenceDataCache;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.StreamingGetClient;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductDto;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductStockResponseDto;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.productDtos.ProductResponseDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.productDtos.ProductStockBatchDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.productDtos.ProductStockFailureDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.search.SearchIndex;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.FanOut;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.FanOutScope;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.StockLevels;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -19,53 +39,203 @@ import java.util.List;
 public class ProductsClient {
 
     private final RestClient restClient;
+    private final ConditionalGetClient conditionalGetClient;
+    private final ReferenceDataCache referenceDataCache;
+    private final StreamingGetClient streamingGetClient;
+    private final FanOut fanOut;
+    private final SearchIndex searchIndex;
+    private final StockLevels stockLevels;
     private final static String PREFIX_URL = "/api/products";
+    // Statuses meaning "no such endpoint" rather than "bad ids"
+    private final static Set<Integer> BATCH_UNSUPPORTED = Set.of(404, 405, 501);
+
+    @Value("${backend.products.stock-batch.parallelism:8}")
+    private int stockLookupParallelism;
+
+    // How long to stick to individual lookups before trying the batch endpoint again
+    @Value("${backend.products.stock-batch.recheck-after:10m}")
+    private Duration batchRecheckAfter;
+
+    private volatile long batchUnsupportedSince;
 
     public ProductResponseDto create(ProductDto productDto) {
         log.debug("Creating product: {}",productDto.getName());
 
-        return restClient.post()
+        ProductResponseDto created = restClient.post()
                 .uri(PREFIX_URL+"/create")
                 .body(productDto)
                 .retrieve()
                 .body(ProductResponseDto.class);
+        // Category and supplier product counts change along with the product list
+        referenceDataCache.invalidate(ReferenceDataCache.PRODUCTS, ReferenceDataCache.CATEGORIES, ReferenceDataCache.SUPPLIERS);
+        if (created != null) {
+            searchIndex.productSaved(searchDocument(created));
+        }
+        return created;
+    }
+
+    // The fields product search needs; the full product arrives with the next index rebuild
+    private static ProductDto searchDocument(ProductResponseDto created) {
+        ProductDto product = new ProductDto();
+        product.setProductId(created.getProductId());
+        product.setProductCode(created.getProductCode());
+        product.setName(created.getName());
+        product.setBrandName(created.getBrandName());
+        product.setActualPrice(created.getActualPrice());
+        product.setSellingPrice(created.getSellingPrice());
+        product.setStockQuantity(created.getStockQuantity());
+        product.setCategory(created.getCategory());
+        return product;
     }
 
 
     public List<ProductDto> findAll() {
         log.debug("Finding all products: ");
 
-        return restClient.get()
-                .uri(PREFIX_URL+"/all")
-                .retrieve()
-                .body(new ParameterizedTypeReference<List<ProductDto>>() {});
+        return referenceDataCache.getList(ReferenceDataCache.PRODUCTS, () ->
+                conditionalGetClient.getShared(new ParameterizedTypeReference<List<ProductDto>>() {}, PREFIX_URL+"/all"));
+    }
+
+    /**
+     * Every product, read from the backend one at a time as it is iterated; must be closed
+     */
+    public StreamingGetClient.Elements<ProductDto> streamAll() {
+        return streamingGetClient.openArray(ProductDto.class, PREFIX_URL + "/all");
     }
 
     public ProductDto findById(Long productId) {
         log.debug("Finding product of id: {}",productId);
 
-        return restClient.get()
-                .uri(PREFIX_URL+"/{productId}",productId)
-                .retrieve()
-                .body(ProductDto.class);
+        return referenceDataCache.getById(ReferenceDataCache.PRODUCTS, productId, () ->
+                conditionalGetClient.getShared(ProductDto.class, PREFIX_URL+"/{productId}",productId));
     }
 
     public ProductStockResponseDto findProductStockById(Long productId) {
         log.debug("Finding product stock of id: {}",productId);
 
-        return restClient.get()
-                .uri(PREFIX_URL+"/{productId}/stock",productId)
-                .retrieve()
-                .body(ProductStockResponseDto.class);
+        return conditionalGetClient.get(ProductStockResponseDto.class, PREFIX_URL+"/{productId}/stock",productId);
+    }
+
+    /**
+     * Stock for many products at once. Uses the backend's batch endpoint when it has one;
+     * otherwise (or once it answered 404/405/501) looks the ids up individually, at most
+     * stock-batch.parallelism at a time. Ids that fail are reported, not thrown.
+     */
+    public ProductStockBatchDto findProductStockByIds(Collection<Long> productIds) {
+        List<Long> ids = productIds.stream().filter(Objects::nonNull).distinct().toList();
+        log.debug("Finding product stock of {} ids", ids.size());
+        if (ids.isEmpty()) {
+            return new ProductStockBatchDto(List.of(), List.of());
+        }
+
+        if (batchUnsupportedSince == 0 || System.nanoTime() - batchUnsupportedSince > batchRecheckAfter.toNanos()) {
+            try {
+                List<ProductStockResponseDto> found = restClient.post()
+                        .uri(PREFIX_URL + "/stock/batch")
+                        .body(ids)
+                        .retrieve()
+                        .body(new ParameterizedTypeReference<List<ProductStockResponseDto>>() {});
+                batchUnsupportedSince = 0;
+                return fromBatch(ids, found == null ? List.of() : found);
+            } catch (RestClientResponseException e) {
+                if (!BATCH_UNSUPPORTED.contains(e.getStatusCode().value())) {
+                    return allFailed(ids, e);
+                }
+                log.info("Backend has no batch stock endpoint ({}), looking ids up individually", e.getStatusCode());
+                batchUnsupportedSince = System.nanoTime();
+            } catch (RestClientException e) {
+                return allFailed(ids, e);
+            }
+        }
+        return lookUpIndividually(ids);
+    }
+
+    private ProductStockBatchDto fromBatch(List<Long> ids, List<ProductStockResponseDto> found) {
+        Map<Long, ProductStockResponseDto> byId = new HashMap<>();
+        for (ProductStockResponseDto stock : found) {
+            if (stock != null && stock.getProductId() != null) {
+                byId.put(stock.getProductId(), stock);
+            }
+        }
+        List<ProductStockResponseDto> stock = new ArrayList<>();
+        List<ProductStockFailureDto> failures = new ArrayList<>();
+        for (Long id : ids) {
+            ProductStockResponseDto match = byId.get(id);
+            if (match != null) {
+                stock.add(match);
+            } else {
+                failures.add(new ProductStockFailureDto(id, HttpStatus.NOT_FOUND.value(), "Product not found"));
+            }
+        }
+        return new ProductStockBatchDto(stock, failures);
+    }
+
+    private ProductStockBatchDto lookUpIndividually(List<Long> ids) {
+        Semaphore permits = new Semaphore(stockLookupParallelism);
+        List<FanOutScope.Subtask<StockLookup>> lookups = new ArrayList<>(ids.size());
+        try (FanOutScope scope = fanOut.open()) {
+            for (Long id : ids) {
+                lookups.add(scope.fork("stock-" + id, () -> lookUp(id, permits)));
+            }
+            scope.join();
+        }
+
+        List<ProductStockResponseDto> stock = new ArrayList<>();
+        List<ProductStockFailureDto> failures = new ArrayList<>();
+        for (FanOutScope.Subtask<StockLookup> lookup : lookups) {
+            StockLookup result = lookup.get();
+            if (result.stock() != null) {
+                stock.add(result.stock());
+            } else {
+                failures.add(result.failure());
+            }
+        }
+        return new ProductStockBatchDto(stock, failures);
+    }
+
+    private StockLookup lookUp(Long id, Semaphore permits) throws InterruptedException {
+        permits.acquire();
+        try {
+            ProductStockResponseDto stock = findProductStockById(id);
+            if (stock == null) {
+                return new StockLookup(null, new ProductStockFailureDto(id, HttpStatus.NOT_FOUND.value(), "Product not found"));
+            }
+            stock.setProductId(id);
+            return new StockLookup(stock, null);
+        } catch (RestClientException e) {
+            return new StockLookup(null, failureOf(id, e));
+        } finally {
+            permits.release();
+        }
+    }
+
+    private ProductStockBatchDto allFailed(List<Long> ids, RestClientException e) {
+        log.warn("Batch stock lookup failed: {}", e.getMessage());
+        return new ProductStockBatchDto(List.of(), ids.stream().map(id -> failureOf(id, e)).toList());
+    }
+
+    private ProductStockFailureDto failureOf(Long id, RestClientException e) {
+        if (e instanceof RestClientResponseException response) {
+            int status = response.getStatusCode().value();
+            String message = status == HttpStatus.NOT_FOUND.value() ? "Product not found" : "Backend returned " + status;
+            return new ProductStockFailureDto(id, status, message);
+        }
+        return new ProductStockFailureDto(id, HttpStatus.SERVICE_UNAVAILABLE.value(), "Backend unavailable");
+    }
+
+    private record StockLookup(ProductStockResponseDto stock, ProductStockFailureDto failure) {
     }
 
     public List<ProductDto> reduceStock(Long productId, Integer quantityToReduce) {
         log.debug("Reducing product stock by {} of id: {}", quantityToReduce, productId);
 
-        return restClient.post()
+        List<ProductDto> products = restClient.post()
                 .uri(PREFIX_URL + "/{productId}/stock/reduce/{quantityToReduce}", productId, quantityToReduce)
                 .retrieve()
                 .body(new ParameterizedTypeReference<List<ProductDto>>() {});
+        referenceDataCache.invalidate(ReferenceDataCache.PRODUCTS);
+        stockLevels.stockReduced(productId, products, referenceDataCache.version(ReferenceDataCache.PRODUCTS));
+        return products;
     }
 
     public void increaseStock(Long productId, Integer quantityToAdd) {
@@ -75,6 +245,8 @@ public class ProductsClient {
                 .uri(PREFIX_URL + "/{productId}/stock/increase/{quantityToAdd}", productId, quantityToAdd)
                 .retrieve()
                 .toBodilessEntity();
+        referenceDataCache.invalidate(ReferenceDataCache.PRODUCTS);
+        stockLevels.stockIncreased(productId, quantityToAdd, referenceDataCache.version(ReferenceDataCache.PRODUCTS));
     }
 
 
@@ -1,9 +1,12 @@
 package com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients;
 
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.ConditionalGetClient;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.ReferenceDataCache;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductDto;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.SupplierDto;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.supplierDtos.SupplierProductsResponseDto;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.supplierDtos.SupplierResponseDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.search.SearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
@@ -18,50 +21,65 @@ import java.util.List;
 public class SuppliersClient {
 
     private final RestClient restClient;
+    private final ConditionalGetClient conditionalGetClient;
+    private final ReferenceDataCache referenceDataCache;
+    private final SearchIndex searchIndex;
 
     public SupplierDto create(SupplierDto supplierDto) {
         log.debug("Creating supplier: {}",supplierDto.getName());
 
-        return restClient.post()
+        SupplierDto created = restClient.post()
                 .uri("/api/supplier/create")
                 .body(supplierDto)
                 .retrieve()
                 .body(SupplierDto.class);
+        if (created != null) {
+            SupplierResponseDto supplier = SupplierResponseDto.builder()
+                    .id(created.getId())
+                    .name(created.getName())
+                    .contactNumber(created.getContactNumber())
+                    .email(created.getEmail())
+                    .address(created.getAddress())
+                    .productsCount(created.getProductsCount())
+                    .createdAt(created.getCreatedAt())
+                    .build();
+            referenceDataCache.add(ReferenceDataCache.SUPPLIERS, supplier);
+            searchIndex.supplierSaved(supplier);
+        }
+        return created;
     }
 
     public SupplierDto delete(Long supplierId) {
         log.debug("Deleting supplier: {}",supplierId);
 
-        return restClient.delete()
+        SupplierDto deleted = restClient.delete()
                 .uri("/api/supplier/{supplierId}",supplierId)
                 .retrieve()
                 .body(SupplierDto.class);
+        referenceDataCache.remove(ReferenceDataCache.SUPPLIERS, supplierId,
+                supplier -> supplierId.equals(supplier.getId()));
+        referenceDataCache.invalidate(ReferenceDataCache.PRODUCTS);
+        searchIndex.supplierRemoved(supplierId);
+        return deleted;
     }
 
     public List<SupplierResponseDto> findAll() {
         log.debug("Finding all suppliers");
 
-        return restClient.get()
-                .uri("/api/supplier/all")
-                .retrieve()
-                .body(new ParameterizedTypeReference<List<SupplierResponseDto>>() {});
+        return referenceDataCache.getList(ReferenceDataCache.SUPPLIERS, () ->
+                conditionalGetClient.getShared(new ParameterizedTypeReference<List<SupplierResponseDto>>() {}, "/api/supplier/all"));
     }
 
     public SupplierResponseDto findSupplierById(Long supplierId) {
 
-        return restClient.get()
-                .uri("/api/supplier/{supplierId}",supplierId)
-                .retrieve()
-                .body(SupplierResponseDto.class);
+        return referenceDataCache.getById(ReferenceDataCache.SUPPLIERS, supplierId, () ->
+                conditionalGetClient.getShared(SupplierResponseDto.class, "/api/supplier/{supplierId}",supplierId));
     }
 
     public List<SupplierProductsResponseDto> findAllProductsBySupplierId(Long supplierId) {
         log.debug("Finding all products of supplier: {}",supplierId);
 
-        return restClient.get()
-                .uri("/api/supplier/{supplierId}/products",supplierId)
-                .retrieve()
-                .body(new ParameterizedTypeReference<List<SupplierProductsResponseDto>>() {});
+        return conditionalGetClient.get(new ParameterizedTypeReference<List<SupplierProductsResponseDto>>() {}, "/api/supplier/{supplierId}/products",supplierId);
     }
 
 }
@@ -0,0 +1,79 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps the number of calls in flight to one backend endpoint. With {@code adaptive} on, the cap
+ * follows AIMD: each call that finishes under the latency target adds 1/limit (roughly +1 per
+ * round of calls), and a failed or slow call multiplies it by the backoff ratio, never going
+ * outside [minLimit, maxLimit].
+ */
+final class AdaptiveBulkhead {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final boolean adaptive;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    // Written under the lock, volatile so the gauges can read them without it
+    private volatile double limit;
+    private volatile int inFlight;
+
+    AdaptiveBulkhead(int maxLimit, boolean adaptive, int minLimit, long latencyTargetNanos, double backoffRatio) {
+        this.maxLimit = maxLimit;
+        this.minLimit = Math.min(minLimit, maxLimit);
+        this.adaptive = adaptive;
+        this.latencyTargetNanos = latencyTargetNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = maxLimit;
+    }
+
+    /**
+     * Take a slot, waiting at most {@code maxWaitNanos} for one to free up
+     */
+    boolean tryAcquire(long maxWaitNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = maxWaitNanos;
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(long elapsedNanos, boolean failed) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (adaptive) {
+                if (failed || elapsedNanos > latencyTargetNanos) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                } else {
+                    limit = Math.min(maxLimit, limit + 1 / limit);
+                }
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,69 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Short, non-reversible id of the caller's credentials, for keying anything that caches
+ * per-user backend responses. Calls made without a token share the "anonymous" scope.
+ */
+public final class AuthScope {
+
+    public static final String ANONYMOUS = "anonymous";
+    private static final String ATTRIBUTE = AuthScope.class.getName();
+
+    private AuthScope() {
+    }
+
+    public static String current() {
+        if (BackendIdentity.isBound()) {
+            return scopeOf(BackendIdentity.current().token());
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return ANONYMOUS;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        if (request.getAttribute(ATTRIBUTE) instanceof String scope) {
+            return scope;
+        }
+        String scope = scopeOf(resolveToken(request));
+        request.setAttribute(ATTRIBUTE, scope);
+        return scope;
+    }
+
+    public static String scopeOf(String token) {
+        if (token == null || token.isBlank()) {
+            return ANONYMOUS;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Same lookup order as RestClientConfig: JwtTokenInterceptor's attribute, then the cookie
+    private static String resolveToken(HttpServletRequest request) {
+        if (request.getAttribute("authToken") instanceof String token) {
+            return token;
+        }
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if ("token".equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,96 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.Callable;
+
+/**
+ * The credentials RestClient forwards to the backend: the user's JWT and raw Cookie header.
+ * Normally read from the current request; work that outlives its request (background jobs)
+ * captures them up front and binds them to its threads with {@link #runAs}.
+ */
+public record BackendIdentity(String token, String cookieHeader) {
+
+    private static final ThreadLocal<BackendIdentity> BOUND = new ThreadLocal<>();
+
+    /**
+     * Identity bound to this thread, else the one of the current request, else null
+     */
+    public static BackendIdentity current() {
+        BackendIdentity bound = BOUND.get();
+        return bound != null ? bound : capture();
+    }
+
+    /**
+     * Snapshot of the current request's identity, safe to use after the request has ended
+     */
+    public static BackendIdentity capture() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        // JwtTokenInterceptor has already resolved the token for page requests; fall back to the cookie
+        String token = request.getAttribute("authToken") instanceof String resolved ? resolved : tokenCookie(request);
+        return new BackendIdentity(token, cookieHeader(request));
+    }
+
+    public static void runAs(BackendIdentity identity, Runnable task) {
+        BackendIdentity previous = BOUND.get();
+        BOUND.set(identity);
+        try {
+            task.run();
+        } finally {
+            if (previous == null) {
+                BOUND.remove();
+            } else {
+                BOUND.set(previous);
+            }
+        }
+    }
+
+    public static <T> T callAs(BackendIdentity identity, Callable<T> task) throws Exception {
+        BackendIdentity previous = BOUND.get();
+        BOUND.set(identity);
+        try {
+            return task.call();
+        } finally {
+            if (previous == null) {
+                BOUND.remove();
+            } else {
+                BOUND.set(previous);
+            }
+        }
+    }
+
+    static boolean isBound() {
+        return BOUND.get() != null;
+    }
+
+    private static String tokenCookie(HttpServletRequest request) {
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if ("token".equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String cookieHeader(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return null;
+        }
+        StringBuilder cookieHeader = new StringBuilder();
+        for (Cookie cookie : request.getCookies()) {
+            if (cookieHeader.length() > 0) {
+                cookieHeader.append("; ");
+            }
+            cookieHeader.append(cookie.getName()).append("=").append(cookie.getValue());
+        }
+        return cookieHeader.toString();
+    }
+}
@@ -0,0 +1,218 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.exception.BackendUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Circuit breaker and bulkhead per backend endpoint (method + path with numeric ids folded to
+ * {id}), applied to every RestClient call. A failing or saturated endpoint is refused
+ * immediately with BackendUnavailableException instead of tying up request threads until the
+ * response timeout, and the other endpoints keep working.
+ * <ul>
+ *   <li>failures: connection errors, timeouts, 5xx and calls slower than the slow-call threshold</li>
+ *   <li>the bulkhead slot is held until the response is closed, i.e. until the body is read</li>
+ *   <li>meters: backend.resilience.rejected{endpoint,reason}, backend.resilience.circuit.state
+ *       (0 closed, 1 open, 2 half-open), backend.resilience.bulkhead.limit / .in-flight</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class BackendResilienceInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    @Value("${backend.resilience.enabled:true}")
+    private boolean enabled;
+
+    @Value("${backend.resilience.circuit-breaker.window-size:20}")
+    private int windowSize;
+
+    @Value("${backend.resilience.circuit-breaker.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${backend.resilience.circuit-breaker.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+
+    @Value("${backend.resilience.circuit-breaker.slow-call-threshold:5s}")
+    private Duration slowCallThreshold;
+
+    @Value("${backend.resilience.circuit-breaker.open-duration:15s}")
+    private Duration openDuration;
+
+    @Value("${backend.resilience.circuit-breaker.half-open-calls:3}")
+    private int halfOpenCalls;
+
+    @Value("${backend.resilience.bulkhead.max-concurrent:25}")
+    private int maxConcurrent;
+
+    @Value("${backend.resilience.bulkhead.max-wait:250ms}")
+    private Duration maxWait;
+
+    @Value("${backend.resilience.bulkhead.adaptive:false}")
+    private boolean adaptive;
+
+    @Value("${backend.resilience.bulkhead.min-limit:2}")
+    private int minLimit;
+
+    @Value("${backend.resilience.bulkhead.latency-target:2s}")
+    private Duration latencyTarget;
+
+    @Value("${backend.resilience.bulkhead.backoff-ratio:0.7}")
+    private double backoffRatio;
+
+    public BackendResilienceInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    private record Endpoint(String name, CircuitBreaker breaker, AdaptiveBulkhead bulkhead,
+                            Counter circuitOpenRejections, Counter bulkheadFullRejections) {
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if (!enabled) {
+            return execution.execute(request, body);
+        }
+        Endpoint endpoint = endpoints.computeIfAbsent(endpointOf(request), this::newEndpoint);
+
+        if (!endpoint.breaker().tryAcquire()) {
+            endpoint.circuitOpenRejections().increment();
+            throw new BackendUnavailableException("Circuit open for backend endpoint " + endpoint.name());
+        }
+        if (!acquireSlot(endpoint)) {
+            endpoint.breaker().onIgnored();
+            endpoint.bulkheadFullRejections().increment();
+            throw new BackendUnavailableException("Too many concurrent calls to backend endpoint " + endpoint.name());
+        }
+
+        long start = System.nanoTime();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            endpoint.breaker().onFailure();
+            endpoint.bulkhead().release(System.nanoTime() - start, true);
+            throw e;
+        }
+
+        boolean failed = response.getStatusCode().is5xxServerError()
+                || System.nanoTime() - start > slowCallThreshold.toNanos();
+        if (failed) {
+            endpoint.breaker().onFailure();
+        } else {
+            endpoint.breaker().onSuccess();
+        }
+        return new GuardedResponse(response, () -> endpoint.bulkhead().release(System.nanoTime() - start, failed));
+    }
+
+    private boolean acquireSlot(Endpoint endpoint) {
+        try {
+            return endpoint.bulkhead().tryAcquire(maxWait.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Endpoint newEndpoint(String name) {
+        CircuitBreaker breaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                openDuration.toNanos(), halfOpenCalls);
+        AdaptiveBulkhead bulkhead = new AdaptiveBulkhead(maxConcurrent, adaptive, minLimit,
+                latencyTarget.toNanos(), backoffRatio);
+
+        Gauge.builder("backend.resilience.circuit.state", breaker, b -> b.state().ordinal())
+                .description("Circuit state: 0 closed, 1 open, 2 half-open")
+                .tag("endpoint", name)
+                .register(meterRegistry);
+        Gauge.builder("backend.resilience.bulkhead.limit", bulkhead, AdaptiveBulkhead::limit)
+                .tag("endpoint", name)
+                .register(meterRegistry);
+        Gauge.builder("backend.resilience.bulkhead.in-flight", bulkhead, AdaptiveBulkhead::inFlight)
+                .tag("endpoint", name)
+                .register(meterRegistry);
+
+        log.debug("Guarding backend endpoint {}", name);
+        return new Endpoint(name, breaker, bulkhead, rejectedCounter(name, "circuit_open"), rejectedCounter(name, "bulkhead_full"));
+    }
+
+    private Counter rejectedCounter(String endpoint, String reason) {
+        return Counter.builder("backend.resilience.rejected")
+                .description("Backend calls refused without being sent")
+                .tag("endpoint", endpoint)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    static String endpointOf(HttpRequest request) {
+        String path = request.getURI().getPath();
+        return request.getMethod().name() + " " + NUMERIC_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+
+    /**
+     * Hands the bulkhead slot back once, when the caller closes the response
+     */
+    private static final class GuardedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Runnable onClose;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        GuardedResponse(ClientHttpResponse delegate, Runnable onClose) {
+            this.delegate = delegate;
+            this.onClose = onClose;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (closed.compareAndSet(false, true)) {
+                    onClose.run();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * GETs against the backend with HTTP validators. The ETag / Last-Modified of each response is
+ * remembered per URI and caller, sent back as If-None-Match / If-Modified-Since, and on 304 the
+ * body decoded last time is reused, so unchanged lists cost neither the transfer nor the parse.
+ * Callers of {@code get} get their own copy of that body (one copy per caller, coalesced or
+ * not); {@code getShared} hands out the kept body itself, read-only.
+ * <p>
+ * List responses are kept even without validators so that, when the backend is unreachable or
+ * answers 5xx, the last good list (up to stale-if-error old) is served instead of an error page
+ * and the request is flagged for the staleness banner (see {@link StaleData}).
+ */
+@Slf4j
+@Component
+public class ConditionalGetClient {
+
+    private final RestClient restClient;
+    private final DtoCopier dtoCopier;
+    private final RequestCoalescer requestCoalescer;
+    private final boolean enabled;
+    private final Cache<String, Validated> validatedBodies;
+    private final Counter notModifiedCounter;
+    private final Counter modifiedCounter;
+    private final Counter unvalidatedCounter;
+    private final Counter staleCounter;
+    private final Duration staleIfError;
+
+    private record Validated(String etag, String lastModified, Object body, Instant storedAt) {
+
+        boolean hasValidator() {
+            return etag != null || lastModified != null;
+        }
+    }
+
+    public ConditionalGetClient(RestClient restClient,
+                                DtoCopier dtoCopier,
+                                RequestCoalescer requestCoalescer,
+                                MeterRegistry meterRegistry,
+                                @Value("${backend.conditional-get.enabled:true}") boolean enabled,
+                                @Value("${backend.conditional-get.max-elements:200000}") long maxElements,
+                                @Value("${backend.conditional-get.expire-after-access:30m}") Duration expireAfterAccess,
+                                @Value("${backend.resilience.stale-if-error:1h}") Duration staleIfError) {
+        this.restClient = restClient;
+        this.dtoCopier = dtoCopier;
+        this.requestCoalescer = requestCoalescer;
+        this.enabled = enabled;
+        this.staleIfError = staleIfError;
+        this.validatedBodies = Caffeine.newBuilder()
+                .maximumWeight(maxElements)
+                .weigher((String key, Validated value) -> value.body() instanceof Collection<?> items ? Math.max(1, items.size()) : 1)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+        this.notModifiedCounter = counter(meterRegistry, "not_modified");
+        this.modifiedCounter = counter(meterRegistry, "modified");
+        this.unvalidatedCounter = counter(meterRegistry, "no_validator");
+        this.staleCounter = counter(meterRegistry, "stale_if_error");
+    }
+
+    public <T> T get(Class<T> type, String uriTemplate, Object... uriVariables) {
+        JavaType javaType = dtoCopier.typeOf(type);
+        return dtoCopier.copy(fetch(type, javaType, uriTemplate, uriVariables), javaType);
+    }
+
+    public <T> T get(ParameterizedTypeReference<T> type, String uriTemplate, Object... uriVariables) {
+        JavaType javaType = dtoCopier.typeOf(type.getType());
+        return dtoCopier.copy(fetch(type.getType(), javaType, uriTemplate, uriVariables), javaType);
+    }
+
+    /**
+     * Like {@link #get(Class, String, Object...)} but without the caller's copy: the body may be
+     * the one kept for revalidation or shared with coalesced callers, so it must not be modified.
+     * For callers that keep the result in a cache of their own (ReferenceDataCache).
+     */
+    public <T> T getShared(Class<T> type, String uriTemplate, Object... uriVariables) {
+        return fetch(type, dtoCopier.typeOf(type), uriTemplate, uriVariables);
+    }
+
+    public <T> T getShared(ParameterizedTypeReference<T> type, String uriTemplate, Object... uriVariables) {
+        return fetch(type.getType(), dtoCopier.typeOf(type.getType()), uriTemplate, uriVariables);
+    }
+
+    private <T> T fetch(Type type, JavaType javaType, String uriTemplate, Object[] uriVariables) {
+        String key = AuthScope.current() + " " + expand(uriTemplate, uriVariables);
+        // Identical reads already in flight are joined rather than repeated (RequestCoalescer)
+        return requestCoalescer.execute(key + " " + javaType.toCanonical(),
+                () -> fetch(key, type, javaType, uriTemplate, uriVariables));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T fetch(String key, Type type, JavaType javaType, String uriTemplate, Object[] uriVariables) {
+        Validated previous = enabled ? validatedBodies.getIfPresent(key) : null;
+        boolean list = Collection.class.isAssignableFrom(javaType.getRawClass());
+
+        ResponseEntity<T> response;
+        try {
+            response = restClient.get()
+                    .uri(uriTemplate, uriVariables)
+                    .headers(headers -> {
+                        if (previous != null) {
+                            if (previous.etag() != null) {
+                                headers.setIfNoneMatch(previous.etag());
+                            }
+                            if (previous.lastModified() != null) {
+                                headers.set(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified());
+                            }
+                        }
+                    })
+                    .retrieve()
+                    .toEntity(ParameterizedTypeReference.forType(type));
+        } catch (ResourceAccessException | HttpServerErrorException e) {
+            if (list && previous != null && previous.storedAt().plus(staleIfError).isAfter(Instant.now())) {
+                log.warn("Backend {} failed ({}), serving list from {}", key, e.getMessage(), previous.storedAt());
+                staleCounter.increment();
+                StaleData.mark(previous.storedAt());
+                return (T) previous.body();
+            }
+            throw e;
+        }
+
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) && previous != null) {
+            log.debug("Backend {} not modified, reusing decoded body", key);
+            notModifiedCounter.increment();
+            validatedBodies.put(key, new Validated(previous.etag(), previous.lastModified(), previous.body(), Instant.now()));
+            return (T) previous.body();
+        }
+
+        T body = response.getBody();
+        Validated current = new Validated(response.getHeaders().getETag(),
+                response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED), body, Instant.now());
+        if (current.hasValidator()) {
+            modifiedCounter.increment();
+        } else {
+            unvalidatedCounter.increment();
+        }
+
+        // Lists are kept as the stale-if-error fallback even when they can't be revalidated
+        boolean keep = current.hasValidator() || (list && !staleIfError.isZero());
+        if (enabled && body != null && keep) {
+            validatedBodies.put(key, current);
+            return body;
+        }
+        if (previous != null) {
+            validatedBodies.invalidate(key);
+        }
+        return body;
+    }
+
+    private static String expand(String uriTemplate, Object[] uriVariables) {
+        String uri = UriComponentsBuilder.fromUriString(uriTemplate).buildAndExpand(uriVariables).toUriString();
+        return uri.startsWith("/") ? uri.substring(1) : uri;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("backend.conditional.get")
+                .description("Backend GETs by validator outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,44 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Deep copies of cached DTOs. Controllers sort lists and set fields on what the clients
+ * return, so anything shared between requests is handed out as a private copy. Goes through
+ * Jackson's token buffer, which skips the text encoding/decoding of a real round trip.
+ */
+@Component
+@RequiredArgsConstructor
+public class DtoCopier {
+
+    private final ObjectMapper objectMapper;
+
+    public JavaType typeOf(Type type) {
+        return objectMapper.constructType(type);
+    }
+
+    public JavaType listTypeOf(Class<?> elementType) {
+        return objectMapper.getTypeFactory().constructCollectionType(List.class, elementType);
+    }
+
+    public <T> T copy(T value, JavaType type) {
+        if (value == null) {
+            return null;
+        }
+        try (TokenBuffer buffer = new TokenBuffer(objectMapper, false)) {
+            objectMapper.writeValue(buffer, value);
+            return objectMapper.readValue(buffer.asParser(), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not copy cached " + type, e);
+        }
+    }
+}
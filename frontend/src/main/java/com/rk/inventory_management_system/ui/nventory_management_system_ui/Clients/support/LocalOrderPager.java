@@ -0,0 +1,193 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderPageDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderPageQuery;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderSummaryDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderSort;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Paging and aggregation over the full orders list, for backends without the paged and summary
+ * endpoints. Each is a single pass: pages keep only the orders up to the end of the requested
+ * page in a bounded heap instead of sorting everything, and a cursor skips straight past the
+ * previous pages.
+ */
+public final class LocalOrderPager {
+
+    private static final int TOP_CUSTOMERS = 5;
+
+    private LocalOrderPager() {
+    }
+
+    public static OrderPageDto page(List<OrderDto> orders, OrderPageQuery query) {
+        OrderSort sort = query.getSort();
+        Comparator<OrderDto> order = comparator(sort);
+        Predicate<OrderDto> matches = matcher(query);
+        OrderCursor cursor = sort.isKeyset() ? OrderCursor.decode(query.getCursor()) : null;
+        OrderDto after = cursor != null ? probe(cursor) : null;
+
+        int size = query.getSize();
+        long skip = cursor != null ? 0 : (long) query.getPage() * size;
+        int keep = (int) Math.min(Integer.MAX_VALUE - 1, skip + size) + 1;
+
+        // Max-heap on the page order: the head is the order that falls off first
+        PriorityQueue<OrderDto> heap = new PriorityQueue<>(Math.min(keep, 1024) + 1, order.reversed());
+        long matched = 0;
+        for (OrderDto candidate : orders) {
+            if (!matches.test(candidate)) {
+                continue;
+            }
+            matched++;
+            if (after != null && order.compare(candidate, after) <= 0) {
+                continue;
+            }
+            if (heap.size() < keep) {
+                heap.add(candidate);
+            } else if (order.compare(candidate, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        }
+
+        List<OrderDto> window = new ArrayList<>(heap);
+        window.sort(order);
+        int from = (int) Math.min(skip, window.size());
+        int to = (int) Math.min(skip + size, window.size());
+        List<OrderDto> content = new ArrayList<>(window.subList(from, to));
+        boolean hasNext = window.size() > skip + size;
+
+        return OrderPageDto.builder()
+                .content(content)
+                .page(query.getPage())
+                .size(size)
+                .totalElements(matched)
+                .totalPages((int) ((matched + size - 1) / size))
+                .hasNext(hasNext)
+                .nextCursor(hasNext && sort.isKeyset() ? cursorOf(content.get(content.size() - 1)) : null)
+                .build();
+    }
+
+    public static OrderSummaryDto summarize(List<OrderDto> orders, LocalDateTime monthStart) {
+        Map<String, Long> statusCounts = new HashMap<>();
+        Map<String, Double> revenueByType = new HashMap<>();
+        Map<String, Double> revenueByCustomer = new HashMap<>();
+        double totalRevenue = 0.0;
+        double pricedTotal = 0.0;
+        long priced = 0;
+        long thisMonth = 0;
+        long processed = 0;
+
+        for (OrderDto order : orders) {
+            OrderStatus status = order.getOrderStatus();
+            Double price = order.getTotalPrice();
+            if (status != null) {
+                statusCounts.merge(status.name(), 1L, Long::sum);
+            }
+            if (price != null) {
+                pricedTotal += price;
+                priced++;
+            }
+            if (order.getCreatedAt() != null && order.getCreatedAt().isAfter(monthStart)) {
+                thisMonth++;
+            }
+            if (status == OrderStatus.COMPLETED || status == OrderStatus.PROCESSING) {
+                processed++;
+            }
+            if (status == OrderStatus.COMPLETED && price != null) {
+                totalRevenue += price;
+                if (order.getOrderType() != null) {
+                    revenueByType.merge(order.getOrderType().name(), price, Double::sum);
+                }
+                if (order.getCustomer() != null) {
+                    revenueByCustomer.merge(String.valueOf(order.getCustomer().getName()), price, Double::sum);
+                }
+            }
+        }
+
+        Map<String, Double> topCustomers = new LinkedHashMap<>();
+        revenueByCustomer.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .limit(TOP_CUSTOMERS)
+                .forEach(entry -> topCustomers.put(entry.getKey(), entry.getValue()));
+
+        return OrderSummaryDto.builder()
+                .totalOrders(orders.size())
+                .statusCounts(statusCounts)
+                .totalRevenue(totalRevenue)
+                .avgOrderValue(priced > 0 ? pricedTotal / priced : 0.0)
+                .ordersThisMonth(thisMonth)
+                .processingEfficiency(orders.isEmpty() ? 0.0 : (double) processed / orders.size() * 100)
+                .revenueByType(revenueByType)
+                .topCustomers(topCustomers)
+                .build();
+    }
+
+    public static String cursorOf(OrderDto order) {
+        return new OrderCursor(order.getCreatedAt(), order.getOrderId() != null ? order.getOrderId() : 0L).encode();
+    }
+
+    /**
+     * Same search / status / type semantics the list page has always had
+     */
+    static Predicate<OrderDto> matcher(OrderPageQuery query) {
+        String search = query.getSearch() != null ? query.getSearch().trim() : "";
+        String searchLower = search.toLowerCase();
+        String status = query.getStatus() != null ? query.getStatus().trim() : "";
+        String type = query.getType() != null ? query.getType().trim() : "";
+        return order -> {
+            if (!search.isEmpty()) {
+                boolean hit = (order.getOrderId() != null && order.getOrderId().toString().contains(search))
+                        || (order.getCustomer() != null && order.getCustomer().getName() != null
+                        && order.getCustomer().getName().toLowerCase().contains(searchLower))
+                        || (order.getCustomer() != null && order.getCustomer().getEmail() != null
+                        && order.getCustomer().getEmail().toLowerCase().contains(searchLower));
+                if (!hit) {
+                    return false;
+                }
+            }
+            if (!status.isEmpty() && (order.getOrderStatus() == null || !order.getOrderStatus().name().equals(status))) {
+                return false;
+            }
+            return type.isEmpty() || (order.getOrderType() != null && order.getOrderType().name().equals(type));
+        };
+    }
+
+    /**
+     * Total order for a sort: the sort key (missing values last), then order id in the same direction
+     */
+    public static Comparator<OrderDto> comparator(OrderSort sort) {
+        Comparator<OrderDto> key = switch (sort) {
+            case DATE_DESC, DATE_ASC -> Comparator.comparing(OrderDto::getCreatedAt,
+                    Comparator.nullsLast(direction(sort, Comparator.<LocalDateTime>naturalOrder())));
+            case TOTAL_HIGH, TOTAL_LOW -> Comparator.comparing(OrderDto::getTotalPrice,
+                    Comparator.nullsLast(direction(sort, Comparator.<Double>naturalOrder())));
+            case CUSTOMER_ASC, CUSTOMER_DESC -> Comparator.comparing(
+                    (OrderDto o) -> o.getCustomer() != null ? o.getCustomer().getName() : null,
+                    Comparator.nullsLast(direction(sort, String.CASE_INSENSITIVE_ORDER)));
+        };
+        return key.thenComparing(OrderDto::getOrderId,
+                Comparator.nullsLast(direction(sort, Comparator.<Long>naturalOrder())));
+    }
+
+    private static <T> Comparator<T> direction(OrderSort sort, Comparator<T> ascending) {
+        return sort.isDescending() ? ascending.reversed() : ascending;
+    }
+
+    private static OrderDto probe(OrderCursor cursor) {
+        OrderDto probe = new OrderDto();
+        probe.setCreatedAt(cursor.createdAt());
+        probe.setOrderId(cursor.orderId());
+        return probe;
+    }
+}
@@ -0,0 +1,38 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the orders list: the (createdAt, orderId) of the last order on a page.
+ * Travels through the page as an opaque URL-safe token.
+ */
+public record OrderCursor(LocalDateTime createdAt, long orderId) {
+
+    public String encode() {
+        String raw = (createdAt != null ? createdAt.toString() : "") + "|" + orderId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The cursor in {@code token}, or null when it is missing or malformed
+     */
+    public static OrderCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                return null;
+            }
+            LocalDateTime createdAt = separator == 0 ? null : LocalDateTime.parse(raw.substring(0, separator));
+            return new OrderCursor(createdAt, Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.CustomerDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductCategoryDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.supplierDtos.SupplierResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Shared cache for backend reference data (categories, suppliers, customers, products), both
+ * the full lists and single entities by id.
+ * <ul>
+ *   <li>Caffeine (W-TinyLFU admission) bounded by total element count, per-dataset TTL</li>
+ *   <li>single-flight: concurrent misses for a key wait for one backend call</li>
+ *   <li>readers always get a private deep copy, since controllers sort lists and set fields on DTOs</li>
+ *   <li>clients patch lists on create/delete and invalidate datasets whose counts they change</li>
+ * </ul>
+ * Hit/miss/eviction stats are published as cache.* meters tagged cache=reference-data.
+ * <p>
+ * Every dataset also has a version that moves whenever its list is loaded, patched or
+ * invalidated, so views derived from a list (ProductCatalog) know when to rebuild.
+ * <p>
+ * Entries are shared by every user, so a caller's token is checked ({@link TokenVerifier})
+ * before anything is read; one the backend rejects gets the backend's 401.
+ */
+@Slf4j
+@Component
+public class ReferenceDataCache {
+
+    public static final Dataset<ProductCategoryDto> CATEGORIES = new Dataset<>("categories", ProductCategoryDto.class);
+    public static final Dataset<SupplierResponseDto> SUPPLIERS = new Dataset<>("suppliers", SupplierResponseDto.class);
+    public static final Dataset<CustomerDto> CUSTOMERS = new Dataset<>("customers", CustomerDto.class);
+    public static final Dataset<ProductDto> PRODUCTS = new Dataset<>("products", ProductDto.class);
+
+    /**
+     * A cached backend collection and the element type it holds
+     */
+    public record Dataset<T>(String name, Class<T> type) {
+    }
+
+    private final AsyncCache<String, Object> cache;
+    private final DtoCopier dtoCopier;
+    private final TokenVerifier tokenVerifier;
+    private final boolean enabled;
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public ReferenceDataCache(DtoCopier dtoCopier,
+                              TokenVerifier tokenVerifier,
+                              MeterRegistry meterRegistry,
+                              @Value("${backend.cache.enabled:true}") boolean enabled,
+                              @Value("${backend.cache.ttl:5m}") Duration ttl,
+                              @Value("${backend.cache.products-ttl:30s}") Duration productsTtl,
+                              @Value("${backend.cache.max-elements:200000}") long maxElements) {
+        this.dtoCopier = dtoCopier;
+        this.tokenVerifier = tokenVerifier;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxElements)
+                .weigher((String key, Object value) -> value instanceof List<?> list ? Math.max(1, list.size()) : 1)
+                .expireAfter(new Expiry<String, Object>() {
+                    @Override
+                    public long expireAfterCreate(String key, Object value, long currentTime) {
+                        return (datasetName(key).equals(PRODUCTS.name()) ? productsTtl : ttl).toNanos();
+                    }
+
+                    // Patches keep the original deadline so untouched elements still age out
+                    @Override
+                    public long expireAfterUpdate(String key, Object value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Object value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "reference-data");
+    }
+
+    public <T> List<T> getList(Dataset<T> dataset, Supplier<List<T>> loader) {
+        JavaType listType = dtoCopier.listTypeOf(dataset.type());
+        return get(dataset.name(), listType, () -> {
+            List<T> loaded = loader.get();
+            return loaded == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(loaded));
+        });
+    }
+
+    public <T> T getById(Dataset<T> dataset, Object id, Supplier<T> loader) {
+        return get(dataset.name() + ":" + id, dtoCopier.typeOf(dataset.type()), loader::get);
+    }
+
+    /**
+     * Changes whenever the dataset's list may have changed; compare for equality only
+     */
+    public long version(Dataset<?> dataset) {
+        return versionOf(dataset.name()).get();
+    }
+
+    /**
+     * Append a freshly created element to the cached list, if that list is loaded
+     */
+    public <T> void add(Dataset<T> dataset, T element) {
+        if (element == null) {
+            return;
+        }
+        T stored = dtoCopier.copy(element, dtoCopier.typeOf(dataset.type()));
+        patchList(dataset, list -> list.add(stored));
+    }
+
+    /**
+     * Drop deleted elements from the cached list and their by-id entries
+     */
+    public <T> void remove(Dataset<T> dataset, Object id, Predicate<T> matches) {
+        cache.synchronous().invalidate(dataset.name() + ":" + id);
+        patchList(dataset, list -> list.removeIf(matches));
+    }
+
+    /**
+     * Forget every list and by-id entry of the given datasets
+     */
+    public void invalidate(Dataset<?>... datasets) {
+        for (Dataset<?> dataset : datasets) {
+            cache.asMap().keySet().removeIf(key -> datasetName(key).equals(dataset.name()));
+            versionOf(dataset.name()).incrementAndGet();
+            log.debug("Invalidated cached {}", dataset.name());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void patchList(Dataset<T> dataset, Consumer<List<T>> change) {
+        cache.asMap().computeIfPresent(dataset.name(), (key, future) -> {
+            // A load still in flight could be older than this write, so drop it instead
+            if (!future.isDone() || future.isCompletedExceptionally()) {
+                return null;
+            }
+            List<T> updated = new ArrayList<>((List<T>) future.join());
+            change.accept(updated);
+            return CompletableFuture.completedFuture(Collections.unmodifiableList(updated));
+        });
+        versionOf(dataset.name()).incrementAndGet();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> V get(String key, JavaType type, Supplier<V> loader) {
+        if (!enabled) {
+            if (key.indexOf(':') < 0) {
+                versionOf(key).incrementAndGet();
+            }
+            // Loaders hand out shared bodies (ConditionalGetClient#getShared)
+            return dtoCopier.copy(loader.get(), type);
+        }
+        tokenVerifier.verify();
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        CompletableFuture<Object> future = cache.get(key, (k, executor) -> pending);
+
+        if (future == pending) {
+            // This caller won the miss: load on its own thread so the request's auth is used
+            log.debug("Reference data cache miss: {}", key);
+            try {
+                StaleData.takeServedOnThread();
+                V loaded = loader.get();
+                pending.complete(loaded);
+                if (key.indexOf(':') < 0) {
+                    versionOf(key).incrementAndGet();
+                }
+                if (StaleData.takeServedOnThread() != null) {
+                    // A stale-if-error fallback: hand it to current waiters but don't keep it
+                    cache.asMap().remove(key, pending);
+                }
+                return dtoCopier.copy(loaded, type);
+            } catch (RuntimeException | Error e) {
+                pending.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        Object value;
+        try {
+            value = future.join();
+        } catch (CompletionException | CancellationException e) {
+            // Another request's load failed (possibly cancelled with that request); don't inherit it
+            log.debug("Shared load of {} failed, loading directly", key);
+            return dtoCopier.copy(loader.get(), type);
+        }
+        return dtoCopier.copy((V) value, type);
+    }
+
+    private AtomicLong versionOf(String datasetName) {
+        return versions.computeIfAbsent(datasetName, name -> new AtomicLong());
+    }
+
+    private static String datasetName(String key) {
+        int separator = key.indexOf(':');
+        return separator < 0 ? key : key.substring(0, separator);
+    }
+}
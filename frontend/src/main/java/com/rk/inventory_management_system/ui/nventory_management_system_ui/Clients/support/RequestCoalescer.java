@@ -0,0 +1,127 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.exception.BackendUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for identical backend reads. While a call for a key is in flight, callers with
+ * the same key wait for it and get its decoded result instead of sending their own, so N users
+ * opening the same page at once cost the backend one request. Every caller gets the very same
+ * object: it is read-only, and copying it is up to the caller (ConditionalGetClient). Nothing is kept once
+ * the call returns; caching is ReferenceDataCache's and ConditionalGetClient's job.
+ * <p>
+ * Meters: backend.coalescing.calls{role=leader|follower}, backend.coalescing.in-flight.
+ */
+@Slf4j
+@Component
+public class RequestCoalescer {
+
+    private final boolean enabled;
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaderCounter;
+    private final Counter followerCounter;
+
+    private static final class Flight {
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        final AtomicInteger followers = new AtomicInteger();
+        volatile Instant staleSince;
+    }
+
+    public RequestCoalescer(MeterRegistry meterRegistry,
+                            @Value("${backend.coalescing.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        this.leaderCounter = counter(meterRegistry, "leader");
+        this.followerCounter = counter(meterRegistry, "follower");
+        Gauge.builder("backend.coalescing.in-flight", inFlight, Map::size)
+                .description("Distinct backend reads currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run {@code call}, or join the identical call already in flight. Keys must include
+     * everything that makes two responses differ: URI, caller's auth scope and target type.
+     */
+    public <T> T execute(String key, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        Flight mine = new Flight();
+        // compute() runs under the key's lock, so every follower is counted before the leader's remove()
+        Flight flight = inFlight.compute(key, (k, existing) -> {
+            if (existing == null) {
+                return mine;
+            }
+            existing.followers.incrementAndGet();
+            return existing;
+        });
+        if (flight != mine) {
+            return follow(key, flight, call);
+        }
+
+        leaderCounter.increment();
+        Instant staleBefore = StaleData.takeServedOnThread();
+        T value;
+        try {
+            value = call.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, mine);
+            mine.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            mine.staleSince = StaleData.takeServedOnThread();
+            // Put back the flag for callers further up (ReferenceDataCache) that also look at it
+            Instant stale = mine.staleSince != null ? mine.staleSince : staleBefore;
+            if (stale != null) {
+                StaleData.mark(stale);
+            }
+        }
+
+        mine.result.complete(value);
+        inFlight.remove(key, mine);
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T follow(String key, Flight flight, Supplier<T> call) {
+        followerCounter.increment();
+        Object value;
+        try {
+            value = flight.result.join();
+        } catch (CompletionException e) {
+            // A real backend answer (404, 500, open circuit) is the same for everyone; anything
+            // else may be specific to the leader, e.g. its request being cancelled
+            if (e.getCause() instanceof RestClientResponseException
+                    || e.getCause() instanceof BackendUnavailableException) {
+                throw (RuntimeException) e.getCause();
+            }
+            log.debug("Coalesced call {} failed in another request, calling directly", key);
+            return call.get();
+        }
+        if (flight.staleSince != null) {
+            StaleData.mark(flight.staleSince);
+        }
+        log.debug("Coalesced backend call {}", key);
+        return (T) value;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String role) {
+        return Counter.builder("backend.coalescing.calls")
+                .description("Backend reads by whether they went out (leader) or joined one in flight (follower)")
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+}
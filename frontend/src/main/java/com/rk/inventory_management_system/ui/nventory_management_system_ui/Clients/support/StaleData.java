@@ -0,0 +1,42 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Instant;
+
+/**
+ * Records that the current request was answered with a last-known-good backend response
+ * instead of a live one. The oldest such timestamp is kept as a request attribute for the
+ * staleness banner; a per-thread flag lets caches avoid keeping the stale copy.
+ */
+public final class StaleData {
+
+    public static final String REQUEST_ATTRIBUTE = "backendStaleSince";
+    private static final ThreadLocal<Instant> SERVED_ON_THREAD = new ThreadLocal<>();
+
+    private StaleData() {
+    }
+
+    static void mark(Instant since) {
+        SERVED_ON_THREAD.set(since);
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        Object current = attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (!(current instanceof Instant earlier) || since.isBefore(earlier)) {
+            attributes.setAttribute(REQUEST_ATTRIBUTE, since, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Stored-at time of the stale response served on this thread since the previous call (null if
+     * none), clearing the flag
+     */
+    static Instant takeServedOnThread() {
+        Instant since = SERVED_ON_THREAD.get();
+        SERVED_ON_THREAD.remove();
+        return since;
+    }
+}
@@ -0,0 +1,129 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * GETs of backend lists too large to decode whole (the CSV exports). The request is made and
+ * its status checked by {@link #openArray} on the caller's thread, with the caller's identity;
+ * the body is then parsed one array element at a time as the result is iterated, on whatever
+ * thread that happens, so only the current element is held. Nothing is cached or revalidated.
+ * The response (and its backend bulkhead slot) is held until {@link Elements#close}.
+ */
+@Component
+@RequiredArgsConstructor
+public class StreamingGetClient {
+
+    private static final DefaultResponseErrorHandler ERROR_HANDLER = new DefaultResponseErrorHandler();
+
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Opens a GET whose body is a JSON array; fails like {@code retrieve()} on a 4xx/5xx
+     */
+    public <T> Elements<T> openArray(Class<T> elementType, String uriTemplate, Object... uriVariables) {
+        return restClient.get()
+                .uri(uriTemplate, uriVariables)
+                .exchange((request, response) -> {
+                    try {
+                        if (ERROR_HANDLER.hasError(response)) {
+                            ERROR_HANDLER.handleError(request.getURI(), request.getMethod(), response);
+                        }
+                        JsonParser parser = objectMapper.createParser(response.getBody());
+                        if (parser.nextToken() != JsonToken.START_ARRAY) {
+                            parser.close();
+                            throw new RestClientException("Expected a JSON array from " + request.getURI());
+                        }
+                        return new Elements<>(objectMapper, elementType, parser, response);
+                    } catch (IOException | RuntimeException e) {
+                        response.close();
+                        throw e;
+                    }
+                }, false);
+    }
+
+    /**
+     * The elements of an open array response, iterable once
+     */
+    public static final class Elements<T> implements Iterable<T>, Closeable {
+
+        private final ObjectMapper objectMapper;
+        private final Class<T> elementType;
+        private final JsonParser parser;
+        private final ClientHttpResponse response;
+        private boolean iterated;
+
+        private Elements(ObjectMapper objectMapper, Class<T> elementType, JsonParser parser, ClientHttpResponse response) {
+            this.objectMapper = objectMapper;
+            this.elementType = elementType;
+            this.parser = parser;
+            this.response = response;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            if (iterated) {
+                throw new IllegalStateException("Backend array can only be iterated once");
+            }
+            iterated = true;
+            return new Iterator<>() {
+
+                private JsonToken next = advance();
+
+                @Override
+                public boolean hasNext() {
+                    return next == JsonToken.START_OBJECT;
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    try {
+                        T element = objectMapper.readValue(parser, elementType);
+                        next = advance();
+                        return element;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Could not read " + elementType.getSimpleName() + " from backend", e);
+                    }
+                }
+            };
+        }
+
+        private JsonToken advance() {
+            try {
+                JsonToken token = parser.nextToken();
+                if (token != JsonToken.START_OBJECT && token != JsonToken.END_ARRAY) {
+                    throw new IOException("Unexpected " + token + " in backend array");
+                }
+                return token;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read " + elementType.getSimpleName() + " from backend", e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                parser.close();
+            } finally {
+                response.close();
+            }
+        }
+    }
+}
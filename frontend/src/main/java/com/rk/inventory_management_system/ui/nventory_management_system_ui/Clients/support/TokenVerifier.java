@@ -0,0 +1,87 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Checks the caller's token with the backend before app-wide data (ReferenceDataCache,
+ * PrecomputedPayloads, the search index, live feeds) is handed out: those caches answer
+ * without the backend ever seeing the token. JwtTokenInterceptor sends callers with a
+ * rejected token to the login page; /api/search and the caches check it themselves.
+ * <p>
+ * A token is checked with a conditional GET of verify-uri through ConditionalGetClient
+ * (usually a 304) and the answer is kept per {@link AuthScope} for verify-ttl. A scope the
+ * backend rejects with 401/403 is invalid; when the backend is down, only scopes that got a
+ * response before are served their stale list, so unknown tokens still fail. Work done for
+ * no caller (no request, no bound identity) is the app's own and is not checked.
+ */
+@Slf4j
+@Component
+public class TokenVerifier {
+
+    private final ConditionalGetClient conditionalGetClient;
+    private final String verifyUri;
+    private final Cache<String, Boolean> verified;
+
+    public TokenVerifier(ConditionalGetClient conditionalGetClient,
+                         @Value("${backend.auth.verify-uri:/api/category/all}") String verifyUri,
+                         @Value("${backend.auth.verify-ttl:1m}") Duration verifyTtl,
+                         @Value("${backend.auth.max-scopes:10000}") long maxScopes) {
+        this.conditionalGetClient = conditionalGetClient;
+        this.verifyUri = verifyUri;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxScopes)
+                .expireAfterWrite(verifyTtl)
+                .build();
+    }
+
+    /**
+     * Whether the caller's token is accepted by the backend; true when there is no caller
+     */
+    public boolean isValid() {
+        if (!BackendIdentity.isBound() && !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes)) {
+            return true;
+        }
+        String scope = AuthScope.current();
+        if (AuthScope.ANONYMOUS.equals(scope)) {
+            return false;
+        }
+        Boolean known = verified.getIfPresent(scope);
+        if (known != null) {
+            return known;
+        }
+        boolean valid;
+        try {
+            conditionalGetClient.get(String.class, verifyUri);
+            valid = true;
+        } catch (HttpClientErrorException e) {
+            if (!e.getStatusCode().isSameCodeAs(HttpStatus.UNAUTHORIZED) && !e.getStatusCode().isSameCodeAs(HttpStatus.FORBIDDEN)) {
+                throw e;
+            }
+            log.debug("Backend rejected token of scope {} ({})", scope, e.getStatusCode());
+            valid = false;
+        }
+        verified.put(scope, valid);
+        return valid;
+    }
+
+    /**
+     * Fails the way a backend call with the caller's token would, with a 401, unless it is valid
+     */
+    public void verify() {
+        if (!isValid()) {
+            throw HttpClientErrorException.create(HttpStatus.UNAUTHORIZED, "Invalid or missing token",
+                    HttpHeaders.EMPTY, new byte[0], null);
+        }
+    }
+}
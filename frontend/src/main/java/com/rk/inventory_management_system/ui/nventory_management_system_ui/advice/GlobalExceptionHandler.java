@@ -1,5 +1,6 @@
 package com.rk.inventory_management_system.ui.nventory_management_system_ui.advice;
 
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.exception.BackendUnavailableException;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.exception.UIException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 @Slf4j
@@ -35,6 +37,13 @@ public class GlobalExceptionHandler {
         return "error/5xx";
     }
 
+    @ExceptionHandler(BackendUnavailableException.class)
+    public String handleBackendUnavailable(BackendUnavailableException ex, Model model) {
+        log.warn("Backend call refused: {}", ex.getMessage());
+        model.addAttribute("errorMessage", "The backend service is overloaded or recovering. Please try again in a moment.");
+        return "error/5xx";
+    }
+
     @ExceptionHandler(ResourceAccessException.class)
     public String handleConnectionError(ResourceAccessException ex, Model model) {
         log.error("Connection error: {}", ex.getMessage());
@@ -55,6 +64,12 @@ public class GlobalExceptionHandler {
         return "error/5xx";
     }
 
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    public void handleClientGone(AsyncRequestNotUsableException ex) {
+        // A live stream's client went away (tab closed, EventSource reconnecting): nothing to answer
+        log.debug("Client disconnected: {}", ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public String handleGenericException(Exception ex, Model model) {
         log.error("Unexpected error: ", ex);
@@ -0,0 +1,159 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.OrdersClient;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.BackendIdentity;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps {@link OrderAnalytics} and the {@link OrderColumns} of the order history in step with
+ * the backend, and answers the dashboard's order figures. Until the running totals are loaded,
+ * a request is answered by one {@link DashboardKernel} pass over the columns of the fetched
+ * order list while the totals load from that same list in the background. After that, totals
+ * older than backend.analytics.sync-interval are still served while a delta sync runs in the
+ * background with the caller's credentials (the order list is a conditional GET, so an
+ * unchanged history costs a 304).
+ * <p>
+ * The columns are rebuilt from a sync's list when it changed anything, and from a fresh list
+ * when this app has reported order changes since theirs was fetched.
+ */
+@Slf4j
+@Component
+public class AnalyticsService {
+
+    private final OrdersClient ordersClient;
+    private final OrderAnalytics orderAnalytics;
+    private final ExecutorService backendCallExecutor;
+    private final long syncIntervalNanos;
+    private final AtomicBoolean syncing = new AtomicBoolean();
+    private final ReentrantLock columnsLock = new ReentrantLock();
+    private final AtomicReference<OrderColumns> columns = new AtomicReference<>();
+
+    public AnalyticsService(OrdersClient ordersClient,
+                            OrderAnalytics orderAnalytics,
+                            ExecutorService backendCallExecutor,
+                            @Value("${backend.analytics.sync-interval:1m}") Duration syncInterval) {
+        this.ordersClient = ordersClient;
+        this.orderAnalytics = orderAnalytics;
+        this.backendCallExecutor = backendCallExecutor;
+        this.syncIntervalNanos = syncInterval.toNanos();
+    }
+
+    /**
+     * The dashboard's order figures for the given periods
+     */
+    public DashboardFigures figures(DashboardPeriods periods) {
+        if (orderAnalytics.isLoaded()) {
+            if (orderAnalytics.needsSync(syncIntervalNanos) && syncing.compareAndSet(false, true)) {
+                syncInBackground();
+            }
+            return DashboardFigures.from(orderAnalytics, periods);
+        }
+        return DashboardKernel.compute(columns(), periods);
+    }
+
+    /**
+     * Moves whenever the order figures may have changed
+     */
+    public long version() {
+        return orderAnalytics.version();
+    }
+
+    /**
+     * Columns of the whole order history, at most one sync interval behind the backend and
+     * including every order change this app has reported
+     */
+    public OrderColumns columns() {
+        OrderColumns current = columns.get();
+        if (isCurrent(current)) {
+            if (orderAnalytics.needsSync(syncIntervalNanos) && syncing.compareAndSet(false, true)) {
+                syncInBackground();
+            }
+            return current;
+        }
+        columnsLock.lock();
+        try {
+            // Concurrent callers wait for one rebuild instead of each fetching the list
+            current = columns.get();
+            if (isCurrent(current)) {
+                return current;
+            }
+            long version = orderAnalytics.localVersion();
+            long started = System.nanoTime();
+            List<OrderDto> orders = ordersClient.findAll();
+            current = publish(OrderColumns.of(orders, version, started));
+            if (!orderAnalytics.isLoaded() && syncing.compareAndSet(false, true)) {
+                loadInBackground(orders, started);
+            }
+            return current;
+        } finally {
+            columnsLock.unlock();
+        }
+    }
+
+    private boolean isCurrent(OrderColumns candidate) {
+        return candidate != null && candidate.version() == orderAnalytics.localVersion();
+    }
+
+    /**
+     * Keep whichever columns come from the more recently requested list
+     */
+    private OrderColumns publish(OrderColumns candidate) {
+        return columns.accumulateAndGet(candidate, (current, next) ->
+                current == null || next.fetchedAt() - current.fetchedAt() > 0 ? next : current);
+    }
+
+    private void sync() {
+        long version = orderAnalytics.localVersion();
+        long started = System.nanoTime();
+        List<OrderDto> orders = ordersClient.findAll();
+        boolean changed = orderAnalytics.sync(orders, started);
+        if (changed || !isCurrent(columns.get())) {
+            publish(OrderColumns.of(orders, version, started));
+        }
+        log.debug("Order analytics sync of {} orders took {} ms", orders.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void loadInBackground(List<OrderDto> orders, long fetchStartedAt) {
+        try {
+            backendCallExecutor.execute(() -> {
+                try {
+                    orderAnalytics.sync(orders, fetchStartedAt);
+                } catch (RuntimeException e) {
+                    log.warn("Order analytics load failed: {}", e.getMessage());
+                } finally {
+                    syncing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            syncing.set(false);
+        }
+    }
+
+    private void syncInBackground() {
+        BackendIdentity identity = BackendIdentity.capture();
+        try {
+            backendCallExecutor.execute(() -> {
+                try {
+                    BackendIdentity.runAs(identity, this::sync);
+                } catch (RuntimeException e) {
+                    log.warn("Order analytics sync failed: {}", e.getMessage());
+                } finally {
+                    syncing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            syncing.set(false);
+        }
+    }
+}
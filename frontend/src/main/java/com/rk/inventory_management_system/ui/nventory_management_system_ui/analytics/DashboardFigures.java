@@ -0,0 +1,107 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics.OrderAnalytics.ItemTotals;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics.OrderAnalytics.Totals;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderStatus;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderType;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.PaymentType;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every order figure the dashboard shows, for one {@link DashboardPeriods}. "Sales" are
+ * completed SALE orders; the order counts are SALE orders in any status. Built either from the
+ * running totals ({@link #from}) or by one pass over an order list ({@link DashboardKernel}),
+ * with the same results.
+ *
+ * @param dailySales     completed-sale revenue of each of the last 7 days, oldest first
+ * @param weeklySales    completed-sale revenue of the last four 7-day windows, oldest first
+ * @param quarterlySales completed-sale revenue of the four 3-month trend windows, oldest first
+ * @param monthChannels  this month's completed sales per payment type
+ * @param categoryProfit all-time completed-sale totals of the categories with a profit
+ */
+public record DashboardFigures(DashboardPeriods periods,
+                               Totals weekSales,
+                               Totals monthSales,
+                               Totals previousMonthSales,
+                               Totals yearSales,
+                               long weekOrders,
+                               long monthOrders,
+                               long monthCustomers,
+                               double[] dailySales,
+                               double[] weeklySales,
+                               double[] quarterlySales,
+                               Map<PaymentType, Totals> monthChannels,
+                               TopProducts weekTopProducts,
+                               TopProducts monthTopProducts,
+                               TopProducts yearTopProducts,
+                               List<ItemTotals> categoryProfit) {
+
+    public static final int TOP_PRODUCTS = 5;
+
+    /**
+     * The most profitable products of a period, and the profit of all its products (the base
+     * of their percentages)
+     */
+    public record TopProducts(List<ItemTotals> products, double totalProfit) {
+
+        public static TopProducts of(List<ItemTotals> all) {
+            double totalProfit = 0;
+            for (ItemTotals product : all) {
+                totalProfit += product.profit();
+            }
+            List<ItemTotals> top = all.stream()
+                    .sorted(Comparator.comparingDouble(ItemTotals::profit).reversed())
+                    .limit(TOP_PRODUCTS)
+                    .toList();
+            return new TopProducts(top, totalProfit);
+        }
+    }
+
+    public static DashboardFigures from(OrderAnalytics analytics, DashboardPeriods periods) {
+        LocalDate today = periods.today();
+        // The last 7 days and the trend weeks come from the recent-days ring, longer periods
+        // are rolled up from month and quarter buckets
+        analytics.advanceTo(today);
+        double[] dailySales = analytics.series(Granularity.DAY, periods.weekStart(), today, OrderType.SALE, OrderStatus.COMPLETED)
+                .stream()
+                .mapToDouble(bucket -> bucket.totals().revenue())
+                .toArray();
+        double[] weeklySales = new double[DashboardPeriods.TREND_WEEKS];
+        for (int i = 0; i < weeklySales.length; i++) {
+            weeklySales[i] = completedSales(analytics, periods.trendWeekStart(i), periods.trendWeekEnd(i)).revenue();
+        }
+        double[] quarterlySales = new double[DashboardPeriods.TREND_QUARTERS];
+        for (int i = 0; i < quarterlySales.length; i++) {
+            quarterlySales[i] = completedSales(analytics, periods.trendQuarterStart(i), periods.trendQuarterEnd(i)).revenue();
+        }
+        LocalDate firstDay = analytics.firstDay();
+        List<ItemTotals> categoryProfit = firstDay != null
+                ? analytics.categoryTotals(firstDay, today).stream().filter(totals -> totals.profit() > 0).toList()
+                : List.of();
+
+        return new DashboardFigures(periods,
+                completedSales(analytics, periods.weekStart(), today),
+                completedSales(analytics, periods.monthStart(), today),
+                completedSales(analytics, periods.previousMonthStart(), periods.previousMonthEnd()),
+                completedSales(analytics, periods.yearStart(), today),
+                analytics.totals(periods.weekStart(), today, OrderType.SALE, null).orders(),
+                analytics.totals(periods.monthStart(), today, OrderType.SALE, null).orders(),
+                analytics.distinctCustomers(periods.monthStart(), today),
+                dailySales,
+                weeklySales,
+                quarterlySales,
+                analytics.totalsByPayment(periods.monthStart(), today, OrderType.SALE, OrderStatus.COMPLETED),
+                TopProducts.of(analytics.productTotals(periods.weekStart(), today)),
+                TopProducts.of(analytics.productTotals(periods.monthStart(), today)),
+                TopProducts.of(analytics.productTotals(periods.yearStart(), today)),
+                categoryProfit);
+    }
+
+    private static Totals completedSales(OrderAnalytics analytics, LocalDate from, LocalDate to) {
+        return analytics.totals(from, to, OrderType.SALE, OrderStatus.COMPLETED);
+    }
+}
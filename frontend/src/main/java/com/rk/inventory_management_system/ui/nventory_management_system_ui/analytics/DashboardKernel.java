@@ -0,0 +1,241 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics.DashboardFigures.TopProducts;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics.OrderAnalytics.ItemTotals;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics.OrderAnalytics.Totals;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderStatus;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderType;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.PaymentType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes {@link DashboardFigures} in one pass over the {@link OrderColumns} of an order list,
+ * for when the running totals are not loaded yet. Each order's day is worked out once from its
+ * epoch second and checked against the periods' epoch-day bounds; sums go into primitive
+ * arrays indexed by the columns' product, category and customer dictionaries, so the pass
+ * allocates nothing per order, hashes nothing and reads no DTOs. Orders dated after today are
+ * skipped, as they are by the running totals' queries.
+ */
+public final class DashboardKernel {
+
+    private static final int WEEK = 0;
+    private static final int MONTH = 1;
+    private static final int PREVIOUS_MONTH = 2;
+    private static final int YEAR = 3;
+    private static final int PERIODS = 4;
+
+    private static final PaymentType[] PAYMENTS = PaymentType.values();
+
+    private DashboardKernel() {
+    }
+
+    public static DashboardFigures compute(OrderColumns columns, DashboardPeriods periods) {
+        long today = periods.todayDay;
+        long weekStart = periods.weekStart;
+        long monthStart = periods.monthStart;
+        long previousMonthStart = periods.previousMonthStart;
+        long previousMonthEnd = periods.previousMonthEnd;
+        long yearStart = periods.yearStart;
+        long oldestTrendWeek = periods.trendWeekStarts[0];
+
+        long[] salesCount = new long[PERIODS];
+        double[] salesRevenue = new double[PERIODS];
+        double[] salesProfit = new double[PERIODS];
+        long weekOrders = 0;
+        long monthOrders = 0;
+        double[] dailySales = new double[DashboardPeriods.TREND_DAYS];
+        double[] weeklySales = new double[DashboardPeriods.TREND_WEEKS];
+        double[] quarterlySales = new double[DashboardPeriods.TREND_QUARTERS];
+        long[] channelCount = new long[PAYMENTS.length];
+        double[] channelRevenue = new double[PAYMENTS.length];
+        double[] channelProfit = new double[PAYMENTS.length];
+        boolean[] monthCustomers = new boolean[columns.customerIds.length];
+        int productCount = columns.productIds.length;
+        IndexSums[] products = {new IndexSums(productCount), new IndexSums(productCount), null, new IndexSums(productCount)};
+        IndexSums categories = new IndexSums(columns.categoryIds.length);
+
+        byte sale = OrderColumns.code(OrderType.SALE);
+        byte completed = OrderColumns.code(OrderStatus.COMPLETED);
+        long[] createdAt = columns.createdAt;
+        byte[] types = columns.type;
+        byte[] statuses = columns.status;
+        double[] totalPrices = columns.totalPrice;
+        int[] itemStart = columns.itemStart;
+        int[] itemProduct = columns.itemProduct;
+        int[] itemCategory = columns.itemCategory;
+        int[] itemQuantity = columns.itemQuantity;
+        double[] itemPrice = columns.itemPrice;
+        double[] itemCost = columns.itemCost;
+
+        for (int o = 0, n = columns.size; o < n; o++) {
+            if (createdAt[o] == OrderColumns.NO_TIME || types[o] != sale) {
+                continue;
+            }
+            long day = Math.floorDiv(createdAt[o], OrderColumns.SECONDS_PER_DAY);
+            if (day > today) {
+                continue;
+            }
+            boolean inWeek = day >= weekStart;
+            boolean inMonth = day >= monthStart;
+            boolean inPreviousMonth = day >= previousMonthStart && day <= previousMonthEnd;
+            boolean inYear = day >= yearStart;
+            if (inWeek) {
+                weekOrders++;
+            }
+            if (inMonth) {
+                monthOrders++;
+            }
+            if (statuses[o] != completed) {
+                continue;
+            }
+
+            // Completed sale: items first, for the order's profit
+            double profit = 0;
+            for (int i = itemStart[o], end = itemStart[o + 1]; i < end; i++) {
+                int quantity = itemQuantity[i];
+                boolean priced = !Double.isNaN(itemPrice[i]);
+                double lineRevenue = priced ? itemPrice[i] * quantity : 0;
+                double lineProfit = priced && !Double.isNaN(itemCost[i]) ? (itemPrice[i] - itemCost[i]) * quantity : 0;
+                profit += lineProfit;
+                int product = itemProduct[i];
+                if (product >= 0) {
+                    if (inWeek) {
+                        products[WEEK].add(product, quantity, lineRevenue, lineProfit);
+                    }
+                    if (inMonth) {
+                        products[MONTH].add(product, quantity, lineRevenue, lineProfit);
+                    }
+                    if (inYear) {
+                        products[YEAR].add(product, quantity, lineRevenue, lineProfit);
+                    }
+                }
+                int category = itemCategory[i];
+                if (category >= 0) {
+                    categories.add(category, quantity, lineRevenue, lineProfit);
+                }
+            }
+
+            double revenue = Double.isNaN(totalPrices[o]) ? 0 : totalPrices[o];
+            if (inWeek) {
+                addSale(WEEK, revenue, profit, salesCount, salesRevenue, salesProfit);
+                dailySales[(int) (day - weekStart)] += revenue;
+            }
+            if (inMonth) {
+                addSale(MONTH, revenue, profit, salesCount, salesRevenue, salesProfit);
+                byte payment = columns.payment[o];
+                if (payment != OrderColumns.NONE) {
+                    channelCount[payment]++;
+                    channelRevenue[payment] += revenue;
+                    channelProfit[payment] += profit;
+                }
+                int customer = columns.customer[o];
+                if (customer >= 0) {
+                    monthCustomers[customer] = true;
+                }
+            }
+            if (inPreviousMonth) {
+                addSale(PREVIOUS_MONTH, revenue, profit, salesCount, salesRevenue, salesProfit);
+            }
+            if (inYear) {
+                addSale(YEAR, revenue, profit, salesCount, salesRevenue, salesProfit);
+            }
+            if (day >= oldestTrendWeek) {
+                // Trend weeks are contiguous 7-day windows ending today
+                weeklySales[DashboardPeriods.TREND_WEEKS - 1 - (int) ((today - day) / 7)] += revenue;
+            }
+            for (int q = 0; q < DashboardPeriods.TREND_QUARTERS; q++) {
+                if (day >= periods.trendQuarterStarts[q] && day <= periods.trendQuarterEnds[q]) {
+                    quarterlySales[q] += revenue;
+                    break;
+                }
+            }
+        }
+
+        Map<PaymentType, Totals> monthChannels = new EnumMap<>(PaymentType.class);
+        for (PaymentType payment : PAYMENTS) {
+            if (channelCount[payment.ordinal()] > 0) {
+                monthChannels.put(payment, new Totals(channelCount[payment.ordinal()],
+                        channelRevenue[payment.ordinal()], channelProfit[payment.ordinal()]));
+            }
+        }
+        return new DashboardFigures(periods,
+                totals(WEEK, salesCount, salesRevenue, salesProfit),
+                totals(MONTH, salesCount, salesRevenue, salesProfit),
+                totals(PREVIOUS_MONTH, salesCount, salesRevenue, salesProfit),
+                totals(YEAR, salesCount, salesRevenue, salesProfit),
+                weekOrders,
+                monthOrders,
+                distinctCustomers(monthCustomers, columns.customerIds),
+                dailySales,
+                weeklySales,
+                quarterlySales,
+                monthChannels,
+                TopProducts.of(products[WEEK].toItemTotals(columns.productIds, columns.productNames, "Product ")),
+                TopProducts.of(products[MONTH].toItemTotals(columns.productIds, columns.productNames, "Product ")),
+                TopProducts.of(products[YEAR].toItemTotals(columns.productIds, columns.productNames, "Product ")),
+                categories.toItemTotals(columns.categoryIds, columns.categoryNames, "Category ").stream()
+                        .filter(totals -> totals.profit() > 0)
+                        .toList());
+    }
+
+    private static void addSale(int period, double revenue, double profit, long[] count, double[] revenues, double[] profits) {
+        count[period]++;
+        revenues[period] += revenue;
+        profits[period] += profit;
+    }
+
+    private static Totals totals(int period, long[] count, double[] revenues, double[] profits) {
+        return new Totals(count[period], revenues[period], profits[period]);
+    }
+
+    private static long distinctCustomers(boolean[] seen, long[] customerIds) {
+        long distinct = 0;
+        for (int c = 0; c < seen.length; c++) {
+            // Customers without an id each have their own dictionary entry and are not counted
+            if (seen[c] && customerIds[c] != OrderColumns.NO_ID) {
+                distinct++;
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Quantity, revenue and profit per dictionary index of the columns
+     */
+    private static final class IndexSums {
+
+        private final long[] lines;
+        private final long[] quantities;
+        private final double[] revenues;
+        private final double[] profits;
+
+        IndexSums(int size) {
+            lines = new long[size];
+            quantities = new long[size];
+            revenues = new double[size];
+            profits = new double[size];
+        }
+
+        void add(int index, long quantity, double revenue, double profit) {
+            lines[index]++;
+            quantities[index] += quantity;
+            revenues[index] += revenue;
+            profits[index] += profit;
+        }
+
+        List<ItemTotals> toItemTotals(long[] ids, String[] names, String unnamed) {
+            List<ItemTotals> result = new ArrayList<>();
+            for (int i = 0; i < lines.length; i++) {
+                if (lines[i] > 0) {
+                    result.add(new ItemTotals(ids[i], names[i] != null ? names[i] : unnamed + ids[i],
+                            quantities[i], revenues[i], profits[i]));
+                }
+            }
+            return result;
+        }
+    }
+}
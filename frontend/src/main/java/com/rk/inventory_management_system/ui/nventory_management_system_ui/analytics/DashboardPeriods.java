@@ -0,0 +1,91 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics;
+
+import java.time.LocalDate;
+
+/**
+ * The dashboard's periods for one clock reading, all whole days up to and including today:
+ * the last 7 days, this month, the previous calendar month, this year, and the sales trend
+ * windows (each of the last 7 days, the last four 7-day windows, and 3-month windows starting
+ * 9, 6, 3 and 0 months before the current month). Taking the date once per request keeps
+ * every figure of a response on the same periods.
+ */
+public final class DashboardPeriods {
+
+    public static final int TREND_DAYS = 7;
+    public static final int TREND_WEEKS = 4;
+    public static final int TREND_QUARTERS = 4;
+
+    private final LocalDate today;
+    // Epoch days, for comparisons in tight loops
+    final long todayDay;
+    final long weekStart;
+    final long monthStart;
+    final long previousMonthStart;
+    final long previousMonthEnd;
+    final long yearStart;
+    final long[] trendWeekStarts = new long[TREND_WEEKS];
+    final long[] trendWeekEnds = new long[TREND_WEEKS];
+    final long[] trendQuarterStarts = new long[TREND_QUARTERS];
+    final long[] trendQuarterEnds = new long[TREND_QUARTERS];
+
+    public DashboardPeriods(LocalDate today) {
+        this.today = today;
+        LocalDate startOfMonth = today.withDayOfMonth(1);
+        this.todayDay = today.toEpochDay();
+        this.weekStart = todayDay - (TREND_DAYS - 1);
+        this.monthStart = startOfMonth.toEpochDay();
+        this.previousMonthStart = startOfMonth.minusMonths(1).toEpochDay();
+        this.previousMonthEnd = monthStart - 1;
+        this.yearStart = today.withDayOfYear(1).toEpochDay();
+        for (int i = 0; i < TREND_WEEKS; i++) {
+            // Oldest window first
+            trendWeekEnds[i] = todayDay - 7L * (TREND_WEEKS - 1 - i);
+            trendWeekStarts[i] = trendWeekEnds[i] - (TREND_DAYS - 1);
+        }
+        for (int i = 0; i < TREND_QUARTERS; i++) {
+            LocalDate quarterStart = startOfMonth.minusMonths(3L * (TREND_QUARTERS - 1 - i));
+            trendQuarterStarts[i] = quarterStart.toEpochDay();
+            trendQuarterEnds[i] = Math.min(quarterStart.plusMonths(3).toEpochDay() - 1, todayDay);
+        }
+    }
+
+    public LocalDate today() {
+        return today;
+    }
+
+    public LocalDate weekStart() {
+        return LocalDate.ofEpochDay(weekStart);
+    }
+
+    public LocalDate monthStart() {
+        return LocalDate.ofEpochDay(monthStart);
+    }
+
+    public LocalDate previousMonthStart() {
+        return LocalDate.ofEpochDay(previousMonthStart);
+    }
+
+    public LocalDate previousMonthEnd() {
+        return LocalDate.ofEpochDay(previousMonthEnd);
+    }
+
+    public LocalDate yearStart() {
+        return LocalDate.ofEpochDay(yearStart);
+    }
+
+    public LocalDate trendWeekStart(int index) {
+        return LocalDate.ofEpochDay(trendWeekStarts[index]);
+    }
+
+    public LocalDate trendWeekEnd(int index) {
+        return LocalDate.ofEpochDay(trendWeekEnds[index]);
+    }
+
+    public LocalDate trendQuarterStart(int index) {
+        return LocalDate.ofEpochDay(trendQuarterStarts[index]);
+    }
+
+    public LocalDate trendQuarterEnd(int index) {
+        return LocalDate.ofEpochDay(trendQuarterEnds[index]);
+    }
+}
@@ -0,0 +1,52 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics;
+
+import java.time.LocalDate;
+
+/**
+ * Bucket sizes of the {@link SalesCube}. Weeks run Monday to Sunday, quarters are calendar
+ * quarters. A bucket is identified by a key that increases with time at each granularity.
+ */
+public enum Granularity {
+
+    DAY, WEEK, MONTH, QUARTER;
+
+    // Epoch day 0 (1970-01-01) is a Thursday; shift so keys change on Mondays
+    private static final int EPOCH_WEEK_OFFSET = 3;
+
+    public long key(LocalDate day) {
+        return switch (this) {
+            case DAY -> day.toEpochDay();
+            case WEEK -> Math.floorDiv(day.toEpochDay() + EPOCH_WEEK_OFFSET, 7);
+            case MONTH -> day.getYear() * 12L + day.getMonthValue() - 1;
+            case QUARTER -> day.getYear() * 4L + (day.getMonthValue() - 1) / 3;
+        };
+    }
+
+    long key(long epochDay) {
+        return this == DAY ? epochDay : key(LocalDate.ofEpochDay(epochDay));
+    }
+
+    /**
+     * First day of the bucket
+     */
+    public LocalDate start(long key) {
+        return switch (this) {
+            case DAY -> LocalDate.ofEpochDay(key);
+            case WEEK -> LocalDate.ofEpochDay(key * 7 - EPOCH_WEEK_OFFSET);
+            case MONTH -> LocalDate.of((int) Math.floorDiv(key, 12), (int) Math.floorMod(key, 12) + 1, 1);
+            case QUARTER -> LocalDate.of((int) Math.floorDiv(key, 4), (int) Math.floorMod(key, 4) * 3 + 1, 1);
+        };
+    }
+
+    /**
+     * Last day of the bucket
+     */
+    public LocalDate end(long key) {
+        return switch (this) {
+            case DAY -> start(key);
+            case WEEK -> start(key).plusDays(6);
+            case MONTH -> start(key).plusMonths(1).minusDays(1);
+            case QUARTER -> start(key).plusMonths(3).minusDays(1);
+        };
+    }
+}
@@ -0,0 +1,437 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderItemDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderStatus;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderType;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.PaymentType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Running order totals for the dashboard, so its figures cost a handful of pre-aggregated
+ * buckets instead of a pass over the whole order history. Totals live in a {@link SalesCube}:
+ * per day, week, month and quarter and per type x status x payment slot (orders, revenue,
+ * profit), and, for completed sales, per product, per category and per customer. Queries roll
+ * a range of days up from the coarsest buckets that fit; {@link #series} drills a range down
+ * into buckets of one granularity.
+ * <p>
+ * Each order's last applied {@link OrderContribution} is remembered. Any change to an order
+ * (created, completed, cancelled, or different in a periodic full sync) subtracts that
+ * contribution and adds the new one, so e.g. a completed sale that is cancelled leaves the
+ * revenue, profit and top product figures at once. OrdersClient reports the changes it sends;
+ * AnalyticsService runs the syncs, and changes made after a sync's list was requested are not
+ * rolled back by it.
+ * <p>
+ * Meters: analytics.orders.tracked.
+ */
+@Slf4j
+@Component
+public class OrderAnalytics {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, OrderContribution> contributions = new HashMap<>();
+    // System.nanoTime of changes reported by this app, newer than the last sync's fetch
+    private final Map<Long, Long> localChanges = new HashMap<>();
+    private final SalesCube cube = new SalesCube();
+    private final Map<Long, String> productNames = new HashMap<>();
+    private final Map<Long, String> categoryNames = new HashMap<>();
+    private volatile boolean loaded;
+    private volatile long syncedAt;
+    // Bumped by every change reported by this app, so copies of a fetched list know they are stale
+    private volatile long localVersion;
+    // Bumped by every update that changed the totals
+    private volatile long version;
+
+    /**
+     * Orders, revenue and profit of a set of orders
+     */
+    public record Totals(long orders, double revenue, double profit) {
+
+        public static final Totals EMPTY = new Totals(0, 0, 0);
+
+        public double averageRevenue() {
+            return orders > 0 ? revenue / orders : 0;
+        }
+    }
+
+    /**
+     * Completed-sale totals of one product or category
+     */
+    public record ItemTotals(Long id, String name, long quantity, double revenue, double profit) {
+    }
+
+    /**
+     * Totals of one bucket of a {@link #series}; edge buckets are clipped to the queried range
+     */
+    public record Bucket(Granularity granularity, LocalDate start, LocalDate end, Totals totals) {
+    }
+
+    public OrderAnalytics(MeterRegistry meterRegistry) {
+        Gauge.builder("analytics.orders.tracked", this, OrderAnalytics::trackedOrders)
+                .description("Orders contributing to the incremental dashboard totals")
+                .register(meterRegistry);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean needsSync(long intervalNanos) {
+        return !loaded || System.nanoTime() - syncedAt > intervalNanos;
+    }
+
+    /**
+     * Moves whenever the totals change, so figures derived from them know when to recompute
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Number of order changes reported by this app so far; an order list fetched before the
+     * current value may lack some of them
+     */
+    public long localVersion() {
+        return localVersion;
+    }
+
+    // ---------------- updates ----------------
+
+    /**
+     * Bring the totals in line with a full order list requested at {@code fetchStartedAt}
+     * (System.nanoTime). Only orders that differ from what was applied touch the totals.
+     *
+     * @return whether any order was added, changed or removed
+     */
+    public boolean sync(List<OrderDto> all, long fetchStartedAt) {
+        int changed = 0;
+        int removed = 0;
+        lock.writeLock().lock();
+        try {
+            if (loaded && fetchStartedAt - syncedAt < 0) {
+                // A sync from a newer list already ran
+                return false;
+            }
+            Set<Long> seen = new HashSet<>(all.size() * 2);
+            for (OrderDto order : all) {
+                if (order.getOrderId() == null) {
+                    continue;
+                }
+                seen.add(order.getOrderId());
+                if (!isNewerLocally(order.getOrderId(), fetchStartedAt) && apply(order)) {
+                    changed++;
+                }
+            }
+            Iterator<Map.Entry<Long, OrderContribution>> entries = contributions.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<Long, OrderContribution> entry = entries.next();
+                if (!seen.contains(entry.getKey()) && !isNewerLocally(entry.getKey(), fetchStartedAt)) {
+                    add(entry.getValue(), -1);
+                    entries.remove();
+                    removed++;
+                }
+            }
+            localChanges.values().removeIf(at -> at - fetchStartedAt < 0);
+            if (changed > 0 || removed > 0 || !loaded) {
+                version++;
+            }
+            syncedAt = fetchStartedAt;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Synced order analytics: {} orders, {} changed, {} removed", all.size(), changed, removed);
+        return changed > 0 || removed > 0;
+    }
+
+    public void orderSaved(OrderDto order) {
+        if (order == null || order.getOrderId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (apply(order)) {
+                version++;
+            }
+            localChanges.put(order.getOrderId(), System.nanoTime());
+            localVersion++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void orderStatusChanged(Long orderId, OrderStatus status) {
+        if (orderId == null || status == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            OrderContribution previous = contributions.get(orderId);
+            // Unknown orders are picked up, with their current status, by the next sync
+            if (previous != null) {
+                replace(previous, previous.withStatus(status));
+                localChanges.put(orderId, System.nanoTime());
+                version++;
+            }
+            localVersion++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean isNewerLocally(Long orderId, long fetchStartedAt) {
+        Long changedAt = localChanges.get(orderId);
+        return changedAt != null && changedAt - fetchStartedAt >= 0;
+    }
+
+    /**
+     * @return whether the order's contribution changed
+     */
+    private boolean apply(OrderDto order) {
+        rememberNames(order);
+        OrderContribution next = OrderContribution.of(order);
+        OrderContribution previous = contributions.get(next.orderId());
+        if (next.equals(previous)) {
+            return false;
+        }
+        replace(previous, next);
+        return true;
+    }
+
+    private void replace(OrderContribution previous, OrderContribution next) {
+        if (previous != null) {
+            add(previous, -1);
+        }
+        add(next, 1);
+        contributions.put(next.orderId(), next);
+    }
+
+    private void add(OrderContribution contribution, int sign) {
+        if (contribution.epochDay() != OrderContribution.NO_DAY) {
+            cube.add(contribution, sign);
+        }
+    }
+
+    /**
+     * Keep the recent-days ring on the last days up to {@code today}, so "last 7 days" and
+     * "last 4 weeks" queries are answered from it
+     */
+    public void advanceTo(LocalDate today) {
+        if (today.toEpochDay() <= cube.recentEnd()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            cube.slideTo(today.toEpochDay());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rememberNames(OrderDto order) {
+        if (order.getOrderItems() == null) {
+            return;
+        }
+        for (OrderItemDto item : order.getOrderItems()) {
+            ProductDto product = item.getProductDto();
+            if (product == null) {
+                continue;
+            }
+            if (product.getProductId() != null && product.getName() != null) {
+                productNames.put(product.getProductId(), product.getName());
+            }
+            if (product.getCategory() != null && product.getCategory().getId() != null && product.getCategory().getName() != null) {
+                categoryNames.put(product.getCategory().getId(), product.getCategory().getName());
+            }
+        }
+    }
+
+    // ---------------- queries (days inclusive) ----------------
+
+    /**
+     * Totals of orders created between the two days; a null type or status matches any
+     */
+    public Totals totals(LocalDate from, LocalDate to, OrderType type, OrderStatus status) {
+        lock.readLock().lock();
+        try {
+            return sum(range(from, to), type, status);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Totals per bucket of the given granularity between the two days, oldest first. Drilling
+     * down a bucket is a series of a finer granularity over the bucket's days.
+     */
+    public List<Bucket> series(Granularity granularity, LocalDate from, LocalDate to, OrderType type, OrderStatus status) {
+        List<Bucket> series = new ArrayList<>();
+        if (from.isAfter(to)) {
+            return series;
+        }
+        lock.readLock().lock();
+        try {
+            for (long key = granularity.key(from); key <= granularity.key(to); key++) {
+                LocalDate start = granularity.start(key);
+                LocalDate end = granularity.end(key);
+                List<SalesCube.Cell> cells;
+                if (start.isBefore(from) || end.isAfter(to)) {
+                    start = start.isBefore(from) ? from : start;
+                    end = end.isAfter(to) ? to : end;
+                    cells = range(start, end);
+                } else {
+                    SalesCube.Cell cell = cube.cell(granularity, key);
+                    cells = cell != null ? List.of(cell) : List.of();
+                }
+                series.add(new Bucket(granularity, start, end, sum(cells, type, status)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return series;
+    }
+
+    private static Totals sum(List<SalesCube.Cell> cells, OrderType type, OrderStatus status) {
+        long orders = 0;
+        double revenue = 0;
+        double profit = 0;
+        for (SalesCube.Cell cell : cells) {
+            for (int slot = 0; slot < OrderContribution.SLOTS; slot++) {
+                if (cell.orders[slot] != 0 && OrderContribution.matches(slot, type, status)) {
+                    orders += cell.orders[slot];
+                    revenue += cell.revenue[slot];
+                    profit += cell.profit[slot];
+                }
+            }
+        }
+        return new Totals(orders, revenue, profit);
+    }
+
+    /**
+     * Like {@link #totals} but split by payment type; orders without one are left out
+     */
+    public Map<PaymentType, Totals> totalsByPayment(LocalDate from, LocalDate to, OrderType type, OrderStatus status) {
+        int paymentTypes = PaymentType.values().length;
+        long[] orders = new long[paymentTypes];
+        double[] revenue = new double[paymentTypes];
+        double[] profit = new double[paymentTypes];
+        lock.readLock().lock();
+        try {
+            for (SalesCube.Cell cell : range(from, to)) {
+                for (int slot = 0; slot < OrderContribution.SLOTS; slot++) {
+                    PaymentType payment = OrderContribution.payment(slot);
+                    if (cell.orders[slot] != 0 && payment != null && OrderContribution.matches(slot, type, status)) {
+                        orders[payment.ordinal()] += cell.orders[slot];
+                        revenue[payment.ordinal()] += cell.revenue[slot];
+                        profit[payment.ordinal()] += cell.profit[slot];
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Map<PaymentType, Totals> result = new EnumMap<>(PaymentType.class);
+        for (PaymentType payment : PaymentType.values()) {
+            if (orders[payment.ordinal()] > 0) {
+                result.put(payment, new Totals(orders[payment.ordinal()], revenue[payment.ordinal()], profit[payment.ordinal()]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Completed-sale totals per product between the two days
+     */
+    public List<ItemTotals> productTotals(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            Map<Long, SalesCube.ItemAccumulator> merged = new HashMap<>();
+            for (SalesCube.Cell cell : range(from, to)) {
+                cell.products.forEach((id, totals) -> merged.computeIfAbsent(id, k -> new SalesCube.ItemAccumulator()).merge(totals));
+            }
+            return toItemTotals(merged, productNames, "Product ");
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Completed-sale totals per category between the two days
+     */
+    public List<ItemTotals> categoryTotals(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            Map<Long, SalesCube.ItemAccumulator> merged = new HashMap<>();
+            for (SalesCube.Cell cell : range(from, to)) {
+                cell.categories.forEach((id, totals) -> merged.computeIfAbsent(id, k -> new SalesCube.ItemAccumulator()).merge(totals));
+            }
+            return toItemTotals(merged, categoryNames, "Category ");
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Distinct customers with a completed sale between the two days
+     */
+    public long distinctCustomers(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            Set<Long> customers = new HashSet<>();
+            for (SalesCube.Cell cell : range(from, to)) {
+                customers.addAll(cell.customers.keySet());
+            }
+            return customers.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * First day with any order, or null when there are none
+     */
+    public LocalDate firstDay() {
+        lock.readLock().lock();
+        try {
+            Long firstDay = cube.firstDay();
+            return firstDay != null ? LocalDate.ofEpochDay(firstDay) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<SalesCube.Cell> range(LocalDate from, LocalDate to) {
+        return cube.cells(from.toEpochDay(), to.toEpochDay());
+    }
+
+    private static List<ItemTotals> toItemTotals(Map<Long, SalesCube.ItemAccumulator> merged, Map<Long, String> names, String unnamed) {
+        List<ItemTotals> result = new ArrayList<>(merged.size());
+        merged.forEach((id, totals) -> result.add(new ItemTotals(id,
+                names.getOrDefault(id, unnamed + id), totals.quantity, totals.revenue, totals.profit)));
+        return result;
+    }
+
+    private int trackedOrders() {
+        lock.readLock().lock();
+        try {
+            return contributions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.CustomerDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderItemDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductCategoryDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderStatus;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderType;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.PaymentType;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable column-per-field copy of an order list, so analytics passes read primitive arrays
+ * instead of chasing OrderDto / CustomerDto / OrderItemDto / ProductDto references and
+ * unboxing every field:
+ * <ul>
+ *     <li>per order: id, creation time as epoch seconds, status / type / payment codes, total
+ *     price and a customer index</li>
+ *     <li>per item, CSR style ({@code itemStart[o]} to {@code itemStart[o + 1]}): product and
+ *     category indexes, quantity, price at order time and the product's actual price</li>
+ *     <li>customers, products and categories as dictionaries of id and name</li>
+ * </ul>
+ * Creation times are the backend's local date-times read as UTC, so comparing them with
+ * {@link #epochSecond(LocalDateTime)} of a local date-time gives the same answer as comparing
+ * the date-times. Missing values are {@link #NO_TIME}, {@link #NONE}, {@link #NO_ID}, -1 indexes
+ * and NaN.
+ * <p>
+ * Built once per data version (see AnalyticsService#columns); {@link #version()} is the
+ * OrderAnalytics local-change version the source list was fetched at.
+ */
+public final class OrderColumns {
+
+    public static final long NO_TIME = Long.MIN_VALUE;
+    public static final byte NONE = -1;
+    public static final long NO_ID = Long.MIN_VALUE;
+    static final long SECONDS_PER_DAY = 86_400;
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final OrderType[] TYPES = OrderType.values();
+    private static final PaymentType[] PAYMENTS = PaymentType.values();
+
+    private final long version;
+    private final long fetchedAt;
+    final int size;
+    final long[] ids;
+    final long[] createdAt;
+    final byte[] status;
+    final byte[] type;
+    final byte[] payment;
+    final double[] totalPrice;
+    final int[] customer;
+    final int[] itemStart;
+    final int[] itemProduct;
+    final int[] itemCategory;
+    final int[] itemQuantity;
+    final double[] itemPrice;
+    final double[] itemCost;
+    final long[] customerIds;
+    final String[] customerNames;
+    final long[] productIds;
+    final String[] productNames;
+    final long[] categoryIds;
+    final String[] categoryNames;
+    private volatile CustomerTotals customerTotals;
+
+    private OrderColumns(Builder builder, long version, long fetchedAt) {
+        this.version = version;
+        this.fetchedAt = fetchedAt;
+        this.size = builder.size;
+        this.ids = builder.ids.length == size ? builder.ids : Arrays.copyOf(builder.ids, size);
+        this.createdAt = builder.createdAt.length == size ? builder.createdAt : Arrays.copyOf(builder.createdAt, size);
+        this.status = builder.status.length == size ? builder.status : Arrays.copyOf(builder.status, size);
+        this.type = builder.type.length == size ? builder.type : Arrays.copyOf(builder.type, size);
+        this.payment = builder.payment.length == size ? builder.payment : Arrays.copyOf(builder.payment, size);
+        this.totalPrice = builder.totalPrice.length == size ? builder.totalPrice : Arrays.copyOf(builder.totalPrice, size);
+        this.customer = builder.customer.length == size ? builder.customer : Arrays.copyOf(builder.customer, size);
+        this.itemStart = builder.itemStart.length == size + 1 ? builder.itemStart : Arrays.copyOf(builder.itemStart, size + 1);
+        int items = builder.items;
+        this.itemProduct = builder.itemProduct.length == items ? builder.itemProduct : Arrays.copyOf(builder.itemProduct, items);
+        this.itemCategory = builder.itemCategory.length == items ? builder.itemCategory : Arrays.copyOf(builder.itemCategory, items);
+        this.itemQuantity = builder.itemQuantity.length == items ? builder.itemQuantity : Arrays.copyOf(builder.itemQuantity, items);
+        this.itemPrice = builder.itemPrice.length == items ? builder.itemPrice : Arrays.copyOf(builder.itemPrice, items);
+        this.itemCost = builder.itemCost.length == items ? builder.itemCost : Arrays.copyOf(builder.itemCost, items);
+        this.customerIds = builder.customers.ids();
+        this.customerNames = builder.customers.names();
+        this.productIds = builder.products.ids();
+        this.productNames = builder.products.names();
+        this.categoryIds = builder.categories.ids();
+        this.categoryNames = builder.categories.names();
+    }
+
+    /**
+     * @param version   OrderAnalytics#localVersion() read before the list was requested
+     * @param fetchedAt System.nanoTime() when the list was requested
+     */
+    public static OrderColumns of(List<OrderDto> orders, long version, long fetchedAt) {
+        int items = 0;
+        for (OrderDto order : orders) {
+            items += order.getOrderItems() != null ? order.getOrderItems().size() : 0;
+        }
+        // Sized exactly, so the builder's arrays are used as they are
+        Builder builder = new Builder(orders.size(), items);
+        for (OrderDto order : orders) {
+            builder.add(order);
+        }
+        return new OrderColumns(builder, version, fetchedAt);
+    }
+
+    public static long epochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public long fetchedAt() {
+        return fetchedAt;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int itemCount() {
+        return itemStart[size];
+    }
+
+    /**
+     * Heap taken by the column arrays and dictionaries (names excluded), for comparison with
+     * the DTO graph they replace
+     */
+    public long arrayBytes() {
+        long bytes = (long) size * (8 + 8 + 1 + 1 + 1 + 8 + 4) + 4L * (size + 1);
+        bytes += (long) itemCount() * (4 + 4 + 4 + 8 + 8);
+        bytes += 12L * (customerIds.length + productIds.length + categoryIds.length);
+        return bytes;
+    }
+
+    static OrderStatus statusOf(byte code) {
+        return code == NONE ? null : STATUSES[code];
+    }
+
+    static OrderType typeOf(byte code) {
+        return code == NONE ? null : TYPES[code];
+    }
+
+    static PaymentType paymentOf(byte code) {
+        return code == NONE ? null : PAYMENTS[code];
+    }
+
+    static byte code(Enum<?> value) {
+        return value == null ? NONE : (byte) value.ordinal();
+    }
+
+    // ---------------- per-customer totals ----------------
+
+    /**
+     * Order count, revenue (cancelled orders and orders without a price excluded) and latest
+     * order time per customer, from one pass over the columns on first use
+     */
+    public CustomerTotals customerTotals() {
+        CustomerTotals totals = customerTotals;
+        if (totals == null) {
+            totals = CustomerTotals.of(this);
+            customerTotals = totals;
+        }
+        return totals;
+    }
+
+    public static final class CustomerTotals {
+
+        private static final CustomerTotals EMPTY = new CustomerTotals(Map.of(), new int[0], new double[0], new long[0]);
+
+        private final Map<Long, Integer> indexById;
+        private final int[] orders;
+        private final double[] revenue;
+        private final long[] lastOrderAt;
+
+        private CustomerTotals(Map<Long, Integer> indexById, int[] orders, double[] revenue, long[] lastOrderAt) {
+            this.indexById = indexById;
+            this.orders = orders;
+            this.revenue = revenue;
+            this.lastOrderAt = lastOrderAt;
+        }
+
+        /**
+         * Totals with no orders for anyone
+         */
+        public static CustomerTotals empty() {
+            return EMPTY;
+        }
+
+        static CustomerTotals of(OrderColumns columns) {
+            int customers = columns.customerIds.length;
+            int[] orders = new int[customers];
+            double[] revenue = new double[customers];
+            long[] lastOrderAt = new long[customers];
+            Arrays.fill(lastOrderAt, NO_TIME);
+            byte cancelled = code(OrderStatus.CANCELLED);
+            for (int o = 0; o < columns.size; o++) {
+                int c = columns.customer[o];
+                if (c < 0) {
+                    continue;
+                }
+                orders[c]++;
+                if (columns.status[o] != cancelled && !Double.isNaN(columns.totalPrice[o])) {
+                    revenue[c] += columns.totalPrice[o];
+                }
+                if (columns.createdAt[o] > lastOrderAt[c]) {
+                    lastOrderAt[c] = columns.createdAt[o];
+                }
+            }
+            Map<Long, Integer> indexById = new HashMap<>(customers * 2);
+            for (int c = 0; c < customers; c++) {
+                if (columns.customerIds[c] != NO_ID) {
+                    indexById.put(columns.customerIds[c], c);
+                }
+            }
+            return new CustomerTotals(indexById, orders, revenue, lastOrderAt);
+        }
+
+        public int orderCount(Long customerId) {
+            Integer c = customerId != null ? indexById.get(customerId) : null;
+            return c != null ? orders[c] : 0;
+        }
+
+        public double revenue(Long customerId) {
+            Integer c = customerId != null ? indexById.get(customerId) : null;
+            return c != null ? revenue[c] : 0.0;
+        }
+
+        /**
+         * Whether the customer has an order created after the given time
+         */
+        public boolean orderedAfter(Long customerId, LocalDateTime since) {
+            Integer c = customerId != null ? indexById.get(customerId) : null;
+            return c != null && lastOrderAt[c] != NO_TIME && lastOrderAt[c] > epochSecond(since);
+        }
+    }
+
+    // ---------------- building ----------------
+
+    private static final class Builder {
+
+        int size;
+        int items;
+        long[] ids;
+        long[] createdAt;
+        byte[] status;
+        byte[] type;
+        byte[] payment;
+        double[] totalPrice;
+        int[] customer;
+        int[] itemStart;
+        int[] itemProduct;
+        int[] itemCategory;
+        int[] itemQuantity;
+        double[] itemPrice;
+        double[] itemCost;
+        final Dictionary customers = new Dictionary();
+        final Dictionary products = new Dictionary();
+        final Dictionary categories = new Dictionary();
+
+        Builder(int expectedOrders, int expectedItems) {
+            int capacity = expectedOrders;
+            ids = new long[capacity];
+            createdAt = new long[capacity];
+            status = new byte[capacity];
+            type = new byte[capacity];
+            payment = new byte[capacity];
+            totalPrice = new double[capacity];
+            customer = new int[capacity];
+            itemStart = new int[capacity + 1];
+            int itemCapacity = expectedItems;
+            itemProduct = new int[itemCapacity];
+            itemCategory = new int[itemCapacity];
+            itemQuantity = new int[itemCapacity];
+            itemPrice = new double[itemCapacity];
+            itemCost = new double[itemCapacity];
+        }
+
+        void add(OrderDto order) {
+            if (size == ids.length) {
+                // Only if the list changed under us
+                growOrders();
+            }
+            int o = size++;
+            ids[o] = order.getOrderId() != null ? order.getOrderId() : 0L;
+            createdAt[o] = order.getCreatedAt() != null ? epochSecond(order.getCreatedAt()) : NO_TIME;
+            status[o] = code(order.getOrderStatus());
+            type[o] = code(order.getOrderType());
+            payment[o] = code(order.getPaymentType());
+            totalPrice[o] = order.getTotalPrice() != null ? order.getTotalPrice() : Double.NaN;
+            CustomerDto customerDto = order.getCustomer();
+            customer[o] = customerDto != null ? customers.indexOf(customerDto.getCustomerId(), customerDto.getName()) : -1;
+
+            if (order.getOrderItems() != null) {
+                for (OrderItemDto item : order.getOrderItems()) {
+                    addItem(item);
+                }
+            }
+            itemStart[o + 1] = items;
+        }
+
+        private void addItem(OrderItemDto item) {
+            if (items == itemProduct.length) {
+                growItems();
+            }
+            int i = items++;
+            ProductDto product = item.getProductDto();
+            ProductCategoryDto category = product != null ? product.getCategory() : null;
+            itemProduct[i] = product != null && product.getProductId() != null
+                    ? products.indexOf(product.getProductId(), product.getName()) : -1;
+            itemCategory[i] = category != null && category.getId() != null
+                    ? categories.indexOf(category.getId(), category.getName()) : -1;
+            itemQuantity[i] = item.getQuantity() != null ? item.getQuantity() : 0;
+            itemPrice[i] = item.getPriceAtOrderTime() != null ? item.getPriceAtOrderTime() : Double.NaN;
+            itemCost[i] = product != null && product.getActualPrice() != null ? product.getActualPrice() : Double.NaN;
+        }
+
+        private void growOrders() {
+            int capacity = ids.length * 2 + 16;
+            ids = Arrays.copyOf(ids, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            status = Arrays.copyOf(status, capacity);
+            type = Arrays.copyOf(type, capacity);
+            payment = Arrays.copyOf(payment, capacity);
+            totalPrice = Arrays.copyOf(totalPrice, capacity);
+            customer = Arrays.copyOf(customer, capacity);
+            itemStart = Arrays.copyOf(itemStart, capacity + 1);
+        }
+
+        private void growItems() {
+            int capacity = itemProduct.length * 2 + 16;
+            itemProduct = Arrays.copyOf(itemProduct, capacity);
+            itemCategory = Arrays.copyOf(itemCategory, capacity);
+            itemQuantity = Arrays.copyOf(itemQuantity, capacity);
+            itemPrice = Arrays.copyOf(itemPrice, capacity);
+            itemCost = Arrays.copyOf(itemCost, capacity);
+        }
+    }
+
+    /**
+     * Ids and names in first-seen order, found through a long-keyed open-addressing table; the
+     * latest non-null name wins, as in OrderAnalytics
+     */
+    private static final class Dictionary {
+
+        private long[] ids = new long[64];
+        private String[] names = new String[64];
+        private int size;
+        // Entry index + 1 per slot, 0 when free
+        private int[] slots = new int[128];
+
+        int indexOf(Long id, String name) {
+            if (id == null) {
+                // No id to share an entry by
+                return append(NO_ID, name);
+            }
+            int mask = slots.length - 1;
+            int slot = slotOf(id, mask);
+            while (slots[slot] != 0) {
+                int index = slots[slot] - 1;
+                if (ids[index] == id) {
+                    if (name != null) {
+                        names[index] = name;
+                    }
+                    return index;
+                }
+                slot = (slot + 1) & mask;
+            }
+            int index = append(id, name);
+            slots[slot] = index + 1;
+            if (size * 2 > slots.length) {
+                rehash();
+            }
+            return index;
+        }
+
+        private int append(long id, String name) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                names = Arrays.copyOf(names, size * 2);
+            }
+            ids[size] = id;
+            names[size] = name;
+            return size++;
+        }
+
+        private void rehash() {
+            slots = new int[slots.length * 2];
+            int mask = slots.length - 1;
+            for (int index = 0; index < size; index++) {
+                if (ids[index] == NO_ID) {
+                    continue;
+                }
+                int slot = slotOf(ids[index], mask);
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = index + 1;
+            }
+        }
+
+        private static int slotOf(long id, int mask) {
+            return (int) ((id * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+        }
+
+        long[] ids() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        String[] names() {
+            return Arrays.copyOf(names, size);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderItemDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderStatus;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderType;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.PaymentType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What one order adds to the running totals: its day, type/status/payment slot, revenue,
+ * profit, customer and item lines. Applying the old contribution negatively and the new one
+ * positively is how an order moves between buckets when its status changes.
+ * <p>
+ * Profit of a line is (price at order time - product's actual price) * quantity, the same
+ * figure the dashboard has always shown; lines missing either price add no profit.
+ */
+public record OrderContribution(long orderId,
+                                long epochDay,
+                                int slot,
+                                double revenue,
+                                double profit,
+                                Long customerId,
+                                List<Line> lines) {
+
+    // Orders without a creation date are tracked but fall in no day bucket
+    public static final long NO_DAY = Long.MIN_VALUE;
+
+    private static final OrderType[] TYPES = OrderType.values();
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final PaymentType[] PAYMENTS = PaymentType.values();
+    // One extra index per dimension for "not set"
+    private static final int TYPE_CARDINALITY = TYPES.length + 1;
+    private static final int STATUS_CARDINALITY = STATUSES.length + 1;
+    private static final int PAYMENT_CARDINALITY = PAYMENTS.length + 1;
+
+    /**
+     * Number of distinct type x status x payment slots
+     */
+    public static final int SLOTS = TYPE_CARDINALITY * STATUS_CARDINALITY * PAYMENT_CARDINALITY;
+
+    public record Line(Long productId, Long categoryId, int quantity, double revenue, double profit) {
+    }
+
+    public static OrderContribution of(OrderDto order) {
+        List<Line> lines = new ArrayList<>();
+        double profit = 0;
+        if (order.getOrderItems() != null) {
+            for (OrderItemDto item : order.getOrderItems()) {
+                Line line = lineOf(item);
+                lines.add(line);
+                profit += line.profit();
+            }
+        }
+        return new OrderContribution(
+                order.getOrderId(),
+                order.getCreatedAt() != null ? order.getCreatedAt().toLocalDate().toEpochDay() : NO_DAY,
+                slot(order.getOrderType(), order.getOrderStatus(), order.getPaymentType()),
+                order.getTotalPrice() != null ? order.getTotalPrice() : 0,
+                profit,
+                order.getCustomer() != null ? order.getCustomer().getCustomerId() : null,
+                List.copyOf(lines));
+    }
+
+    private static Line lineOf(OrderItemDto item) {
+        ProductDto product = item.getProductDto();
+        int quantity = item.getQuantity() != null ? item.getQuantity() : 0;
+        double price = item.getPriceAtOrderTime() != null ? item.getPriceAtOrderTime() : 0;
+        double profit = item.getPriceAtOrderTime() != null && product != null && product.getActualPrice() != null
+                ? (item.getPriceAtOrderTime() - product.getActualPrice()) * quantity
+                : 0;
+        return new Line(
+                product != null ? product.getProductId() : null,
+                product != null && product.getCategory() != null ? product.getCategory().getId() : null,
+                quantity,
+                price * quantity,
+                profit);
+    }
+
+    public OrderContribution withStatus(OrderStatus status) {
+        return new OrderContribution(orderId, epochDay, slot(type(slot), status, payment(slot)),
+                revenue, profit, customerId, lines);
+    }
+
+    public boolean completedSale() {
+        return type(slot) == OrderType.SALE && status(slot) == OrderStatus.COMPLETED;
+    }
+
+    // ---------------- slot encoding ----------------
+
+    public static int slot(OrderType type, OrderStatus status, PaymentType payment) {
+        int t = type != null ? type.ordinal() : TYPES.length;
+        int s = status != null ? status.ordinal() : STATUSES.length;
+        int p = payment != null ? payment.ordinal() : PAYMENTS.length;
+        return (t * STATUS_CARDINALITY + s) * PAYMENT_CARDINALITY + p;
+    }
+
+    public static OrderType type(int slot) {
+        int t = slot / (STATUS_CARDINALITY * PAYMENT_CARDINALITY);
+        return t < TYPES.length ? TYPES[t] : null;
+    }
+
+    public static OrderStatus status(int slot) {
+        int s = slot / PAYMENT_CARDINALITY % STATUS_CARDINALITY;
+        return s < STATUSES.length ? STATUSES[s] : null;
+    }
+
+    public static PaymentType payment(int slot) {
+        int p = slot % PAYMENT_CARDINALITY;
+        return p < PAYMENTS.length ? PAYMENTS[p] : null;
+    }
+
+    /**
+     * Whether the slot matches the given type and status; null matches anything
+     */
+    public static boolean matches(int slot, OrderType type, OrderStatus status) {
+        return (type == null || type(slot) == type) && (status == null || status(slot) == status);
+    }
+}
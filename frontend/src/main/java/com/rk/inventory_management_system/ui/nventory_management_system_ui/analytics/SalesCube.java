@@ -0,0 +1,212 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Order totals pre-aggregated at every {@link Granularity}: each order is added to its day,
+ * week, month and quarter cell. A cell holds orders, revenue and profit per type x status x
+ * payment slot and, for completed sales, totals per product, per category and per customer.
+ * <p>
+ * A range of days is answered by rolling up the coarsest cells that fit in it (whole quarters,
+ * then months, weeks and single days at the edges), so a year costs a couple of dozen cells
+ * instead of 365. The last {@value #RECENT_DAYS} days ("last 7 days", "last 4 weeks") are also
+ * kept in a ring indexed by day, so those windows need no tree lookups at all.
+ * <p>
+ * Not thread-safe; OrderAnalytics guards it with its lock.
+ */
+final class SalesCube {
+
+    static final int RECENT_DAYS = 28;
+
+    private static final Granularity[] COARSEST_FIRST = {Granularity.QUARTER, Granularity.MONTH, Granularity.WEEK};
+
+    private final Map<Granularity, TreeMap<Long, Cell>> levels = new EnumMap<>(Granularity.class);
+    // Day cells of [recentEnd - RECENT_DAYS + 1, recentEnd], at index epochDay mod RECENT_DAYS
+    private final Cell[] recent = new Cell[RECENT_DAYS];
+    // Read without the lock to decide whether the ring needs sliding
+    private volatile long recentEnd = Long.MIN_VALUE;
+
+    SalesCube() {
+        for (Granularity granularity : Granularity.values()) {
+            levels.put(granularity, new TreeMap<>());
+        }
+    }
+
+    void add(OrderContribution contribution, int sign) {
+        long day = contribution.epochDay();
+        for (Granularity granularity : Granularity.values()) {
+            TreeMap<Long, Cell> cells = levels.get(granularity);
+            long key = granularity.key(day);
+            Cell cell = cells.computeIfAbsent(key, k -> new Cell());
+            cell.add(contribution, sign);
+            boolean empty = cell.isEmpty();
+            if (empty) {
+                cells.remove(key);
+            }
+            if (granularity == Granularity.DAY && isRecent(day)) {
+                recent[ringIndex(day)] = empty ? null : cell;
+            }
+        }
+    }
+
+    /**
+     * Move the ring forward so it ends at the given day
+     */
+    void slideTo(long day) {
+        if (day <= recentEnd) {
+            return;
+        }
+        long first = Math.max(recentEnd + 1, day - RECENT_DAYS + 1);
+        TreeMap<Long, Cell> days = levels.get(Granularity.DAY);
+        for (long d = first; d <= day; d++) {
+            recent[ringIndex(d)] = days.get(d);
+        }
+        recentEnd = day;
+    }
+
+    long recentEnd() {
+        return recentEnd;
+    }
+
+    /**
+     * The cells that together cover exactly the days between from and to (inclusive)
+     */
+    List<Cell> cells(long from, long to) {
+        if (from > to) {
+            return List.of();
+        }
+        List<Cell> result = new ArrayList<>();
+        if (isRecent(from) && isRecent(to)) {
+            for (long day = from; day <= to; day++) {
+                Cell cell = recent[ringIndex(day)];
+                if (cell != null) {
+                    result.add(cell);
+                }
+            }
+            return result;
+        }
+        long day = from;
+        while (day <= to) {
+            Granularity granularity = coarsestStartingAt(day, to);
+            long key = granularity.key(day);
+            Cell cell = levels.get(granularity).get(key);
+            if (cell != null) {
+                result.add(cell);
+            }
+            day = granularity.end(key).toEpochDay() + 1;
+        }
+        return result;
+    }
+
+    /**
+     * The cell of one bucket, or null when no order falls in it
+     */
+    Cell cell(Granularity granularity, long key) {
+        return levels.get(granularity).get(key);
+    }
+
+    Long firstDay() {
+        TreeMap<Long, Cell> days = levels.get(Granularity.DAY);
+        return days.isEmpty() ? null : days.firstKey();
+    }
+
+    private boolean isRecent(long day) {
+        return day <= recentEnd && day > recentEnd - RECENT_DAYS;
+    }
+
+    private static int ringIndex(long day) {
+        return (int) Math.floorMod(day, (long) RECENT_DAYS);
+    }
+
+    private static Granularity coarsestStartingAt(long day, long to) {
+        for (Granularity granularity : COARSEST_FIRST) {
+            long key = granularity.key(day);
+            if (granularity.start(key).toEpochDay() == day && granularity.end(key).toEpochDay() <= to) {
+                return granularity;
+            }
+        }
+        return Granularity.DAY;
+    }
+
+    // ---------------- cells ----------------
+
+    static final class Cell {
+
+        final long[] orders = new long[OrderContribution.SLOTS];
+        final double[] revenue = new double[OrderContribution.SLOTS];
+        final double[] profit = new double[OrderContribution.SLOTS];
+        // Completed sales only
+        final Map<Long, ItemAccumulator> products = new HashMap<>();
+        final Map<Long, ItemAccumulator> categories = new HashMap<>();
+        final Map<Long, Integer> customers = new HashMap<>();
+        int ordersInCell;
+
+        void add(OrderContribution contribution, int sign) {
+            int slot = contribution.slot();
+            orders[slot] += sign;
+            ordersInCell += sign;
+            if (orders[slot] == 0) {
+                // Drop rounding residue once the slot is empty again
+                revenue[slot] = 0;
+                profit[slot] = 0;
+            } else {
+                revenue[slot] += sign * contribution.revenue();
+                profit[slot] += sign * contribution.profit();
+            }
+
+            if (!contribution.completedSale()) {
+                return;
+            }
+            for (OrderContribution.Line line : contribution.lines()) {
+                if (line.productId() != null) {
+                    addLine(products, line.productId(), line, sign);
+                }
+                if (line.categoryId() != null) {
+                    addLine(categories, line.categoryId(), line, sign);
+                }
+            }
+            if (contribution.customerId() != null) {
+                customers.merge(contribution.customerId(), sign, (a, b) -> a + b == 0 ? null : a + b);
+            }
+        }
+
+        private static void addLine(Map<Long, ItemAccumulator> totals, Long id, OrderContribution.Line line, int sign) {
+            ItemAccumulator accumulator = totals.computeIfAbsent(id, k -> new ItemAccumulator());
+            accumulator.add(line, sign);
+            if (accumulator.lines == 0) {
+                totals.remove(id);
+            }
+        }
+
+        boolean isEmpty() {
+            return ordersInCell == 0;
+        }
+    }
+
+    static final class ItemAccumulator {
+
+        long lines;
+        long quantity;
+        double revenue;
+        double profit;
+
+        void add(OrderContribution.Line line, int sign) {
+            lines += sign;
+            quantity += (long) sign * line.quantity();
+            revenue += sign * line.revenue();
+            profit += sign * line.profit();
+        }
+
+        void merge(ItemAccumulator other) {
+            lines += other.lines;
+            quantity += other.quantity;
+            revenue += other.revenue;
+            profit += other.profit;
+        }
+    }
+}
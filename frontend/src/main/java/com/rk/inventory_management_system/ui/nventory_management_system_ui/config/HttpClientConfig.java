@@ -0,0 +1,115 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.config;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ReactorClientHttpRequestFactory;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * One keep-alive connection pool for every backend call: RestClient, the /api proxy and the
+ * chatbot WebClient all share it. Tuned through the backend.http.* properties.
+ */
+@Slf4j
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${backend.base-url:http://localhost:8080}")
+    private String backendBaseUrl;
+
+    // Reactor Netty keeps one pool per remote address, so this is the per-route limit
+    @Value("${backend.http.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${backend.http.pending-acquire-max-count:500}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${backend.http.pending-acquire-timeout:5s}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${backend.http.max-idle-time:30s}")
+    private Duration maxIdleTime;
+
+    @Value("${backend.http.max-life-time:5m}")
+    private Duration maxLifeTime;
+
+    @Value("${backend.http.evict-interval:30s}")
+    private Duration evictInterval;
+
+    @Value("${backend.http.connect-timeout:3s}")
+    private Duration connectTimeout;
+
+    // Longest gap allowed between reads while waiting for / reading a response
+    @Value("${backend.http.response-timeout:30s}")
+    private Duration responseTimeout;
+
+    @Value("${backend.http.http2:false}")
+    private boolean http2;
+
+    // Accept-Encoding: gzip on RestClient calls (the proxy forwards the browser's own header)
+    @Value("${backend.http.compression:true}")
+    private boolean compression;
+
+    /**
+     * Shared pool. Occupancy (active/idle/pending connections) and acquire wait time are
+     * published as reactor.netty.connection.provider.* meters.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider backendConnectionProvider() {
+        return ConnectionProvider.builder("backend-pool")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInterval)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public HttpClient backendHttpClient(ConnectionProvider backendConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(backendConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(responseTimeout);
+
+        if (http2) {
+            // Negotiate HTTP/2 (ALPN over TLS, upgrade in clear text) and fall back to HTTP/1.1
+            boolean secure = backendBaseUrl.startsWith("https");
+            httpClient = secure
+                    ? httpClient.secure().protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                    : httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+
+        log.info("Backend pool: maxConnections={}, connectTimeout={}, responseTimeout={}, http2={}",
+                maxConnections, connectTimeout, responseTimeout, http2);
+        return httpClient;
+    }
+
+    /**
+     * Request factory for the RestClient. Asks the backend for gzip and inflates it before
+     * Jackson sees the body.
+     */
+    @Bean
+    public ClientHttpRequestFactory backendRequestFactory(HttpClient backendHttpClient) {
+        return new ReactorClientHttpRequestFactory(backendHttpClient.compress(compression));
+    }
+
+    /**
+     * Request factory for the /api proxy. Request and response bodies are streamed in small
+     * chunks rather than aggregated, and content codings are left alone so a gzip body from
+     * the backend reaches the browser still compressed.
+     */
+    @Bean
+    public ClientHttpRequestFactory proxyRequestFactory(HttpClient backendHttpClient) {
+        return new ReactorClientHttpRequestFactory(backendHttpClient);
+    }
+}
@@ -1,74 +1,73 @@
 package com.rk.inventory_management_system.ui.nventory_management_system_ui.config;
-import jakarta.servlet.http.Cookie;
-import jakarta.servlet.http.HttpServletRequest;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.BackendIdentity;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.BackendResilienceInterceptor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
-import java.util.Arrays;
 
 @Slf4j
 @Configuration
 public class RestClientConfig {
 
+    @Value("${backend.base-url:http://localhost:8080}")
+    private String backendBaseUrl;
+
+    @Value("${server.port:8081}")
+    private int serverPort;
+
+    /**
+     * direct - clients call backend.base-url themselves and carry the user's JWT/cookies.
+     * proxy  - clients loop back through this server's /api proxy (ApiProxyController).
+     */
+    @Value("${backend.client-mode:direct}")
+    private String clientMode;
 
     @Bean
-    public RestClient restClient() {
+    public RestClient restClient(ClientHttpRequestFactory backendRequestFactory,
+                                 BackendResilienceInterceptor backendResilienceInterceptor) {
+        boolean direct = !"proxy".equalsIgnoreCase(clientMode);
+        String baseUrl = direct ? backendBaseUrl : "http://localhost:" + serverPort; // Use UI server (proxy)
+        log.info("RestClient running in {} mode against {}", direct ? "direct" : "proxy", baseUrl);
+
         return RestClient.builder()
-                .baseUrl("http://localhost:8081") // Use UI server (proxy)
+                .baseUrl(baseUrl)
+                .requestFactory(backendRequestFactory) // shared keep-alive pool (HttpClientConfig)
                 .requestInterceptor((request, body, execution) -> {
-                    // Get the current HTTP request from the thread-local context
-                    ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-                    if (attributes != null) {
-                        HttpServletRequest httpRequest = attributes.getRequest();
-
-                        // Extract JWT token from cookies
-                        String token = getTokenFromCookies(httpRequest);
-                        if (token != null && !token.trim().isEmpty()) {
-                            // Forward the entire cookie header to preserve all cookies
-                            String cookieHeader =   getCookieHeader(httpRequest);
-                            if (cookieHeader != null) {
-                                request.getHeaders().set("Cookie", cookieHeader);
-                                log.debug("Forwarding cookies to proxy: {}", cookieHeader);
-                            }
-                        } else {
-                            log.warn("No authentication token found in cookies");
-                        }
-                    } else {
-                        log.warn("No request context available for cookie forwarding");
-                    }
-
+                    forwardIdentity(request, direct);
                     return execution.execute(request, body);
                 })
+                .requestInterceptor(backendResilienceInterceptor) // per-endpoint circuit breaker + bulkhead
                 .build();
     }
 
+    private void forwardIdentity(HttpRequest request, boolean direct) {
+        // The current request's token/cookies, or those a background job captured when it was submitted
+        BackendIdentity identity = BackendIdentity.current();
+        if (identity == null) {
+            log.warn("No request context available for cookie forwarding");
+            return;
+        }
+        String token = identity.token();
+        if (token == null || token.trim().isEmpty()) {
+            log.warn("No authentication token found in cookies");
+            return;
+        }
 
-
-    private String getTokenFromCookies(HttpServletRequest request) {
-        if (request.getCookies() != null) {
-            return Arrays.stream(request.getCookies())
-                    .filter(cookie -> "token".equals(cookie.getName()))
-                    .findFirst()
-                    .map(Cookie::getValue)
-                    .orElse(null);
+        // Forward the entire cookie header to preserve all cookies
+        String cookieHeader = identity.cookieHeader();
+        if (cookieHeader != null) {
+            request.getHeaders().set(HttpHeaders.COOKIE, cookieHeader);
+            log.debug("Forwarding cookies to {}: {}", direct ? "backend" : "proxy", cookieHeader);
         }
-        return null;
-    }
 
-    private String getCookieHeader(HttpServletRequest request) {
-        if (request.getCookies() != null) {
-            StringBuilder cookieHeader = new StringBuilder();
-            for (Cookie cookie : request.getCookies()) {
-                if (cookieHeader.length() > 0) {
-                    cookieHeader.append("; ");
-                }
-                cookieHeader.append(cookie.getName()).append("=").append(cookie.getValue());
-            }
-            return cookieHeader.toString();
+        // Going straight to the backend there is no proxy to translate the session, so send the JWT as well
+        if (direct && !request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+            request.getHeaders().setBearerAuth(token);
         }
-        return null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * spring.threads.virtual.enabled switches both Tomcat request handling (done by Spring Boot)
+ * and the backend call executor below between virtual and platform threads.
+ */
+@Slf4j
+@Configuration
+public class VirtualThreadConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // Only used in platform-thread mode
+    @Value("${backend.calls.platform-pool-size:64}")
+    private int platformPoolSize;
+
+    /**
+     * Executor for backend calls forked off a request thread: one virtual thread per call, or a
+     * bounded platform pool that runs overflow on the caller.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService backendCallExecutor() {
+        log.info("Request handling and backend calls use {} threads", virtualThreads ? "virtual" : "platform");
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("backend-call-", 0).factory());
+        }
+        return new ThreadPoolExecutor(platformPoolSize, platformPoolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(platformPoolSize * 4),
+                Thread.ofPlatform().name("backend-call-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -1,8 +1,6 @@
 package com.rk.inventory_management_system.ui.nventory_management_system_ui.config;
 
 
-import io.netty.channel.ChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -14,7 +12,6 @@ import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
-import reactor.netty.resources.ConnectionProvider;
 
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
@@ -29,24 +26,13 @@ public class WebClientConfig {
      * WebClient bean for reactive streaming operations
      */
     @Bean
-    public WebClient webClient() {
-        // Connection provider configuration
-        ConnectionProvider connectionProvider = ConnectionProvider.builder("chatbot-pool")
-                .maxConnections(50)
-                .maxIdleTime(Duration.ofSeconds(30))
-                .maxLifeTime(Duration.ofMinutes(5))
-                .pendingAcquireTimeout(Duration.ofSeconds(60))
-                .evictInBackground(Duration.ofSeconds(120))
-                .build();
-
-        // HTTP client configuration with timeouts
-        HttpClient httpClient = HttpClient.create(connectionProvider)
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10000) // Connection timeout
+    public WebClient webClient(HttpClient backendHttpClient) {
+        // Same pool as the rest of the backend calls, with a longer read window for chat streams
+        HttpClient httpClient = backendHttpClient
                 .responseTimeout(Duration.ofMinutes(5)) // Response timeout for long streaming
-                .doOnConnected(conn ->
-                        conn.addHandlerLast(new ReadTimeoutHandler(5, TimeUnit.MINUTES))
-                                .addHandlerLast(new WriteTimeoutHandler(5, TimeUnit.MINUTES))
-                );
+                // A stalled upload fails instead of waiting on the response timeout; removed again
+                // when the connection goes back to the shared pool
+                .doOnConnected(conn -> conn.addHandlerLast(new WriteTimeoutHandler(5, TimeUnit.MINUTES)));
 
         // Exchange strategies for larger buffer size (important for streaming)
         ExchangeStrategies strategies = ExchangeStrategies.builder()
@@ -68,9 +54,10 @@ public class WebClientConfig {
      * Alternative simpler WebClient configuration (if you don't need advanced settings)
      */
     @Bean
-    public WebClient simpleWebClient() {
+    public WebClient simpleWebClient(HttpClient backendHttpClient) {
         return WebClient.builder()
                 .baseUrl(backendBaseUrl)
+                .clientConnector(new ReactorClientHttpConnector(backendHttpClient))
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .codecs(configurer -> configurer
                         .defaultCodecs()
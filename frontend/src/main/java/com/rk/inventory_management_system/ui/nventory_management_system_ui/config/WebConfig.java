@@ -1,6 +1,7 @@
 package com.rk.inventory_management_system.ui.nventory_management_system_ui.config;
 
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.interceptor.JwtTokenInterceptor;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.interceptor.StaleDataInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
@@ -13,12 +14,19 @@ public class WebConfig implements WebMvcConfigurer {
     @Autowired
     private JwtTokenInterceptor jwtTokenInterceptor;
 
+    @Autowired
+    private StaleDataInterceptor staleDataInterceptor;
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(jwtTokenInterceptor)
                 .addPathPatterns("/**")
                 .excludePathPatterns("/login", "/api/**", "/css/**", "/js/**",  // Added /api/** to exclude proxy
                         "/images/**", "/static/**", "/webjars/**", "/favicon.ico", "/error");
+
+        registry.addInterceptor(staleDataInterceptor)
+                .addPathPatterns("/**")
+                .excludePathPatterns("/api/**", "/css/**", "/js/**", "/images/**", "/static/**", "/webjars/**");
     }
 
     @Override
@@ -1,22 +1,25 @@
 package com.rk.inventory_management_system.ui.nventory_management_system_ui.controllers;
 
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.CategoriesClient;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.CategoryRollupDto;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductCategoryDto;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.CategoryRollupService;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.CsvExporter;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.FanOut;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.FanOutScope;
 import groovy.util.logging.Slf4j;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.chrono.ChronoLocalDate;
 import java.util.*;
@@ -30,11 +33,16 @@ import java.util.stream.Collectors;
 public class CategoryController {
 
     private final CategoriesClient categoriesClient;
+    private final FanOut fanOut;
+    private final CategoryRollupService categoryRollupService;
+    private final CsvExporter csvExporter;
 
     @GetMapping
     public String list(Model model) {
         try {
-            List<ProductCategoryDto> categories = categoriesClient.findAll();
+            // Categories plus per-category figures from a single product snapshot
+            CategoryRollupService.Rollup rollup = categoryRollupService.rollup();
+            List<ProductCategoryDto> categories = rollup.categories();
             model.addAttribute("categories", categories);
 
             // Calculate analytics from existing data
@@ -52,19 +60,11 @@ public class CategoryController {
             int totalProducts = 0;
 
             for (ProductCategoryDto category : categories) {
-                try {
-                    List<ProductDto> products = categoriesClient.findProductsByCategoryId(category.getId());
-                    int productCount = products.size();
-                    productCounts.put(category.getId(), productCount);
-                    totalProducts += productCount;
-                    log.info("total Products: {}",totalProducts);
-                    // Set product count in category object for display
-                    category.setProductCount(productCount);
-                } catch (Exception e) {
-                    log.warn("Could not fetch products for category {}: {}", category.getId(), e.getMessage());
-                    productCounts.put(category.getId(), 0);
-                    category.setProductCount(0);
-                }
+                int productCount = rollup.of(category).getProductCount();
+                productCounts.put(category.getId(), productCount);
+                totalProducts += productCount;
+                // Set product count in category object for display
+                category.setProductCount(productCount);
             }
 
             model.addAttribute("totalProducts", totalProducts);
@@ -138,7 +138,8 @@ public class CategoryController {
     @ResponseBody
     public ResponseEntity<Map<String, Object>> getCategoryAnalytics() {
         try {
-            List<ProductCategoryDto> categories = categoriesClient.findAll();
+            CategoryRollupService.Rollup rollup = categoryRollupService.rollup();
+            List<ProductCategoryDto> categories = rollup.categories();
 
             Map<String, Object> analytics = new HashMap<>();
             analytics.put("totalCategories", categories.size());
@@ -149,20 +150,12 @@ public class CategoryController {
                     .count();
             analytics.put("activeCategories", activeCategories);
 
-            // Calculate total products across all categories
-            int totalProducts = 0;
-            for (ProductCategoryDto category : categories) {
-                try {
-                    List<ProductDto> products = categoriesClient.findProductsByCategoryId(category.getId());
-                    totalProducts += products.size();
-                } catch (Exception e) {
-                    log.warn("Could not fetch products for category {}", category.getId());
-                }
-            }
-
+            int totalProducts = rollup.totalProducts();
             analytics.put("totalProducts", totalProducts);
             analytics.put("avgProductsPerCategory", categories.isEmpty() ? 0 :
                     (double) totalProducts / categories.size());
+            analytics.put("totalStockValue", rollup.totalStockValue());
+            analytics.put("categories", categories.stream().map(rollup::of).toList());
 
             return ResponseEntity.ok(analytics);
         } catch (Exception e) {
@@ -202,9 +195,12 @@ public class CategoryController {
 
     @GetMapping("/{id}")
     public String detail(@PathVariable Long id, Model model, RedirectAttributes redirectAttributes) {
-        try {
-            ProductCategoryDto category = categoriesClient.findById(id);
-            List<ProductDto> products = categoriesClient.findProductsByCategoryId(id);
+        try (FanOutScope scope = fanOut.open()) {
+            FanOutScope.Subtask<ProductCategoryDto> categoryTask = scope.fork("category", () -> categoriesClient.findById(id));
+            FanOutScope.Subtask<List<ProductDto>> productsTask = scope.fork("products", () -> categoriesClient.findProductsByCategoryId(id));
+            scope.join();
+            ProductCategoryDto category = categoryTask.get();
+            List<ProductDto> products = productsTask.get();
 
             // Basic metrics
             int totalProducts = products.size();
@@ -401,9 +397,12 @@ public class CategoryController {
 
     @GetMapping("/{id}/products")
     public String products(@PathVariable Long id, Model model, RedirectAttributes redirectAttributes) {
-        try {
-            ProductCategoryDto category = categoriesClient.findById(id);
-            List<ProductDto> products = categoriesClient.findProductsByCategoryId(id);
+        try (FanOutScope scope = fanOut.open()) {
+            FanOutScope.Subtask<ProductCategoryDto> categoryTask = scope.fork("category", () -> categoriesClient.findById(id));
+            FanOutScope.Subtask<List<ProductDto>> productsTask = scope.fork("products", () -> categoriesClient.findProductsByCategoryId(id));
+            scope.join();
+            ProductCategoryDto category = categoryTask.get();
+            List<ProductDto> products = productsTask.get();
 
             // Calculate comprehensive product analytics
             int totalProducts = products.size();
@@ -593,45 +592,31 @@ public class CategoryController {
     }
 
     @GetMapping("/export")
-    public ResponseEntity<String> exportCategories() {
+    public ResponseEntity<StreamingResponseBody> exportCategories() {
         try {
-            List<ProductCategoryDto> categories = categoriesClient.findAll();
-
-            StringBuilder csv = new StringBuilder();
-            csv.append("ID,Name,Description,Status,Product Count,Created Date\n");
-
-            for (ProductCategoryDto category : categories) {
-                // Get product count for each category
-                int productCount = 0;
-                try {
-                    List<ProductDto> products = categoriesClient.findProductsByCategoryId(category.getId());
-                    productCount = products.size();
-                } catch (Exception e) {
-                    log.warn("Could not fetch products for category {} during export", category.getId());
-                }
-
-                csv.append(String.format("%d,\"%s\",\"%s\",\"%s\",%d,\"%s\"\n",
-                        category.getId(),
-                        category.getName() != null ? category.getName().replace("\"", "\"\"") : "",
-                        category.getDescription() != null ? category.getDescription().replace("\"", "\"\"") : "",
-                        category.getStatus() != null ? category.getStatus() : "ACTIVE",
-                        productCount,
-                        category.getCreatedDate() != null ? category.getCreatedDate().toString() : ""
-                ));
-            }
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType("text/csv"));
-            headers.setContentDispositionFormData("attachment",
-                    "categories_export_" + LocalDate.now() + ".csv");
-
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(csv.toString());
+            // Not streamed: every product goes into the rollup before the first row, and the
+            // categories themselves are the shared reference list (one row each, few of them)
+            CategoryRollupService.Rollup rollup = categoryRollupService.rollup();
+
+            return csvExporter.export("categories",
+                    new String[]{"ID", "Name", "Description", "Status", "Product Count", "Stock Value", "Low Stock Items", "Created Date"},
+                    rollup.categories(),
+                    (category, csv) -> {
+                        CategoryRollupDto stats = rollup.of(category);
+                        csv.number(category.getId())
+                                .text(category.getName())
+                                .text(category.getDescription())
+                                .text(category.getStatus() != null ? category.getStatus() : "ACTIVE")
+                                .number(stats.getProductCount())
+                                .money(stats.getStockValue())
+                                .number(stats.getLowStockCount())
+                                .value(category.getCreatedDate())
+                                .endRow();
+                    });
 
         } catch (Exception e) {
             log.error("Error exporting categories", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
\ No newline at end of file
+}
@@ -3,9 +3,15 @@ package com.rk.inventory_management_system.ui.nventory_management_system_ui.cont
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.CustomersClient;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.OrdersClient;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.StreamingGetClient;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics.AnalyticsService;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics.OrderColumns.CustomerTotals;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.CustomerDto;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderDto;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderStatus;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.CsvExporter;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.FanOut;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.FanOutScope;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.utils.FormatUtils;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,10 +19,13 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.time.LocalDate;
@@ -34,11 +43,64 @@ import java.util.stream.Collectors;
 
         private final CustomersClient customersClient;
         private final OrdersClient ordersClient;
+        private final AnalyticsService analyticsService;
+        private final FanOut fanOut;
+        private final CsvExporter csvExporter;
+
+        /**
+         * Order count, revenue and latest order per customer, from the order columns; purchase
+         * orders (no customer) are skipped. If orders can't be loaded the list still renders, with
+         * every customer shown as NEW.
+         */
+        private CustomerTotals fetchCustomerTotals() {
+            try {
+                return analyticsService.columns().customerTotals();
+            } catch (Exception e) {
+                log.warn("Could not fetch orders for customer analytics: {}", e.getMessage());
+                return CustomerTotals.empty();
+            }
+        }
+
+        /**
+         * Revenue (cancelled orders excluded), order count, recent-order flag and status for one customer
+         */
+        private static void applyAnalytics(CustomerDto customer, CustomerTotals totals, LocalDateTime threeMonthsAgo) {
+            double customerRevenue = totals.revenue(customer.getCustomerId());
+            int orderCount = totals.orderCount(customer.getCustomerId());
+            boolean hasRecentOrder = totals.orderedAfter(customer.getCustomerId(), threeMonthsAgo);
+
+            String customerStatus;
+            if (customerRevenue > 50000) {
+                customerStatus = "VIP";
+            } else if (customerRevenue > 10000 && hasRecentOrder) {
+                customerStatus = "PREMIUM";
+            } else if (hasRecentOrder) {
+                customerStatus = "ACTIVE";
+            } else if (orderCount == 0) {
+                customerStatus = "NEW";
+            } else {
+                customerStatus = "INACTIVE";
+            }
+
+            customer.setRevenue(customerRevenue);
+            customer.setHasRecentOrder(hasRecentOrder);
+            customer.setCustomerStatus(customerStatus);
+            customer.setOrderCount(orderCount);
+        }
 
         @GetMapping
         public String list(Model model) {
             try {
-                List<CustomerDto> customers = customersClient.findAll();
+                // Customers and every order in one round-trip each, instead of one orders call per customer
+                List<CustomerDto> customers;
+                CustomerTotals orderTotals;
+                try (FanOutScope scope = fanOut.open()) {
+                    FanOutScope.Subtask<List<CustomerDto>> customersTask = scope.fork("customers", customersClient::findAll);
+                    FanOutScope.Subtask<CustomerTotals> ordersTask = scope.fork("orders", this::fetchCustomerTotals);
+                    scope.join();
+                    customers = customersTask.get();
+                    orderTotals = ordersTask.get();
+                }
 
                 // Calculate comprehensive customer analytics
                 int totalCustomers = customers.size();
@@ -46,73 +108,26 @@ import java.util.stream.Collectors;
                 int vipCustomers = 0;
                 double totalRevenue = 0.0;
                 int totalOrders = 0;
+                LocalDateTime threeMonthsAgo = LocalDateTime.now().minusMonths(3);
 
                 // Enhanced analytics for each customer - calculate all metrics in controller
                 for (CustomerDto customer : customers) {
-                    try {
-                        List<OrderDto> customerOrders = ordersClient.findAllOrdersOfCustomer(customer.getCustomerId());
-                        customer.setOrders(customerOrders);
-
-                        // Calculate customer revenue (excluding cancelled orders)
-                        double customerRevenue = 0.0;
-                        int customerOrderCount = customerOrders.size();
-
-                        for (OrderDto order : customerOrders) {
-                            if (!OrderStatus.CANCELLED.equals(order.getOrderStatus()) && order.getTotalPrice() != null) {
-                                customerRevenue += order.getTotalPrice();
-                            }
-                        }
-
-                        // Check for recent orders (last 3 months)
-                        boolean hasRecentOrder = false;
-                        LocalDateTime threeMonthsAgo = LocalDateTime.now().minusMonths(3);
-                        for (OrderDto order : customerOrders) {
-                            if (order.getCreatedAt() != null && order.getCreatedAt().isAfter(threeMonthsAgo)) {
-                                hasRecentOrder = true;
-                                break;
-                            }
-                        }
-
-                        // Determine customer status
-                        String customerStatus;
-                        if (customerRevenue > 50000) {
-                            customerStatus = "VIP";
-                        } else if (customerRevenue > 10000 && hasRecentOrder) {
-                            customerStatus = "PREMIUM";
-                        } else if (hasRecentOrder) {
-                            customerStatus = "ACTIVE";
-                        } else if (customerOrderCount == 0) {
-                            customerStatus = "NEW";
-                        } else {
-                            customerStatus = "INACTIVE";
-                        }
-
-                        // Set calculated values on customer object for Thymeleaf
-                        customer.setRevenue(customerRevenue);
-                        customer.setHasRecentOrder(hasRecentOrder);
-                        customer.setCustomerStatus(customerStatus);
-                        customer.setOrderCount(customerOrderCount);
-
-                        // Count active customers and VIP customers
-                        if (hasRecentOrder && customerOrderCount > 0) {
-                            activeCustomers++;
-                        }
-
-                        if (customerRevenue > 10000 || customerOrderCount > 5) {
-                            vipCustomers++;
-                        }
-
-                        totalRevenue += customerRevenue;
-                        totalOrders += customerOrderCount;
+                    applyAnalytics(customer, orderTotals, threeMonthsAgo);
+                    double customerRevenue = customer.getRevenue();
+                    boolean hasRecentOrder = customer.getHasRecentOrder();
+                    int customerOrderCount = customer.getOrderCount();
+
+                    // Count active customers and VIP customers
+                    if (hasRecentOrder && customerOrderCount > 0) {
+                        activeCustomers++;
+                    }
 
-                    } catch (Exception e) {
-                        log.warn("Could not fetch orders for customer {}: {}", customer.getCustomerId(), e.getMessage());
-                        // Set default values for customers with no orders
-                        customer.setRevenue(0.0);
-                        customer.setHasRecentOrder(false);
-                        customer.setCustomerStatus("NEW");
-                        customer.setOrderCount(0);
+                    if (customerRevenue > 10000 || customerOrderCount > 5) {
+                        vipCustomers++;
                     }
+
+                    totalRevenue += customerRevenue;
+                    totalOrders += customerOrderCount;
                 }
 
                 // Calculate average metrics
@@ -132,17 +147,8 @@ import java.util.stream.Collectors;
                 int retainedCustomers = 0;
                 LocalDateTime sixMonthsAgo = LocalDateTime.now().minusMonths(6);
                 for (CustomerDto customer : customers) {
-                    if (customer.getOrders() != null) {
-                        boolean hasRecentActivity = false;
-                        for (OrderDto order : customer.getOrders()) {
-                            if (order.getCreatedAt() != null && order.getCreatedAt().isAfter(sixMonthsAgo)) {
-                                hasRecentActivity = true;
-                                break;
-                            }
-                        }
-                        if (hasRecentActivity) {
-                            retainedCustomers++;
-                        }
+                    if (orderTotals.orderedAfter(customer.getCustomerId(), sixMonthsAgo)) {
+                        retainedCustomers++;
                     }
                 }
 
@@ -182,6 +188,38 @@ import java.util.stream.Collectors;
             }
         }
 
+        @GetMapping("/export")
+        public ResponseEntity<StreamingResponseBody> exportCustomers() {
+            try {
+                // Totals first (shared analytics columns, usually ready), then the customers are
+                // read from the backend as rows are written instead of being loaded up front
+                CustomerTotals orderTotals = fetchCustomerTotals();
+                StreamingGetClient.Elements<CustomerDto> customers = customersClient.streamAll();
+                LocalDateTime threeMonthsAgo = LocalDateTime.now().minusMonths(3);
+
+                return csvExporter.export("customers",
+                        new String[]{"Customer ID", "Name", "Email", "Contact", "Address", "Revenue", "Orders", "Status", "Created At"},
+                        customers,
+                        (customer, csv) -> {
+                            applyAnalytics(customer, orderTotals, threeMonthsAgo);
+                            csv.number(customer.getCustomerId())
+                                    .text(customer.getName())
+                                    .text(customer.getEmail())
+                                    .text(customer.getContactNumber())
+                                    .text(customer.getAddress())
+                                    .money(customer.getRevenue())
+                                    .number(customer.getOrderCount())
+                                    .text(customer.getCustomerStatus())
+                                    .value(customer.getCreatedAt())
+                                    .endRow();
+                        });
+
+            } catch (Exception e) {
+                log.error("Error exporting customers", e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            }
+        }
+
         @GetMapping("/create")
         public String addForm(Model model) {
             CustomerDto customer = null;
@@ -245,20 +283,15 @@ import java.util.stream.Collectors;
 
             // Custom validation
             if (customer != null) {
-                // Check for duplicate email
-                try {
-                    List<CustomerDto> existingCustomers = customersClient.findAll();
-                    CustomerDto finalCustomer = customer;
-                    boolean emailExists = existingCustomers.stream()
-                            .anyMatch(c -> c.getEmail() != null &&
-                                    c.getEmail().equalsIgnoreCase(finalCustomer.getEmail()));
-
-                    if (emailExists) {
-                        result.rejectValue("email", "error.customer",
-                                "A customer with this email already exists");
-                    }
-                } catch (Exception e) {
-                    log.warn("Could not check for duplicate email", e);
+                // Check for duplicate email against the list already loaded for the counters
+                CustomerDto finalCustomer = customer;
+                boolean emailExists = customers.stream()
+                        .anyMatch(c -> c.getEmail() != null &&
+                                c.getEmail().equalsIgnoreCase(finalCustomer.getEmail()));
+
+                if (emailExists) {
+                    result.rejectValue("email", "error.customer",
+                            "A customer with this email already exists");
                 }
 
                 // Validate contact number format
@@ -319,9 +352,12 @@ import java.util.stream.Collectors;
 
         @GetMapping("/{id}")
         public String details(@PathVariable Long id, Model model, RedirectAttributes redirectAttributes) {
-            try {
-                CustomerDto customer = customersClient.findCustomerById(id);
-                List<OrderDto> orders = ordersClient.findAllOrdersOfCustomer(id);
+            try (FanOutScope scope = fanOut.open()) {
+                FanOutScope.Subtask<CustomerDto> customerTask = scope.fork("customer", () -> customersClient.findCustomerById(id));
+                FanOutScope.Subtask<List<OrderDto>> ordersTask = scope.fork("orders", () -> ordersClient.findAllOrdersOfCustomer(id));
+                scope.join();
+                CustomerDto customer = customerTask.get();
+                List<OrderDto> orders = ordersTask.get();
                 customer.setOrders(orders);
 
                 // Calculate comprehensive customer metrics
@@ -379,9 +415,12 @@ import java.util.stream.Collectors;
 
         @GetMapping("/{customerId}/orders")
         public String orders(@PathVariable Long customerId, Model model) {
-            try {
-                CustomerDto customer = customersClient.findCustomerById(customerId);
-                List<OrderDto> orders = ordersClient.findAllOrdersOfCustomer(customerId);
+            try (FanOutScope scope = fanOut.open()) {
+                FanOutScope.Subtask<CustomerDto> customerTask = scope.fork("customer", () -> customersClient.findCustomerById(customerId));
+                FanOutScope.Subtask<List<OrderDto>> ordersTask = scope.fork("orders", () -> ordersClient.findAllOrdersOfCustomer(customerId));
+                scope.join();
+                CustomerDto customer = customerTask.get();
+                List<OrderDto> orders = ordersTask.get();
 
                 // Calculate statistics
                 int totalOrders = orders.size();
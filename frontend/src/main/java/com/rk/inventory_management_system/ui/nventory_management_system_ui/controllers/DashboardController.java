@@ -2,26 +2,41 @@ package com.rk.inventory_management_system.ui.nventory_management_system_ui.cont
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.*;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.ReferenceDataCache;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics.AnalyticsService;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics.DashboardFigures;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics.DashboardPeriods;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics.OrderAnalytics;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.*;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.chartsDtos.ProductSalesData;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.chartsDtos.StockLevelData;
-import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderStatus;
-import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderType;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.PaymentType;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.productDtos.ProductResponseDto;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.supplierDtos.SupplierResponseDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.DashboardLiveFeed;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.FanOut;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.FanOutScope;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.PrecomputedPayloads;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.client.HttpClientErrorException;
+import reactor.core.publisher.Flux;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
+import java.time.format.TextStyle;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Controller
@@ -33,17 +48,30 @@ public class DashboardController {
     private final CustomersClient customersClient;
     private final SuppliersClient suppliersClient;
     private final CategoriesClient categoriesClient;
-    private final OrdersClient ordersClient;
+    private final AnalyticsService analyticsService;
+    private final ReferenceDataCache referenceDataCache;
+    private final PrecomputedPayloads precomputedPayloads;
+    private final DashboardLiveFeed dashboardLiveFeed;
+    private final FanOut fanOut;
 
     @GetMapping(path = "/dashboard")
     public String dashboard(Model model, HttpServletRequest request) {
-        try {
-            // Get real data from APIs
-            List<ProductDto> products = productsClient.findAll();
-            List<CustomerDto> customers = customersClient.findAll();
-            List<SupplierResponseDto> suppliers = suppliersClient.findAll();
-            List<ProductCategoryDto> categories = categoriesClient.findAll();
-            List<OrderDto> orders = ordersClient.findAll();
+        // One clock reading for every figure of the page
+        DashboardPeriods periods = new DashboardPeriods(LocalDate.now());
+        try (FanOutScope scope = fanOut.open()) {
+            // Get real data from APIs, all calls in flight at once; order figures come from the running totals
+            FanOutScope.Subtask<List<ProductDto>> productsTask = scope.fork("products", productsClient::findAll);
+            FanOutScope.Subtask<List<CustomerDto>> customersTask = scope.fork("customers", customersClient::findAll);
+            FanOutScope.Subtask<List<SupplierResponseDto>> suppliersTask = scope.fork("suppliers", suppliersClient::findAll);
+            FanOutScope.Subtask<List<ProductCategoryDto>> categoriesTask = scope.fork("categories", categoriesClient::findAll);
+            FanOutScope.Subtask<DashboardFigures> figuresTask = scope.fork("analytics", () -> analyticsService.figures(periods));
+            scope.join();
+
+            List<ProductDto> products = productsTask.get();
+            List<CustomerDto> customers = customersTask.get();
+            List<SupplierResponseDto> suppliers = suppliersTask.get();
+            List<ProductCategoryDto> categories = categoriesTask.get();
+            DashboardFigures figures = figuresTask.get();
 
             // Calculate key metrics using real data
             model.addAttribute("customerCount", customers.size());
@@ -59,21 +87,23 @@ public class DashboardController {
 
 
             // Enhanced analytics with real data
-            model.addAttribute("monthlyProfit", calculateMonthlyProfit(orders));
-            log.info("monthlyProfit: {}",calculateMonthlyProfit(orders));
+            Map<String, Object> monthlyProfit = calculateMonthlyProfit(figures);
+            model.addAttribute("monthlyProfit", monthlyProfit);
+            log.info("monthlyProfit: {}",monthlyProfit);
 
-            model.addAttribute("monthlyRevenue", calculateMonthlyRevenue(orders));
-            log.info("monthlyRevenue: {}",calculateMonthlyRevenue(orders));
+            Map<String, Object> monthlyRevenue = calculateMonthlyRevenue(figures);
+            model.addAttribute("monthlyRevenue", monthlyRevenue);
+            log.info("monthlyRevenue: {}",monthlyRevenue);
 
-            model.addAttribute("monthlyOrders", calculateMonthlyOrders(orders));
-            log.info("monthlyOrders: {}",calculateMonthlyOrders(orders));
+            Map<String, Object> monthlyOrders = calculateMonthlyOrders(figures);
+            model.addAttribute("monthlyOrders", monthlyOrders);
+            log.info("monthlyOrders: {}",monthlyOrders);
 
-            model.addAttribute("lowStockCount", calculateLowStockProducts(products));
-            log.info("calculateLowStockProducts: {}",calculateLowStockProducts(products));
+            int lowStockCount = calculateLowStockProducts(products);
+            model.addAttribute("lowStockCount", lowStockCount);
 
             // Add stock overview data
             model.addAttribute("stockOverviewData", getStockOverviewData(products));
-            log.info("stockOverviewData: {}",getStockOverviewData(products));
 
         } catch (Exception exception) {
             log.error("Error loading dashboard data: ", exception);
@@ -83,106 +113,162 @@ public class DashboardController {
         return "dashboard/index";
     }
 
+    // The JSON endpoints below serve precomputed payloads (see PrecomputedPayloads), with their
+    // age in seconds in the Age header. Order figures depend on the day as well as the data.
+
     @GetMapping("/dashboard/chart-data")
-    @ResponseBody
-    public Map<String, Object> getAnalyticsChartData() {
+    public ResponseEntity<Map<String, Object>> getAnalyticsChartData() {
         log.info("Getting analytics chart data");
-        Map<String, Object> chartData = new HashMap<>();
+        return precomputed("chart-data",
+                () -> List.of(LocalDate.now(), analyticsService.version(),
+                        referenceDataCache.version(ReferenceDataCache.PRODUCTS), referenceDataCache.version(ReferenceDataCache.CATEGORIES)),
+                this::computeAnalyticsChartData);
+    }
+
+    @GetMapping("/dashboard/stock-overview")
+    public ResponseEntity<Map<String, Object>> getStockOverviewData() {
+        log.info("Getting stock overview data");
+        return precomputed("stock-overview",
+                () -> referenceDataCache.version(ReferenceDataCache.PRODUCTS),
+                () -> getStockOverviewData(productsClient.findAll()));
+    }
+
+    @GetMapping("/dashboard/profit-data")
+    public ResponseEntity<Map<String, Object>> getProfitData(@RequestParam(defaultValue = "month") String period) {
+        log.info("Getting profit data for period: {}", period);
+        // One payload per known period, anything else is a month
+        String normalized = switch (period.toLowerCase()) {
+            case "week", "year" -> period.toLowerCase();
+            default -> "month";
+        };
+        return precomputed("profit-data:" + normalized,
+                () -> List.of(LocalDate.now(), analyticsService.version()),
+                () -> computeProfitData(normalized));
+    }
 
+    @GetMapping("/dashboard/revenue-data")
+    public ResponseEntity<Map<String, Object>> getRevenueData() {
+        log.info("Getting detailed revenue data");
+        return precomputed("revenue-data",
+                () -> List.of(LocalDate.now(), analyticsService.version()),
+                this::computeRevenueData);
+    }
+
+    /**
+     * Live KPI cards, charts and stock overview: a snapshot, then only what changed as the
+     * payloads are recomputed (see DashboardLiveFeed). Replaces polling the endpoints above.
+     */
+    @GetMapping(value = "/dashboard/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public Flux<ServerSentEvent<Object>> liveMetrics(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.info("Live dashboard connected, last event {}", lastEventId);
+        // Make sure every followed payload exists; failures show up as empty sections
+        getKpiData();
+        getAnalyticsChartData();
+        getStockOverviewData();
+        return dashboardLiveFeed.subscribe(List.of("kpis", "chart-data", "stock-overview"), lastEventId);
+    }
+
+    @GetMapping("/dashboard/kpis")
+    public ResponseEntity<Map<String, Object>> getKpiData() {
+        return precomputed("kpis",
+                () -> List.of(LocalDate.now(), analyticsService.version(), referenceDataCache.version(ReferenceDataCache.PRODUCTS)),
+                this::computeKpiData);
+    }
+
+    private ResponseEntity<Map<String, Object>> precomputed(String key, Supplier<?> version, Callable<Map<String, Object>> compute) {
         try {
+            PrecomputedPayloads.Payload<Map<String, Object>> payload = precomputedPayloads.get(key, version, compute);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.AGE, String.valueOf(payload.age().toSeconds()))
+                    .body(payload.value());
+        } catch (HttpClientErrorException.Unauthorized | HttpClientErrorException.Forbidden e) {
+            // The caller's token was rejected: no shared payload for them
+            return ResponseEntity.status(e.getStatusCode()).build();
+        } catch (Exception e) {
+            log.error("Error preparing dashboard {}", key, e);
+            return ResponseEntity.ok(new HashMap<>());
+        }
+    }
+
+    private Map<String, Object> computeAnalyticsChartData() {
+        Map<String, Object> chartData = new HashMap<>();
+
+        DashboardPeriods periods = new DashboardPeriods(LocalDate.now());
+        try (FanOutScope scope = fanOut.open()) {
             // Get real data from APIs
-            List<ProductDto> products = productsClient.findAll();
-            List<OrderDto> orders = ordersClient.findAll();
-            List<ProductCategoryDto> categories = categoriesClient.findAll();
+            FanOutScope.Subtask<List<ProductDto>> productsTask = scope.fork("products", productsClient::findAll);
+            FanOutScope.Subtask<List<ProductCategoryDto>> categoriesTask = scope.fork("categories", categoriesClient::findAll);
+            FanOutScope.Subtask<DashboardFigures> figuresTask = scope.fork("analytics", () -> analyticsService.figures(periods));
+            scope.join();
+
+            List<ProductDto> products = productsTask.get();
+            List<ProductCategoryDto> categories = categoriesTask.get();
+            DashboardFigures figures = figuresTask.get();
 
             // Generate charts with real data
             chartData.put("topSelling", getTopSellingProductsData(products));
             chartData.put("profitable", getMostProfitableProductsData(products));
             chartData.put("lossMaking", getLossMakingProductsData(products));
             chartData.put("stockLevels", getStockLevelsWithStatus(products));
-            chartData.put("salesTrend", getSalesTrendData(orders));
-            chartData.put("categoryProfit", getCategoryProfitData(products, categories));
-            chartData.put("inventoryTurnover", getInventoryTurnoverData(products, orders));
-            chartData.put("ordersByChannel", getOrdersByChannelData(orders));
-
-            log.info("Analytics chart data prepared successfully");
-        } catch (Exception e) {
-            log.error("Error preparing analytics chart data", e);
+            chartData.put("salesTrend", getSalesTrendData(figures));
+            chartData.put("categoryProfit", getCategoryProfitData(figures, products, categories));
+            chartData.put("inventoryTurnover", getInventoryTurnoverData(products));
+            chartData.put("ordersByChannel", getOrdersByChannelData(figures));
         }
 
+        log.info("Analytics chart data prepared successfully");
         return chartData;
     }
 
-    @GetMapping("/dashboard/stock-overview")
-    @ResponseBody
-    public Map<String, Object> getStockOverviewData() {
-        log.info("Getting stock overview data");
-        Map<String, Object> stockData = new HashMap<>();
+    private Map<String, Object> computeKpiData() {
+        Map<String, Object> kpis = new HashMap<>();
 
-        try {
-            List<ProductDto> products = productsClient.findAll();
-            stockData = getStockOverviewData(products);
-            log.info("Stock overview data prepared successfully");
-        } catch (Exception e) {
-            log.error("Error preparing stock overview data", e);
-        }
+        DashboardPeriods periods = new DashboardPeriods(LocalDate.now());
+        try (FanOutScope scope = fanOut.open()) {
+            FanOutScope.Subtask<List<ProductDto>> productsTask = scope.fork("products", productsClient::findAll);
+            FanOutScope.Subtask<DashboardFigures> figuresTask = scope.fork("analytics", () -> analyticsService.figures(periods));
+            scope.join();
 
-        return stockData;
+            List<ProductDto> products = productsTask.get();
+            DashboardFigures figures = figuresTask.get();
+
+            // The same cards as the dashboard page
+            kpis.put("monthlyProfit", calculateMonthlyProfit(figures));
+            kpis.put("monthlyRevenue", calculateMonthlyRevenue(figures));
+            kpis.put("monthlyOrders", calculateMonthlyOrders(figures));
+            kpis.put("productCount", products.size());
+            kpis.put("lowStockCount", calculateLowStockProducts(products));
+        }
+        return kpis;
     }
 
-    @GetMapping("/dashboard/profit-data")
-    @ResponseBody
-    public Map<String, Object> getProfitData(@RequestParam(defaultValue = "month") String period) {
-        log.info("Getting profit data for period: {}", period);
-        Map<String, Object> profitData = new HashMap<>();
+    private Map<String, Object> computeProfitData(String period) {
+        DashboardFigures figures = analyticsService.figures(new DashboardPeriods(LocalDate.now()));
 
-        try {
-            List<OrderDto> orders = ordersClient.findAll();
-            List<ProductDto> products = productsClient.findAll();
-
-            switch (period.toLowerCase()) {
-                case "week":
-                    profitData = calculateWeeklyProfitData(orders, products);
-                    break;
-                case "year":
-                    profitData = calculateYearlyProfitData(orders, products);
-                    break;
-                default: // month
-                    profitData = calculateMonthlyProfitData(orders, products);
-                    break;
-            }
-
-            log.info("Profit data prepared for period: {}", period);
-        } catch (Exception e) {
-            log.error("Error preparing profit data for period: {}", period, e);
-        }
+        Map<String, Object> profitData = switch (period) {
+            case "week" -> calculateProfitData(figures.weekSales(), figures.weekTopProducts(), "Week");
+            case "year" -> calculateProfitData(figures.yearSales(), figures.yearTopProducts(), "Year");
+            default -> calculateProfitData(figures.monthSales(), figures.monthTopProducts(), "Month");
+        };
 
+        log.info("Profit data prepared for period: {}", period);
         return profitData;
     }
 
-    @GetMapping("/dashboard/revenue-data")
-    @ResponseBody
-    public Map<String, Object> getRevenueData() {
-        log.info("Getting detailed revenue data");
+    private Map<String, Object> computeRevenueData() {
         Map<String, Object> revenueData = new HashMap<>();
+        DashboardFigures figures = analyticsService.figures(new DashboardPeriods(LocalDate.now()));
 
-        try {
-            List<OrderDto> orders = ordersClient.findAll();
-            List<CustomerDto> customers = customersClient.findAll();
-
-            revenueData.put("monthly", calculateDetailedMonthlyRevenue(orders));
-            revenueData.put("yearly", calculateDetailedYearlyRevenue(orders));
-            revenueData.put("weekly", calculateDetailedWeeklyRevenue(orders));
-            revenueData.put("averageOrderValue", calculateAverageOrderValue(orders));
-            revenueData.put("totalOrders", calculateTotalOrders(orders));
-            revenueData.put("contributingCustomers", calculateContributingCustomers(orders, customers));
-            revenueData.put("channelBreakdown", calculateRevenueByChannel(orders));
-
-            log.info("Detailed revenue data prepared successfully");
-        } catch (Exception e) {
-            log.error("Error preparing detailed revenue data", e);
-        }
+        revenueData.put("monthly", figures.monthSales().revenue());
+        revenueData.put("yearly", figures.yearSales().revenue());
+        revenueData.put("weekly", figures.weekSales().revenue());
+        revenueData.put("averageOrderValue", figures.monthSales().averageRevenue());
+        revenueData.put("totalOrders", figures.monthOrders());
+        revenueData.put("contributingCustomers", figures.monthCustomers());
+        revenueData.put("channelBreakdown", calculateRevenueByChannel(figures.monthChannels()));
 
+        log.info("Detailed revenue data prepared successfully");
         return revenueData;
     }
 
@@ -208,118 +294,34 @@ public class DashboardController {
         }
     }
 
-    // Helper methods for enhanced analytics
+    // Helper methods for enhanced analytics. Order figures come from DashboardFigures, whose
+    // periods are whole days up to and including today (see DashboardPeriods).
 
-    private Map<String, Object> calculateMonthlyProfit(List<OrderDto> orders) {
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        log.info("calculateMonthlyProfit startOfMonth: {}",startOfMonth);
-
-        double currentMonthProfit = orders.stream()
-                .filter(order -> order.getCreatedAt().isAfter(startOfMonth))
-                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
-                .filter(order -> order.getOrderType() == OrderType.SALE)
-                .flatMap(order -> order.getOrderItems().stream())
-                .mapToDouble(item -> {
-                    double profit = item.getPriceAtOrderTime() - item.getProductDto().getActualPrice();
-                    return profit * item.getQuantity();
-                })
-                .sum();
-        log.info("currentMonthProfit: {}",currentMonthProfit);
-        // Calculate previous month for comparison
-        LocalDateTime startOfPrevMonth = startOfMonth.minusMonths(1);
-        LocalDateTime endOfPrevMonth = startOfMonth.minusDays(1);
-
-        double prevMonthProfit = orders.stream()
-                .filter(order -> order.getCreatedAt().isAfter(startOfPrevMonth)
-                        && order.getCreatedAt().isBefore(endOfPrevMonth))
-                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
-                .filter(order -> order.getOrderType() == OrderType.SALE)
-                .flatMap(order -> order.getOrderItems().stream())
-                .mapToDouble(item -> {
-                    double profit = item.getPriceAtOrderTime() - item.getProductDto().getActualPrice();
-                    return profit * item.getQuantity();
-                })
-                .sum();
-            log.info("prevMonthProfit: {}",prevMonthProfit);
-
-        double percentageChange = prevMonthProfit != 0 ?
-                ((currentMonthProfit - prevMonthProfit) / prevMonthProfit) * 100 : 0;
-        log.info("percentageChange: {}",percentageChange);
+    private static Map<String, Object> comparedToPrevious(double current, double previous) {
+        double percentageChange = previous != 0 ? ((current - previous) / previous) * 100 : 0;
 
         Map<String, Object> result = new HashMap<>();
-        result.put("amount", currentMonthProfit);
+        result.put("amount", current);
         result.put("percentageChange", percentageChange);
         result.put("isIncrease", percentageChange >= 0);
-        log.info("result: {}",result);
         return result;
     }
 
-    private Map<String, Object> calculateMonthlyRevenue(List<OrderDto> orders) {
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        log.info("calculateMonthlyRevenue startOfMonth: {}",startOfMonth);
-
-        double currentMonthRevenue = orders.stream()
-                .filter(order -> order.getCreatedAt().isAfter(startOfMonth))
-                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
-                .filter(order -> order.getOrderType() == OrderType.SALE)
-                .mapToDouble(OrderDto::getTotalPrice)
-                .sum();
-        log.info("CurrentMonthRevenue: {}",currentMonthRevenue);
-
-        // Calculate previous month for comparison
-        LocalDateTime startOfPrevMonth = startOfMonth.minusMonths(1);
-        LocalDateTime endOfPrevMonth = startOfMonth.minusDays(1);
-
-        double prevMonthRevenue = orders.stream()
-                .filter(order -> order.getCreatedAt().isAfter(startOfPrevMonth)
-                        && order.getCreatedAt().isBefore(endOfPrevMonth))
-                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
-                .filter(order -> order.getOrderType() == OrderType.SALE)
-                .mapToDouble(OrderDto::getTotalPrice)
-                .sum();
-
-        log.info("prevMonthRevenue: {}",prevMonthRevenue);
-
-
-        double percentageChange = prevMonthRevenue != 0 ?
-                ((currentMonthRevenue - prevMonthRevenue) / prevMonthRevenue) * 100 : 0;
-
-        log.info("percentageChange: {}",percentageChange);
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("amount", currentMonthRevenue);
-        result.put("percentageChange", percentageChange);
-        result.put("isIncrease", percentageChange >= 0);
-
-        log.info("result: {}",result);
-        return result;
+    private Map<String, Object> calculateMonthlyProfit(DashboardFigures figures) {
+        // Previous month for comparison
+        return comparedToPrevious(figures.monthSales().profit(), figures.previousMonthSales().profit());
     }
 
-    private Map<String, Object> calculateMonthlyOrders(List<OrderDto> orders) {
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        log.info("calculateMonthlyOrders startOfMonth: {}",startOfMonth);
-
-        long currentMonthOrders = orders.stream()
-                .filter(order -> order.getCreatedAt().isAfter(startOfMonth))
-                .filter(order -> order.getOrderType() == OrderType.SALE)
-                .count();
-
-        log.info("currentMonthOrders: {}",currentMonthOrders);
-
-        // Calculate new orders this week
-        LocalDateTime startOfWeek = LocalDateTime.now().minusDays(7);
-        long newOrdersThisWeek = orders.stream()
-                .filter(order -> order.getCreatedAt().isAfter(startOfWeek))
-                .filter(order -> order.getOrderType() == OrderType.SALE)
-                .count();
-
-        log.info("newOrdersThisWeek: {}",newOrdersThisWeek);
+    private Map<String, Object> calculateMonthlyRevenue(DashboardFigures figures) {
+        // Previous month for comparison
+        return comparedToPrevious(figures.monthSales().revenue(), figures.previousMonthSales().revenue());
+    }
 
+    private Map<String, Object> calculateMonthlyOrders(DashboardFigures figures) {
+        // Sale orders in any status
         Map<String, Object> result = new HashMap<>();
-        result.put("count", currentMonthOrders);
-        result.put("newOrders", newOrdersThisWeek);
-        log.info("result: {}",result);
-
+        result.put("count", figures.monthOrders());
+        result.put("newOrders", figures.weekOrders());
         return result;
     }
 
@@ -621,35 +623,46 @@ public class DashboardController {
         return data;
     }
 
-    private Map<String, Object> getSalesTrendData(List<OrderDto> orders) {
+    private Map<String, Object> getCategoryProfitData(DashboardFigures figures,
+                                                      List<ProductDto> products, List<ProductCategoryDto> categories) {
+        // Realized profit of completed sales per category, when order items carry their category
+        List<OrderAnalytics.ItemTotals> categoryTotals = figures.categoryProfit();
+        if (categoryTotals.isEmpty()) {
+            return getCategoryProfitData(products, categories);
+        }
+
         Map<String, Object> data = new HashMap<>();
+        List<String> labels = categoryTotals.stream().map(OrderAnalytics.ItemTotals::name).collect(Collectors.toList());
+        data.put("labels", labels);
+        data.put("data", categoryTotals.stream().map(OrderAnalytics.ItemTotals::profit).collect(Collectors.toList()));
+        data.put("colors", labels.stream().map(this::getCategoryColor).collect(Collectors.toList()));
+        return data;
+    }
 
-        // Filter only SALE orders for sales trend
-        List<OrderDto> salesOrders = orders.stream()
-                .filter(order -> order.getOrderType() == OrderType.SALE)
-                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
-                .collect(Collectors.toList());
+    private Map<String, Object> getSalesTrendData(DashboardFigures figures) {
+        Map<String, Object> data = new HashMap<>();
 
-        // Weekly data (last 7 days)
+        // Completed SALE orders only. Weekly data: each of the last 7 days
         Map<String, Object> weekData = new HashMap<>();
-        List<String> weekLabels = Arrays.asList("Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun");
-        List<Double> weekSales = calculateWeeklySales(salesOrders);
+        List<String> weekLabels = new ArrayList<>();
+        for (int i = 0; i < DashboardPeriods.TREND_DAYS; i++) {
+            LocalDate day = figures.periods().weekStart().plusDays(i);
+            weekLabels.add(day.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.ENGLISH));
+        }
         weekData.put("labels", weekLabels);
-        weekData.put("data", weekSales);
+        weekData.put("data", Arrays.stream(figures.dailySales()).boxed().collect(Collectors.toList()));
 
-        // Monthly data (last 4 weeks)
+        // Monthly data: the last 4 seven-day windows
         Map<String, Object> monthData = new HashMap<>();
         List<String> monthLabels = Arrays.asList("Week 1", "Week 2", "Week 3", "Week 4");
-        List<Double> monthSales = calculateMonthlySales(salesOrders);
         monthData.put("labels", monthLabels);
-        monthData.put("data", monthSales);
+        monthData.put("data", Arrays.stream(figures.weeklySales()).boxed().collect(Collectors.toList()));
 
-        // Yearly data (last 4 quarters)
+        // Yearly data: 3-month windows starting 9, 6, 3 and 0 months before the current month
         Map<String, Object> yearData = new HashMap<>();
         List<String> yearLabels = Arrays.asList("Q1", "Q2", "Q3", "Q4");
-        List<Double> yearSales = calculateYearlySales(salesOrders);
         yearData.put("labels", yearLabels);
-        yearData.put("data", yearSales);
+        yearData.put("data", Arrays.stream(figures.quarterlySales()).boxed().collect(Collectors.toList()));
 
         data.put("week", weekData);
         data.put("month", monthData);
@@ -659,7 +672,7 @@ public class DashboardController {
     }
 
     // New chart data methods
-    private Map<String, Object> getInventoryTurnoverData(List<ProductDto> products, List<OrderDto> orders) {
+    private Map<String, Object> getInventoryTurnoverData(List<ProductDto> products) {
         Map<String, Object> data = new HashMap<>();
 
         // Calculate inventory turnover for products with sales
@@ -691,19 +704,12 @@ public class DashboardController {
         return data;
     }
 
-    private Map<String, Object> getOrdersByChannelData(List<OrderDto> orders) {
+    private Map<String, Object> getOrdersByChannelData(DashboardFigures figures) {
         Map<String, Object> data = new HashMap<>();
 
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-
-        Map<String, Long> channelOrders = orders.stream()
-                .filter(order -> order.getCreatedAt().isAfter(startOfMonth))
-                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
-                .filter(order -> order.getOrderType() == OrderType.SALE)
-                .collect(Collectors.groupingBy(
-                        order -> getChannelNameFromPaymentType(order.getPaymentType()),
-                        Collectors.counting()
-                ));
+        Map<String, Long> channelOrders = new LinkedHashMap<>();
+        figures.monthChannels().forEach((paymentType, totals) ->
+                        channelOrders.merge(getChannelNameFromPaymentType(paymentType), totals.orders(), Long::sum));
 
         if (channelOrders.isEmpty()) {
             data.put("labels", new ArrayList<>());
@@ -736,205 +742,45 @@ public class DashboardController {
         }
     }
 
-    // Additional helper methods for profit calculation with real data
-    private List<Map<String, Object>> getTopProfitableProductsForPeriod(List<OrderDto> orders, List<ProductDto> products, LocalDateTime startDate) {
-        Map<String, Double> productProfits = orders.stream()
-                .filter(order -> order.getCreatedAt().isAfter(startDate))
-                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
-                .filter(order -> order.getOrderType() == OrderType.SALE)
-                .flatMap(order -> order.getOrderItems().stream())
-                .collect(Collectors.groupingBy(
-                        item -> item.getProductDto().getName(),
-                        Collectors.summingDouble(item -> {
-                            double profit = item.getPriceAtOrderTime() - item.getProductDto().getActualPrice();
-                            return profit * item.getQuantity();
-                        })
-                ));
-
-        if (productProfits.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        return productProfits.entrySet().stream()
-                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
-                .limit(5)
-                .map(entry -> {
-                    Map<String, Object> productData = new HashMap<>();
-                    productData.put("name", entry.getKey());
-                    productData.put("profit", entry.getValue());
-
-                    double totalProfit = productProfits.values().stream().mapToDouble(Double::doubleValue).sum();
-                    double percentage = totalProfit > 0 ? (entry.getValue() / totalProfit) * 100 : 0;
-                    productData.put("percentage", percentage);
-
-                    return productData;
-                })
-                .collect(Collectors.toList());
-    }
-
-    private Map<String, Object> calculateWeeklyProfitData(List<OrderDto> orders, List<ProductDto> products) {
+    // Profit figures for the profit modal
+    private Map<String, Object> calculateProfitData(OrderAnalytics.Totals sales, DashboardFigures.TopProducts topProducts, String period) {
         Map<String, Object> data = new HashMap<>();
-        LocalDateTime startOfWeek = LocalDateTime.now().minusDays(7);
-
-        double weekProfit = orders.stream()
-                .filter(order -> order.getCreatedAt().isAfter(startOfWeek))
-                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
-                .filter(order -> order.getOrderType() == OrderType.SALE)
-                .flatMap(order -> order.getOrderItems().stream())
-                .mapToDouble(item -> {
-                    double profit = item.getPriceAtOrderTime() - item.getProductDto().getActualPrice();
-                    return profit * item.getQuantity();
-                })
-                .sum();
-
-        data.put("totalProfit", weekProfit);
-        data.put("period", "Week");
-        data.put("topProducts", getTopProfitableProductsForPeriod(orders, products, startOfWeek));
-
+        data.put("totalProfit", sales.profit());
+        data.put("period", period);
+        data.put("topProducts", getTopProfitableProductsForPeriod(topProducts));
         return data;
     }
 
-    private Map<String, Object> calculateYearlyProfitData(List<OrderDto> orders, List<ProductDto> products) {
-        Map<String, Object> data = new HashMap<>();
-        LocalDateTime startOfYear = LocalDateTime.now().withDayOfYear(1).withHour(0).withMinute(0).withSecond(0);
-
-        double yearProfit = orders.stream()
-                .filter(order -> order.getCreatedAt().isAfter(startOfYear))
-                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
-                .filter(order -> order.getOrderType() == OrderType.SALE)
-                .flatMap(order -> order.getOrderItems().stream())
-                .mapToDouble(item -> {
-                    double profit = item.getPriceAtOrderTime() - item.getProductDto().getActualPrice();
-                    return profit * item.getQuantity();
-                })
-                .sum();
-
-        data.put("totalProfit", yearProfit);
-        data.put("period", "Year");
-        data.put("topProducts", getTopProfitableProductsForPeriod(orders, products, startOfYear));
+    private List<Map<String, Object>> getTopProfitableProductsForPeriod(DashboardFigures.TopProducts topProducts) {
+        double totalProfit = topProducts.totalProfit();
+        return topProducts.products().stream()
+                .map(product -> {
+                    Map<String, Object> productData = new HashMap<>();
+                    productData.put("name", product.name());
+                    productData.put("profit", product.profit());
 
-        return data;
-    }
+                    double percentage = totalProfit > 0 ? (product.profit() / totalProfit) * 100 : 0;
+                    productData.put("percentage", percentage);
 
-    private Map<String, Object> calculateMonthlyProfitData(List<OrderDto> orders, List<ProductDto> products) {
-        Map<String, Object> data = new HashMap<>();
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-
-        double monthProfit = orders.stream()
-                .filter(order -> order.getCreatedAt().isAfter(startOfMonth))
-                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
-                .filter(order -> order.getOrderType() == OrderType.SALE)
-                .flatMap(order -> order.getOrderItems().stream())
-                .mapToDouble(item -> {
-                    double profit = item.getPriceAtOrderTime() - item.getProductDto().getActualPrice();
-                    return profit * item.getQuantity();
+                    return productData;
                 })
-                .sum();
-
-        data.put("totalProfit", monthProfit);
-        data.put("period", "Month");
-        data.put("topProducts", getTopProfitableProductsForPeriod(orders, products, startOfMonth));
-
-        return data;
-    }
-
-    // Revenue calculation methods
-    private double calculateDetailedMonthlyRevenue(List<OrderDto> orders) {
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-
-        return orders.stream()
-                .filter(order -> order.getCreatedAt().isAfter(startOfMonth))
-                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
-                .filter(order -> order.getOrderType() == OrderType.SALE)
-                .mapToDouble(OrderDto::getTotalPrice)
-                .sum();
-    }
-
-    private double calculateDetailedYearlyRevenue(List<OrderDto> orders) {
-        LocalDateTime startOfYear = LocalDateTime.now().withDayOfYear(1).withHour(0).withMinute(0).withSecond(0);
-
-        return orders.stream()
-                .filter(order -> order.getCreatedAt().isAfter(startOfYear))
-                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
-                .filter(order -> order.getOrderType() == OrderType.SALE)
-                .mapToDouble(OrderDto::getTotalPrice)
-                .sum();
-    }
-
-    private double calculateDetailedWeeklyRevenue(List<OrderDto> orders) {
-        LocalDateTime startOfWeek = LocalDateTime.now().minusDays(7);
-
-        return orders.stream()
-                .filter(order -> order.getCreatedAt().isAfter(startOfWeek))
-                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
-                .filter(order -> order.getOrderType() == OrderType.SALE)
-                .mapToDouble(OrderDto::getTotalPrice)
-                .sum();
-    }
-
-    private double calculateAverageOrderValue(List<OrderDto> orders) {
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-
-        List<OrderDto> monthlyOrders = orders.stream()
-                .filter(order -> order.getCreatedAt().isAfter(startOfMonth))
-                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
-                .filter(order -> order.getOrderType() == OrderType.SALE)
                 .collect(Collectors.toList());
-
-        if (monthlyOrders.isEmpty()) {
-            return 0.0;
-        }
-
-        double totalRevenue = monthlyOrders.stream().mapToDouble(OrderDto::getTotalPrice).sum();
-        return totalRevenue / monthlyOrders.size();
     }
 
-    private long calculateTotalOrders(List<OrderDto> orders) {
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-
-        return orders.stream()
-                .filter(order -> order.getCreatedAt().isAfter(startOfMonth))
-                .filter(order -> order.getOrderType() == OrderType.SALE)
-                .count();
-    }
-
-    private long calculateContributingCustomers(List<OrderDto> orders, List<CustomerDto> customers) {
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-
-        Set<Long> customerIds = orders.stream()
-                .filter(order -> order.getCreatedAt().isAfter(startOfMonth))
-                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
-                .filter(order -> order.getOrderType() == OrderType.SALE)
-                .map(order -> order.getCustomer().getCustomerId())
-                .collect(Collectors.toSet());
-
-        return customerIds.size();
-    }
-
-    private List<Map<String, Object>> calculateRevenueByChannel(List<OrderDto> orders) {
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-
-        // Group orders by payment type as a proxy for channel
-        Map<PaymentType, Double> paymentTypeRevenue = orders.stream()
-                .filter(order -> order.getCreatedAt().isAfter(startOfMonth))
-                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
-                .filter(order -> order.getOrderType() == OrderType.SALE)
-                .collect(Collectors.groupingBy(
-                        OrderDto::getPaymentType,
-                        Collectors.summingDouble(OrderDto::getTotalPrice)
-                ));
+    private List<Map<String, Object>> calculateRevenueByChannel(Map<PaymentType, OrderAnalytics.Totals> paymentTypeTotals) {
+        // Orders grouped by payment type as a proxy for channel
 
-        double totalRevenue = paymentTypeRevenue.values().stream().mapToDouble(Double::doubleValue).sum();
+        double totalRevenue = paymentTypeTotals.values().stream().mapToDouble(OrderAnalytics.Totals::revenue).sum();
 
         List<Map<String, Object>> channelData = new ArrayList<>();
 
-        paymentTypeRevenue.forEach((paymentType, revenue) -> {
+        paymentTypeTotals.forEach((paymentType, totals) -> {
             Map<String, Object> channelInfo = new HashMap<>();
             String channelName = getChannelNameFromPaymentType(paymentType);
             channelInfo.put("channel", channelName);
-            channelInfo.put("revenue", revenue);
+            channelInfo.put("revenue", totals.revenue());
 
-            double percentage = totalRevenue > 0 ? (revenue / totalRevenue) * 100 : 0;
+            double percentage = totalRevenue > 0 ? (totals.revenue() / totalRevenue) * 100 : 0;
             channelInfo.put("percentage", percentage);
 
             channelData.add(channelInfo);
@@ -955,68 +801,4 @@ public class DashboardController {
                 return "Other";
         }
     }
-
-    // Sales trend calculation methods with real data
-    private List<Double> calculateWeeklySales(List<OrderDto> orders) {
-        LocalDateTime now = LocalDateTime.now();
-        List<Double> weeklySales = new ArrayList<>();
-
-        for (int i = 6; i >= 0; i--) {
-            LocalDateTime dayStart = now.minusDays(i).withHour(0).withMinute(0).withSecond(0);
-            LocalDateTime dayEnd = dayStart.plusDays(1);
-
-            double daySales = orders.stream()
-                    .filter(order -> order.getCreatedAt().isAfter(dayStart)
-                            && order.getCreatedAt().isBefore(dayEnd))
-                    .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
-                    .mapToDouble(OrderDto::getTotalPrice)
-                    .sum();
-
-            weeklySales.add(daySales);
-        }
-
-        return weeklySales;
-    }
-
-    private List<Double> calculateMonthlySales(List<OrderDto> orders) {
-        LocalDateTime now = LocalDateTime.now();
-        List<Double> monthlySales = new ArrayList<>();
-
-        for (int week = 3; week >= 0; week--) {
-            LocalDateTime weekStart = now.minusWeeks(week).withHour(0).withMinute(0).withSecond(0);
-            LocalDateTime weekEnd = weekStart.plusWeeks(1);
-
-            double weekSales = orders.stream()
-                    .filter(order -> order.getCreatedAt().isAfter(weekStart)
-                            && order.getCreatedAt().isBefore(weekEnd))
-                    .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
-                    .mapToDouble(OrderDto::getTotalPrice)
-                    .sum();
-
-            monthlySales.add(weekSales);
-        }
-
-        return monthlySales;
-    }
-
-    private List<Double> calculateYearlySales(List<OrderDto> orders) {
-        LocalDateTime now = LocalDateTime.now();
-        List<Double> yearlySales = new ArrayList<>();
-
-        for (int quarter = 3; quarter >= 0; quarter--) {
-            LocalDateTime quarterStart = now.minusMonths(quarter * 3L).withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-            LocalDateTime quarterEnd = quarterStart.plusMonths(3);
-
-            double quarterSales = orders.stream()
-                    .filter(order -> order.getCreatedAt().isAfter(quarterStart)
-                            && order.getCreatedAt().isBefore(quarterEnd))
-                    .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
-                    .mapToDouble(OrderDto::getTotalPrice)
-                    .sum();
-
-            yearlySales.add(quarterSales);
-        }
-
-        return yearlySales;
-    }
-}
\ No newline at end of file
+}
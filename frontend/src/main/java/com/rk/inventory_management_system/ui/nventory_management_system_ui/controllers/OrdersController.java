@@ -2,19 +2,31 @@
 package com.rk.inventory_management_system.ui.nventory_management_system_ui.controllers;
 
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.*;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.StreamingGetClient;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.*;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderSort;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderStatus;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderType;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.productDtos.ProductResponseDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.productDtos.ProductStockBatchDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.supplierDtos.SupplierResponseDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.BulkOrderJob;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.BulkOrderService;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.CsvExporter;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.FanOut;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.FanOutScope;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.utils.CsvRowEncoder;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.time.LocalDateTime;
@@ -33,76 +45,56 @@ public class OrdersController {
     private final SuppliersClient suppliersClient;
     private final OrderItemClient orderItemClient; // Add OrderItemClient
     private final CategoriesClient categoriesClient;
+    private final FanOut fanOut;
+    private final BulkOrderService bulkOrderService;
+    private final CsvExporter csvExporter;
 
     @GetMapping
     public String list(@RequestParam(required = false) String search,
                        @RequestParam(required = false) String status,
                        @RequestParam(required = false) String type,
+                       @RequestParam(required = false) String sort,
+                       @RequestParam(defaultValue = "0") int page,
+                       @RequestParam(defaultValue = "0") int size,
+                       @RequestParam(required = false) String cursor,
                        Model model) {
+        OrderPageQuery query = OrderPageQuery.builder()
+                .search(search)
+                .status(status)
+                .type(type)
+                .sort(OrderSort.fromParam(sort))
+                .page(page)
+                .size(size)
+                .cursor(cursor)
+                .build();
+        model.addAttribute("search", search);
+        model.addAttribute("status", status);
+        model.addAttribute("type", type);
+        model.addAttribute("sort", query.getSort().getParam());
+        model.addAttribute("filtersActive", query.hasFilters());
+
         try {
-            List<OrderDto> allOrders = ordersClient.findAll();
-
-            // Apply filters
-            List<OrderDto> filteredOrders = allOrders.stream()
-                    .filter(order -> {
-                        // Search filter
-                        if (search != null && !search.trim().isEmpty()) {
-                            String searchLower = search.toLowerCase();
-                            return order.getOrderId().toString().contains(search) ||
-                                    (order.getCustomer() != null && order.getCustomer().getName() != null &&
-                                            order.getCustomer().getName().toLowerCase().contains(searchLower)) ||
-                                    (order.getCustomer() != null && order.getCustomer().getEmail() != null &&
-                                            order.getCustomer().getEmail().toLowerCase().contains(searchLower));
-                        }
-                        return true;
-                    })
-                    .filter(order -> {
-                        // Status filter
-                        if (status != null && !status.trim().isEmpty()) {
-                            return order.getOrderStatus() != null && order.getOrderStatus().name().equals(status);
-                        }
-                        return true;
-                    })
-                    .filter(order -> {
-                        // Type filter
-                        if (type != null && !type.trim().isEmpty()) {
-                            return order.getOrderType() != null && order.getOrderType().name().equals(type);
-                        }
-                        return true;
-                    })
-                    .collect(Collectors.toList());
-
-            // Sort by order date (newest first)
-            filteredOrders.sort((o1, o2) -> {
-                if (o1.getCreatedAt() == null && o2.getCreatedAt() == null) return 0;
-                if (o1.getCreatedAt() == null) return 1;
-                if (o2.getCreatedAt() == null) return -1;
-                return o2.getCreatedAt().compareTo(o1.getCreatedAt());
-            });
-
-            // Add all filtered orders to model
-            model.addAttribute("orders", filteredOrders);
-            model.addAttribute("totalOrders", filteredOrders.size());
-
-            // Calculate counts for statistics cards using all orders (not filtered for accurate stats)
-            long pendingCount = allOrders.stream()
-                    .filter(o -> o.getOrderStatus() != null && o.getOrderStatus().name().equals("CREATED"))
-                    .count();
-
-            long processingCount = allOrders.stream()
-                    .filter(o -> o.getOrderStatus() != null && o.getOrderStatus().name().equals("PROCESSING"))
-                    .count();
-
-            long completedCount = allOrders.stream()
-                    .filter(o -> o.getOrderStatus() != null && o.getOrderStatus().name().equals("COMPLETED"))
-                    .count();
-
-            model.addAttribute("pendingCount", pendingCount);
-            model.addAttribute("processingCount", processingCount);
-            model.addAttribute("completedCount", completedCount);
-
-            // Enhanced Analytics
-            calculateAndAddAnalytics(allOrders, model);
+            // Only the requested page is rendered; counters and analytics come from an aggregate
+            OrderPageDto orderPage;
+            OrderSummaryDto summary;
+            try (FanOutScope scope = fanOut.open()) {
+                FanOutScope.Subtask<OrderPageDto> pageTask = scope.fork("page", () -> ordersClient.findPage(query));
+                FanOutScope.Subtask<OrderSummaryDto> summaryTask = scope.fork("summary", this::fetchSummary);
+                scope.join();
+                orderPage = pageTask.get();
+                summary = summaryTask.get();
+            }
+
+            model.addAttribute("orders", orderPage.getContent());
+            model.addAttribute("orderPage", orderPage);
+            model.addAttribute("totalOrders", orderPage.getTotalElements());
+
+            if (summary == null) {
+                setDefaultAnalytics(model);
+                model.addAttribute("totalOrders", orderPage.getTotalElements());
+            } else {
+                addAnalytics(summary, model);
+            }
 
         } catch (Exception e) {
             log.error("Error loading orders", e);
@@ -116,82 +108,33 @@ public class OrdersController {
         return "orders/list";
     }
 
-    private void calculateAndAddAnalytics(List<OrderDto> orders, Model model) {
+    // The list still renders without analytics if they can't be loaded
+    private OrderSummaryDto fetchSummary() {
         try {
-            // Calculate total revenue from completed orders
-            double totalRevenue = orders.stream()
-                    .filter(o -> o.getOrderStatus() != null &&
-                            o.getOrderStatus().name().equals("COMPLETED") &&
-                            o.getTotalPrice() != null)
-                    .mapToDouble(OrderDto::getTotalPrice)
-                    .sum();
-            model.addAttribute("totalRevenue", totalRevenue);
-
-            // Calculate average order value
-            double avgOrderValue = orders.isEmpty() ? 0.0 :
-                    orders.stream()
-                            .filter(o -> o.getTotalPrice() != null)
-                            .mapToDouble(OrderDto::getTotalPrice)
-                            .average()
-                            .orElse(0.0);
-            model.addAttribute("avgOrderValue", avgOrderValue);
-
-            // Count orders this month
-            LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-            long ordersThisMonth = orders.stream()
-                    .filter(o -> o.getCreatedAt() != null && o.getCreatedAt().isAfter(startOfMonth))
-                    .count();
-            model.addAttribute("ordersThisMonth", ordersThisMonth);
-
-            // Calculate processing efficiency
-            long totalOrdersProcessed = orders.stream()
-                    .filter(o -> o.getOrderStatus() != null &&
-                            (o.getOrderStatus().name().equals("COMPLETED") ||
-                                    o.getOrderStatus().name().equals("PROCESSING")))
-                    .count();
-
-            double processingEfficiency = orders.isEmpty() ? 0.0 :
-                    (double) totalOrdersProcessed / orders.size() * 100;
-            model.addAttribute("processingEfficiency", processingEfficiency);
-
-            // Revenue by order type
-            Map<String, Double> revenueByType = orders.stream()
-                    .filter(o -> o.getOrderStatus() != null &&
-                            o.getOrderStatus().name().equals("COMPLETED") &&
-                            o.getTotalPrice() != null &&
-                            o.getOrderType() != null)
-                    .collect(Collectors.groupingBy(
-                            o -> o.getOrderType().name(),
-                            Collectors.summingDouble(OrderDto::getTotalPrice)
-                    ));
-            model.addAttribute("revenueByType", revenueByType);
-
-            // Most valuable customers
-            List<CustomerRevenueDto> topCustomers = orders.stream()
-                    .filter(o -> o.getOrderStatus() != null &&
-                            o.getOrderStatus().name().equals("COMPLETED") &&
-                            o.getTotalPrice() != null &&
-                            o.getCustomer() != null)
-                    .collect(Collectors.groupingBy(
-                            o -> o.getCustomer().getName(),
-                            Collectors.summingDouble(OrderDto::getTotalPrice)
-                    ))
-                    .entrySet().stream()
-                    .map(entry -> new CustomerRevenueDto(entry.getKey(), entry.getValue()))
-                    .sorted((a, b) -> Double.compare(b.getRevenue(), a.getRevenue()))
-                    .limit(5)
-                    .collect(Collectors.toList());
-            model.addAttribute("topCustomers", topCustomers);
-
-            log.info("Successfully calculated analytics - Total Revenue: {}, Avg Order Value: {}, Orders This Month: {}",
-                    totalRevenue, avgOrderValue, ordersThisMonth);
-
+            return ordersClient.summary();
         } catch (Exception e) {
-            log.warn("Error calculating analytics", e);
-            setDefaultAnalytics(model);
+            log.warn("Could not load order analytics: {}", e.getMessage());
+            return null;
         }
     }
 
+    private void addAnalytics(OrderSummaryDto summary, Model model) {
+        model.addAttribute("pendingCount", summary.countOf("CREATED"));
+        model.addAttribute("processingCount", summary.countOf("PROCESSING"));
+        model.addAttribute("completedCount", summary.countOf("COMPLETED"));
+        model.addAttribute("totalRevenue", summary.getTotalRevenue());
+        model.addAttribute("avgOrderValue", summary.getAvgOrderValue());
+        model.addAttribute("ordersThisMonth", summary.getOrdersThisMonth());
+        model.addAttribute("processingEfficiency", summary.getProcessingEfficiency());
+        model.addAttribute("revenueByType", summary.getRevenueByType() != null ? summary.getRevenueByType() : Collections.emptyMap());
+
+        List<CustomerRevenueDto> topCustomers = new ArrayList<>();
+        if (summary.getTopCustomers() != null) {
+            summary.getTopCustomers().forEach((name, revenue) -> topCustomers.add(new CustomerRevenueDto(name, revenue)));
+        }
+        model.addAttribute("topCustomers", topCustomers);
+    }
+
     private void setDefaultAnalytics(Model model) {
         model.addAttribute("totalOrders", 0);
         model.addAttribute("pendingCount", 0);
@@ -232,6 +175,61 @@ public class OrdersController {
         return "orders/list-by-customer";
     }
 
+    /**
+     * One row per order item, with the order's columns repeated; orders without items get a
+     * single row with the item columns left empty
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        try {
+            // Read from the backend as rows are written, not loaded first: exports can be huge
+            StreamingGetClient.Elements<OrderDto> orders = ordersClient.streamAll();
+
+            return csvExporter.export("orders",
+                    new String[]{"Order ID", "Type", "Status", "Payment", "Created At", "Customer", "Customer Email",
+                            "Supplier", "Order Total", "Item ID", "Product ID", "Product Code", "Product Name",
+                            "Quantity", "Unit Price", "Line Total"},
+                    orders,
+                    (order, csv) -> {
+                        List<OrderItemDto> items = order.getOrderItems();
+                        if (items == null || items.isEmpty()) {
+                            writeOrderColumns(order, csv);
+                            csv.blank(7).endRow();
+                            return;
+                        }
+                        for (OrderItemDto item : items) {
+                            ProductDto product = item.getProductDto();
+                            writeOrderColumns(order, csv);
+                            csv.number(item.getOrderItemId())
+                                    .number(product != null ? product.getProductId() : null)
+                                    .text(product != null ? product.getProductCode() : null)
+                                    .text(product != null ? product.getName() : null)
+                                    .number(item.getQuantity())
+                                    .money(item.getPriceAtOrderTime())
+                                    .money(item.getPriceAtOrderTime() != null && item.getQuantity() != null
+                                            ? item.getPriceAtOrderTime() * item.getQuantity() : null)
+                                    .endRow();
+                        }
+                    });
+
+        } catch (Exception e) {
+            log.error("Error exporting orders", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    private static void writeOrderColumns(OrderDto order, CsvRowEncoder csv) {
+        csv.number(order.getOrderId())
+                .value(order.getOrderType())
+                .value(order.getOrderStatus())
+                .value(order.getPaymentType())
+                .value(order.getCreatedAt())
+                .text(order.getCustomer() != null ? order.getCustomer().getName() : null)
+                .text(order.getCustomer() != null ? order.getCustomer().getEmail() : null)
+                .text(order.getSupplier() != null ? order.getSupplier().getName() : null)
+                .money(order.getTotalPrice());
+    }
+
     // Sales Order Routes
     @GetMapping("/sales/create")
     public String createSalesOrderForm(@RequestParam(required = false) Long customerId, Model model) {
@@ -239,9 +237,7 @@ public class OrdersController {
         order.setOrderType(OrderType.SALE); // Set the order type
 
         model.addAttribute("order", order);
-        model.addAttribute("products", productsClient.findAll());
-        model.addAttribute("customers", customersClient.findAll());
-        model.addAttribute("categories", categoriesClient.findAll());
+        addFormData(model, true, false);
 
         if (customerId != null) {
             model.addAttribute("selectedCustomerId", customerId);
@@ -261,9 +257,7 @@ public class OrdersController {
 
         if (result.hasErrors()) {
             model.addAttribute("order", order);
-            model.addAttribute("customers", customersClient.findAll());
-            model.addAttribute("products", productsClient.findAll());
-            model.addAttribute("categories", categoriesClient.findAll());
+            addFormData(model, true, false);
             return "orders/sales/create";
         }
 
@@ -284,9 +278,7 @@ public class OrdersController {
             }
 
             model.addAttribute("order", order);
-            model.addAttribute("customers", customersClient.findAll());
-            model.addAttribute("products", productsClient.findAll());
-            model.addAttribute("categories", categoriesClient.findAll());
+            addFormData(model, true, false);
             return "orders/sales/create";
         }
     }
@@ -301,9 +293,7 @@ public class OrdersController {
         order.setOrderType(OrderType.PURCHASE); // Set the order type
 
         model.addAttribute("order", order);
-        model.addAttribute("products", productsClient.findAll());
-        model.addAttribute("suppliers", suppliersClient.findAll());
-        model.addAttribute("categories", categoriesClient.findAll());
+        addFormData(model, false, true);
 
         if (supplierId != null) {
             model.addAttribute("selectedSupplierId", supplierId);
@@ -323,9 +313,7 @@ public class OrdersController {
 
         if (result.hasErrors()) {
             model.addAttribute("order", order);
-            model.addAttribute("suppliers", suppliersClient.findAll());
-            model.addAttribute("products", productsClient.findAll());
-            model.addAttribute("categories", categoriesClient.findAll());
+            addFormData(model, false, true);
             return "orders/purchase/create";
         }
 
@@ -340,9 +328,7 @@ public class OrdersController {
             log.error("Error creating purchase order", exception);
             result.rejectValue("orderType", "error.order", "Failed to create purchase order: " + exception.getMessage());
             model.addAttribute("order", order);
-            model.addAttribute("suppliers", suppliersClient.findAll());
-            model.addAttribute("products", productsClient.findAll());
-            model.addAttribute("categories", categoriesClient.findAll());
+            addFormData(model, false, true);
             return "orders/purchase/create";
         }
     }
@@ -457,10 +443,7 @@ public class OrdersController {
     @GetMapping("/create")
     public String createForm(@RequestParam(required = false) Long customerId, Model model) {
         model.addAttribute("order", new OrderDto());
-        model.addAttribute("products", productsClient.findAll());
-        model.addAttribute("customers", customersClient.findAll());
-        model.addAttribute("suppliers", suppliersClient.findAll());
-        model.addAttribute("categories", categoriesClient.findAll());
+        addFormData(model, true, true);
 
         if (customerId != null) {
             model.addAttribute("selectedCustomerId", customerId);
@@ -469,6 +452,26 @@ public class OrdersController {
         return "orders/create";
     }
 
+    // Reference lists for the order forms; the independent lookups run concurrently
+    private void addFormData(Model model, boolean withCustomers, boolean withSuppliers) {
+        try (FanOutScope scope = fanOut.open()) {
+            FanOutScope.Subtask<List<ProductDto>> products = scope.fork("products", productsClient::findAll);
+            FanOutScope.Subtask<List<ProductCategoryDto>> categories = scope.fork("categories", categoriesClient::findAll);
+            FanOutScope.Subtask<List<CustomerDto>> customers = withCustomers ? scope.fork("customers", customersClient::findAll) : null;
+            FanOutScope.Subtask<List<SupplierResponseDto>> suppliers = withSuppliers ? scope.fork("suppliers", suppliersClient::findAll) : null;
+            scope.join();
+
+            model.addAttribute("products", products.get());
+            model.addAttribute("categories", categories.get());
+            if (customers != null) {
+                model.addAttribute("customers", customers.get());
+            }
+            if (suppliers != null) {
+                model.addAttribute("suppliers", suppliers.get());
+            }
+        }
+    }
+
     // Update the existing POST /create method to handle both types based on orderType
     @PostMapping("/create")
     public String create(@ModelAttribute OrderDto order,
@@ -478,10 +481,7 @@ public class OrdersController {
 
         if (result.hasErrors()) {
             model.addAttribute("order", order);
-            model.addAttribute("customers", customersClient.findAll());
-            model.addAttribute("suppliers", suppliersClient.findAll());
-            model.addAttribute("products", productsClient.findAll());
-            model.addAttribute("categories", categoriesClient.findAll());
+            addFormData(model, true, true);
             return "orders/create";
         }
 
@@ -504,10 +504,7 @@ public class OrdersController {
             }
 
             model.addAttribute("order", order);
-            model.addAttribute("customers", customersClient.findAll());
-            model.addAttribute("suppliers", suppliersClient.findAll());
-            model.addAttribute("products", productsClient.findAll());
-            model.addAttribute("categories", categoriesClient.findAll());
+            addFormData(model, true, true);
             return "orders/create";
         }
     }
@@ -515,18 +512,14 @@ public class OrdersController {
     // Add this to your products controller or create a separate REST controller
     @PostMapping("/api/products/stock-status")
     @ResponseBody
-    public ResponseEntity<List<ProductStockResponseDto>> getStockStatus(@RequestBody List<Long> productIds) {
+    public ResponseEntity<ProductStockBatchDto> getStockStatus(@RequestBody List<Long> productIds) {
         try {
-            List<ProductStockResponseDto> stockStatus = new ArrayList<>();
-
-            for (Long productId : productIds) {
-                // Call your backend service to get stock details for this product
-                ProductStockResponseDto stockResponse = productsClient.findProductStockById(productId);
-                if (stockResponse != null) {
-                    stockStatus.add(stockResponse);
-                }
+            // One batched lookup; ids that fail come back in failures instead of sinking the whole check
+            ProductStockBatchDto stockStatus = productsClient.findProductStockByIds(productIds);
+            if (!stockStatus.getFailures().isEmpty()) {
+                log.warn("Stock status unavailable for {} of {} products",
+                        stockStatus.getFailures().size(), productIds.size());
             }
-
             return ResponseEntity.ok(stockStatus);
         } catch (Exception e) {
             log.error("Error fetching stock status", e);
@@ -981,40 +974,32 @@ public class OrdersController {
     // Bulk operations for the orders list page
     @PostMapping("/bulk/cancel")
     @ResponseBody
-    public String bulkCancel(@RequestBody List<Long> orderIds) {
-        try {
-            for (Long orderId : orderIds) {
-                try {
-                    ordersClient.cancel(orderId);
-                } catch (Exception e) {
-                    log.error("Failed to cancel order: " + orderId, e);
-                    // Continue with other orders even if one fails
-                }
-            }
-            return "success";
-        } catch (Exception exception) {
-            log.error("Error bulk cancelling orders", exception);
-            return "error";
-        }
+    public ResponseEntity<BulkOperationDto> bulkCancel(@RequestBody List<Long> orderIds,
+                                                       @RequestParam(defaultValue = "false") boolean background) {
+        return bulkResponse(bulkOrderService.execute(BulkOrderService.Operation.CANCEL, orderIds, background));
     }
 
     @PostMapping("/bulk/process")
     @ResponseBody
-    public String bulkProcess(@RequestBody List<Long> orderIds) {
-        try {
-            for (Long orderId : orderIds) {
-                try {
-                    ordersClient.updateStatus(orderId, "PROCESSING");
-                } catch (Exception e) {
-                    log.error("Failed to process order: " + orderId, e);
-                    // Continue with other orders even if one fails
-                }
-            }
-            return "success";
-        } catch (Exception exception) {
-            log.error("Error bulk processing orders", exception);
-            return "error";
+    public ResponseEntity<BulkOperationDto> bulkProcess(@RequestBody List<Long> orderIds,
+                                                        @RequestParam(defaultValue = "false") boolean background) {
+        return bulkResponse(bulkOrderService.execute(BulkOrderService.Operation.PROCESS, orderIds, background));
+    }
+
+    // Progress of a bulk operation that was moved to the background
+    @GetMapping("/bulk/jobs/{jobId}")
+    @ResponseBody
+    public ResponseEntity<BulkOperationDto> bulkJobStatus(@PathVariable String jobId) {
+        return ResponseEntity.of(bulkOrderService.status(jobId));
+    }
+
+    private ResponseEntity<BulkOperationDto> bulkResponse(BulkOperationDto result) {
+        if (BulkOrderJob.RUNNING.equals(result.getState())) {
+            return ResponseEntity.accepted()
+                    .header(HttpHeaders.LOCATION, "/orders/bulk/jobs/" + result.getJobId())
+                    .body(result);
         }
+        return ResponseEntity.ok(result);
     }
 
     // AJAX endpoint for status updates from the orders list
@@ -5,21 +5,33 @@ import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clien
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.OrdersClient;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.ProductsClient;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.SuppliersClient;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.StreamingGetClient;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.*;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.ProductSort;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.StockBand;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.productDtos.ProductResponseDto;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.supplierDtos.SupplierResponseDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.CsvExporter;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.FanOut;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.FanOutScope;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.ProductCatalog;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.StockLevels;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -36,47 +48,64 @@ public class ProductController {
     private final CategoriesClient categoriesClient;
     private final ProductsClient productsClient;
     private final OrdersClient ordersClient;
+    private final CsvExporter csvExporter;
+    private final ProductCatalog productCatalog;
+    private final StockLevels stockLevels;
+    private final FanOut fanOut;
 
     @GetMapping
-    public String list(Model model) {
+    public String list(@RequestParam(required = false) String search,
+                       @RequestParam(required = false) String prefix,
+                       @RequestParam(required = false) Long category,
+                       @RequestParam(required = false) Long supplier,
+                       @RequestParam(required = false) String stock,
+                       @RequestParam(required = false) String sort,
+                       @RequestParam(defaultValue = "0") int page,
+                       @RequestParam(defaultValue = "0") int size,
+                       Model model) {
+        ProductSort productSort = ProductSort.fromParam(sort);
+        StockBand band = StockBand.fromParam(stock);
+        ProductPageQuery query = ProductPageQuery.builder()
+                .search(search)
+                .prefix(prefix)
+                .categoryId(category)
+                .supplierId(supplier)
+                .band(band)
+                .sort(productSort)
+                .page(page)
+                .size(size)
+                .build();
+
+        model.addAttribute("search", search);
+        model.addAttribute("prefix", prefix);
+        model.addAttribute("category", category);
+        model.addAttribute("supplier", supplier);
+        model.addAttribute("stock", band != null ? band.getParam() : null);
+        model.addAttribute("sort", productSort.getParam());
+        model.addAttribute("filtersActive", query.hasFilters());
+
         try {
-            // Fetch all products - no server-side filtering needed anymore
-            List<ProductDto> allProducts = productsClient.findAll();
-
-            // Get categories for any future use (not needed for current filtering but keeping for consistency)
-            List<ProductCategoryDto> categories = categoriesClient.findAll();
-
-            // Extract unique suppliers from products
-            List<SupplierDto> suppliers = allProducts.stream()
-                    .map(ProductDto::getSupplier)
-                    .filter(Objects::nonNull)
-                    .distinct()
-                    .collect(Collectors.toList());
-
-            // Calculate statistics based on all products
-            long totalProducts = allProducts.size();
-            long inStockProducts = allProducts.stream()
-                    .filter(p -> p.getStockQuantity() != null && p.getStockQuantity() >= 50)
-                    .count();
-            long lowStockProducts = allProducts.stream()
-                    .filter(p -> p.getStockQuantity() != null &&
-                            p.getStockQuantity() >= 10 && p.getStockQuantity() < 50)
-                    .count();
-            long criticalStockProducts = allProducts.stream()
-                    .filter(p -> p.getStockQuantity() != null && p.getStockQuantity() < 10)
-                    .count();
-
-            // Sort products by name by default (client-side filtering will handle re-sorting)
-            allProducts.sort(Comparator.comparing(ProductDto::getName, String.CASE_INSENSITIVE_ORDER));
-
-            // Add all data to model
-            model.addAttribute("products", allProducts);
+            // Only the requested page is rendered; filtering, sorting and counting run on the catalog snapshot
+            ProductPageDto productPage;
+            List<ProductCategoryDto> categories;
+            try (FanOutScope scope = fanOut.open()) {
+                FanOutScope.Subtask<ProductPageDto> pageTask = scope.fork("page", () -> productCatalog.page(query));
+                FanOutScope.Subtask<List<ProductCategoryDto>> categoriesTask = scope.fork("categories", categoriesClient::findAll);
+                scope.join();
+                productPage = pageTask.get();
+                categories = new ArrayList<>(categoriesTask.get());
+            }
+            categories.sort(Comparator.comparing(ProductCategoryDto::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+            Map<StockBand, Long> bandTotals = productCatalog.bandTotals();
+
+            model.addAttribute("products", productPage.getContent());
+            model.addAttribute("productPage", productPage);
             model.addAttribute("categories", categories);
-            model.addAttribute("suppliers", suppliers);
-            model.addAttribute("totalProducts", totalProducts);
-            model.addAttribute("inStockProducts", inStockProducts);
-            model.addAttribute("lowStockProducts", lowStockProducts);
-            model.addAttribute("criticalStockProducts", criticalStockProducts);
+            model.addAttribute("suppliers", productCatalog.suppliers());
+            model.addAttribute("totalProducts", productCatalog.totalProducts());
+            model.addAttribute("inStockProducts", bandTotals.get(StockBand.IN_STOCK));
+            model.addAttribute("lowStockProducts", bandTotals.get(StockBand.LOW_STOCK));
+            model.addAttribute("criticalStockProducts", bandTotals.get(StockBand.CRITICAL));
 
             // Add some metadata for the frontend
             model.addAttribute("lastUpdated", LocalDateTime.now());
@@ -103,25 +132,18 @@ public class ProductController {
         }
     }
 
-    //For real time updates
+    //For real time updates; the catalog rebuilds a stale list, which also reconciles the live counters
     @GetMapping("/api/products/stats")
     @ResponseBody
     public Map<String, Long> getProductStats() {
         try {
-            List<ProductDto> allProducts = productsClient.findAll();
+            Map<StockBand, Long> bandTotals = productCatalog.bandTotals();
 
             Map<String, Long> stats = new HashMap<>();
-            stats.put("total", (long) allProducts.size());
-            stats.put("inStock", allProducts.stream()
-                    .filter(p -> p.getStockQuantity() != null && p.getStockQuantity() >= 50)
-                    .count());
-            stats.put("lowStock", allProducts.stream()
-                    .filter(p -> p.getStockQuantity() != null &&
-                            p.getStockQuantity() >= 10 && p.getStockQuantity() < 50)
-                    .count());
-            stats.put("critical", allProducts.stream()
-                    .filter(p -> p.getStockQuantity() != null && p.getStockQuantity() < 10)
-                    .count());
+            stats.put("total", productCatalog.totalProducts());
+            stats.put("inStock", bandTotals.get(StockBand.IN_STOCK));
+            stats.put("lowStock", bandTotals.get(StockBand.LOW_STOCK));
+            stats.put("critical", bandTotals.get(StockBand.CRITICAL));
 
             return stats;
         } catch (Exception e) {
@@ -129,6 +151,53 @@ public class ProductController {
             return Map.of("error", 1L);
         }
     }
+
+    /**
+     * Per-product stock changes and stock-band counter deltas as Server-Sent Events (see StockLevels)
+     */
+    @GetMapping(value = "/api/products/stock/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public Flux<ServerSentEvent<Object>> liveStock(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        if (!stockLevels.isLoaded()) {
+            try {
+                // Loads the baseline quantities the stream starts from
+                productCatalog.totalProducts();
+            } catch (Exception e) {
+                log.error("Error loading products for the stock stream", e);
+            }
+        }
+        return stockLevels.subscribe(lastEventId);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        try {
+            // Read from the backend as rows are written rather than copied out of the reference cache
+            StreamingGetClient.Elements<ProductDto> products = productsClient.streamAll();
+
+            return csvExporter.export("products",
+                    new String[]{"ID", "Code", "Name", "Brand", "Category", "Supplier", "Actual Price", "Selling Price",
+                            "Discount", "Stock", "Low Stock Threshold", "Quantity Sold"},
+                    products,
+                    (product, csv) -> csv.number(product.getProductId())
+                            .text(product.getProductCode())
+                            .text(product.getName())
+                            .text(product.getBrandName())
+                            .text(product.getCategory() != null ? product.getCategory().getName() : null)
+                            .text(product.getSupplier() != null ? product.getSupplier().getName() : null)
+                            .money(product.getActualPrice())
+                            .money(product.getSellingPrice())
+                            .number(product.getDiscount())
+                            .number(product.getStockQuantity())
+                            .number(product.getLowStockThreshold())
+                            .number(product.getQuantitySold())
+                            .endRow());
+
+        } catch (Exception e) {
+            log.error("Error exporting products", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
     @GetMapping("/create")
     public String createForm(Model model) {
 
@@ -8,6 +8,8 @@ import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.SupplierDto;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.supplierDtos.SupplierProductsResponseDto;
 import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.supplierDtos.SupplierResponseDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.FanOut;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.FanOutScope;
 import groovy.util.logging.Slf4j;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -35,6 +37,7 @@ public class SupplierController {
     private static final Logger log = LoggerFactory.getLogger(SupplierController.class);
     private final SuppliersClient suppliersClient;
     private final ProductsClient productsClient;
+    private final FanOut fanOut;
 
     @GetMapping
     public String list(Model model) {
@@ -149,9 +152,12 @@ public class SupplierController {
 
     @GetMapping("/{id}")
     public String details(@PathVariable Long id, Model model, RedirectAttributes redirectAttributes) {
-        try {
-            SupplierResponseDto supplier = suppliersClient.findSupplierById(id);
-            List<SupplierProductsResponseDto> products = suppliersClient.findAllProductsBySupplierId(id);
+        try (FanOutScope scope = fanOut.open()) {
+            FanOutScope.Subtask<SupplierResponseDto> supplierTask = scope.fork("supplier", () -> suppliersClient.findSupplierById(id));
+            FanOutScope.Subtask<List<SupplierProductsResponseDto>> productsTask = scope.fork("products", () -> suppliersClient.findAllProductsBySupplierId(id));
+            scope.join();
+            SupplierResponseDto supplier = supplierTask.get();
+            List<SupplierProductsResponseDto> products = productsTask.get();
 
             // Calculate supplier-specific metrics using ACTUAL PRICE (cost from supplier)
             int totalProducts = products.size();
@@ -200,9 +206,12 @@ public class SupplierController {
 
     @GetMapping("/{id}/products")
     public String products(@PathVariable Long id, Model model, RedirectAttributes redirectAttributes) {
-        try {
-            SupplierResponseDto supplier = suppliersClient.findSupplierById(id);
-            List<SupplierProductsResponseDto> products = suppliersClient.findAllProductsBySupplierId(id);
+        try (FanOutScope scope = fanOut.open()) {
+            FanOutScope.Subtask<SupplierResponseDto> supplierTask = scope.fork("supplier", () -> suppliersClient.findSupplierById(id));
+            FanOutScope.Subtask<List<SupplierProductsResponseDto>> productsTask = scope.fork("products", () -> suppliersClient.findAllProductsBySupplierId(id));
+            scope.join();
+            SupplierResponseDto supplier = supplierTask.get();
+            List<SupplierProductsResponseDto> products = productsTask.get();
 
             // Calculate comprehensive product analytics
             int totalProducts = products.size();
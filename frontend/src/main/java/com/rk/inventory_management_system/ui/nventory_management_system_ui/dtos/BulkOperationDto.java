@@ -0,0 +1,29 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Progress and outcome of a bulk order operation. Per-order results are filled in once the
+ * operation has finished; while a background job runs only the counters move.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationDto {
+
+    private String jobId;
+    private String operation;
+    private String state;
+    private int total;
+    private int completed;
+    private int succeeded;
+    private int failed;
+    private long elapsedMillis;
+    private List<BulkOrderResultDto> results;
+}
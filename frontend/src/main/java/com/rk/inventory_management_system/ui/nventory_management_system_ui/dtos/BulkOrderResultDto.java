@@ -0,0 +1,16 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderResultDto {
+
+    private Long orderId;
+    private boolean success;
+    private Integer status;
+    private String message;
+}
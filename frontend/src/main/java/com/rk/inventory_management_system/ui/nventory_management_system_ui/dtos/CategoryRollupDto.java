@@ -0,0 +1,27 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Per-category figures derived from the product list (see CategoryRollupService)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryRollupDto {
+
+    private Long categoryId;
+    private String categoryName;
+    private int productCount;
+    private long totalUnits;
+    private double stockValue;
+    private int lowStockCount;
+    private List<ProductDto> topSellers;
+    private List<ProductDto> lowStockProducts;
+}
@@ -0,0 +1,39 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageDto {
+
+    private List<OrderDto> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+    private boolean hasNext;
+    // Cursor for the following page; null for offset-paged sorts or on the last page
+    private String nextCursor;
+
+    public boolean isHasPrevious() {
+        return page > 0;
+    }
+
+    /**
+     * 1-based position of the first order on this page, 0 when empty
+     */
+    public long getFirstElement() {
+        return content == null || content.isEmpty() ? 0 : (long) page * size + 1;
+    }
+
+    public long getLastElement() {
+        return content == null || content.isEmpty() ? 0 : (long) page * size + content.size();
+    }
+}
@@ -0,0 +1,35 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderSort;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of the orders list: filters, sort and either a page number or, for date sorts, the
+ * cursor of the last order on the previous page
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageQuery {
+
+    private String search;
+    private String status;
+    private String type;
+    @Builder.Default
+    private OrderSort sort = OrderSort.DATE_DESC;
+    private int page;
+    private int size;
+    private String cursor;
+
+    public boolean hasFilters() {
+        return hasText(search) || hasText(status) || hasText(type);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,37 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Counters and analytics for the orders list, over all orders regardless of the current page
+ * and filters
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummaryDto {
+
+    private long totalOrders;
+    // Order count per OrderStatus name
+    private Map<String, Long> statusCounts;
+    // Completed orders only
+    private double totalRevenue;
+    private double avgOrderValue;
+    private long ordersThisMonth;
+    // Share of orders that are processing or completed, in percent
+    private double processingEfficiency;
+    // Completed revenue per OrderType name
+    private Map<String, Double> revenueByType;
+    // Five customers with the highest completed revenue, highest first
+    private Map<String, Double> topCustomers;
+
+    public long countOf(String status) {
+        return statusCounts == null ? 0 : statusCounts.getOrDefault(status, 0L);
+    }
+}
@@ -0,0 +1,22 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A Spring Data page as the backend serializes it
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponseDto<T> {
+
+    private List<T> content;
+    private long totalElements;
+    private int totalPages;
+    private int number;
+    private int size;
+}
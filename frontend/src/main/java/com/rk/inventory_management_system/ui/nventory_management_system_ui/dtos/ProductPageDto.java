@@ -0,0 +1,41 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPageDto {
+
+    private List<ProductDto> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+    private boolean hasNext;
+    // Products per stock band param ("all", "in-stock", "low-stock", "critical") under the
+    // current search, prefix, category and supplier, i.e. what each band button would show
+    private Map<String, Long> bandCounts;
+
+    public boolean isHasPrevious() {
+        return page > 0;
+    }
+
+    /**
+     * 1-based position of the first product on this page, 0 when empty
+     */
+    public long getFirstElement() {
+        return content == null || content.isEmpty() ? 0 : (long) page * size + 1;
+    }
+
+    public long getLastElement() {
+        return content == null || content.isEmpty() ? 0 : (long) page * size + content.size();
+    }
+}
@@ -0,0 +1,37 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.ProductSort;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.StockBand;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of the product list: free-text search, name prefix, category, supplier and stock
+ * band filters, sort and page number
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPageQuery {
+
+    private String search;
+    private String prefix;
+    private Long categoryId;
+    private Long supplierId;
+    private StockBand band;
+    @Builder.Default
+    private ProductSort sort = ProductSort.NAME_ASC;
+    private int page;
+    private int size;
+
+    public boolean hasFilters() {
+        return hasText(search) || hasText(prefix) || categoryId != null || supplierId != null || band != null;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
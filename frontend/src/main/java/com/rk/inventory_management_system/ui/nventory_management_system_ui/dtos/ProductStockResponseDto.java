@@ -11,6 +11,7 @@ import java.util.List;
 @AllArgsConstructor
 public class ProductStockResponseDto {
 
+    private Long productId;
     private String productName;
     private List<ProductStockDetailsDto> productStockDetails;
     private Integer totalStock;
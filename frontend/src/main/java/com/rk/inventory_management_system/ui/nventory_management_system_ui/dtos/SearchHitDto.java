@@ -0,0 +1,17 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHitDto {
+
+    private String type; // ORDER, PRODUCT, SUPPLIER
+    private Long id;
+    private String title;
+    private String subtitle;
+    private String url;
+}
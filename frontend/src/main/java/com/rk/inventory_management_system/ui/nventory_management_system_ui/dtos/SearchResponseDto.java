@@ -0,0 +1,26 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Search results per entity type, each capped at the requested limit; the totals count every match
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResponseDto {
+
+    private String query;
+    private List<SearchHitDto> orders;
+    private long totalOrders;
+    private List<SearchHitDto> products;
+    private long totalProducts;
+    private List<SearchHitDto> suppliers;
+    private long totalSuppliers;
+}
@@ -0,0 +1,52 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums;
+
+/**
+ * Sort options of the orders list. {@code param} is the value the page uses, {@code backendSort}
+ * the Spring Data sort forwarded to the backend. Date sorts page by keyset cursor, ties broken
+ * by order id; the others page by offset.
+ */
+public enum OrderSort {
+
+    DATE_DESC("date-desc", "createdAt,desc"),
+    DATE_ASC("date-asc", "createdAt,asc"),
+    TOTAL_HIGH("total-high", "totalPrice,desc"),
+    TOTAL_LOW("total-low", "totalPrice,asc"),
+    CUSTOMER_ASC("customer-asc", "customer.name,asc"),
+    CUSTOMER_DESC("customer-desc", "customer.name,desc");
+
+    private final String param;
+    private final String backendSort;
+
+    OrderSort(String param, String backendSort) {
+        this.param = param;
+        this.backendSort = backendSort;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public String getBackendSort() {
+        return backendSort;
+    }
+
+    public boolean isKeyset() {
+        return this == DATE_DESC || this == DATE_ASC;
+    }
+
+    public boolean isDescending() {
+        return backendSort.endsWith(",desc");
+    }
+
+    /**
+     * The option for a page parameter, newest first when missing or unknown
+     */
+    public static OrderSort fromParam(String param) {
+        for (OrderSort sort : values()) {
+            if (sort.param.equalsIgnoreCase(param)) {
+                return sort;
+            }
+        }
+        return DATE_DESC;
+    }
+}
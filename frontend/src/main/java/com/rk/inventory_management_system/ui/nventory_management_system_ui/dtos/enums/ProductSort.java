@@ -0,0 +1,37 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums;
+
+/**
+ * Sort options of the product list; {@code param} is the value the page uses. Equal stock or
+ * price keeps name order.
+ */
+public enum ProductSort {
+
+    NAME_ASC("name-asc"),
+    NAME_DESC("name-desc"),
+    STOCK_LOW("stock-low"),
+    STOCK_HIGH("stock-high"),
+    PRICE_LOW("price-low"),
+    PRICE_HIGH("price-high");
+
+    private final String param;
+
+    ProductSort(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    /**
+     * The option for a page parameter, name A-Z when missing or unknown
+     */
+    public static ProductSort fromParam(String param) {
+        for (ProductSort sort : values()) {
+            if (sort.param.equalsIgnoreCase(param)) {
+                return sort;
+            }
+        }
+        return NAME_ASC;
+    }
+}
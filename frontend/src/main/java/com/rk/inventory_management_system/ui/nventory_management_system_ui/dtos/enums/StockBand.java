@@ -0,0 +1,45 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums;
+
+/**
+ * Stock levels the product list filters and counts by: in stock 50+, low 10-49, critical
+ * below 10 (a missing quantity counts as 0). {@code param} is the value the page uses.
+ */
+public enum StockBand {
+
+    IN_STOCK("in-stock"),
+    LOW_STOCK("low-stock"),
+    CRITICAL("critical");
+
+    public static final int IN_STOCK_MIN = 50;
+    public static final int LOW_STOCK_MIN = 10;
+
+    private final String param;
+
+    StockBand(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public static StockBand of(Integer stockQuantity) {
+        int stock = stockQuantity == null ? 0 : stockQuantity;
+        if (stock >= IN_STOCK_MIN) {
+            return IN_STOCK;
+        }
+        return stock >= LOW_STOCK_MIN ? LOW_STOCK : CRITICAL;
+    }
+
+    /**
+     * The band for a page parameter, null for "all" or anything unknown
+     */
+    public static StockBand fromParam(String param) {
+        for (StockBand band : values()) {
+            if (band.param.equalsIgnoreCase(param)) {
+                return band;
+            }
+        }
+        return null;
+    }
+}
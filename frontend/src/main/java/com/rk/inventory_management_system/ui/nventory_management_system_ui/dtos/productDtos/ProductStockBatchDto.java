@@ -0,0 +1,20 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.productDtos;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductStockResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Stock of several products looked up together; ids that could not be resolved are listed in
+ * failures instead of failing the whole batch.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductStockBatchDto {
+    private List<ProductStockResponseDto> stock;
+    private List<ProductStockFailureDto> failures;
+}
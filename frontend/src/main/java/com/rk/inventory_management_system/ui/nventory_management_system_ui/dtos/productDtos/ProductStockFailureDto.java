@@ -0,0 +1,14 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.productDtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductStockFailureDto {
+    private Long productId;
+    private Integer status;
+    private String message;
+}
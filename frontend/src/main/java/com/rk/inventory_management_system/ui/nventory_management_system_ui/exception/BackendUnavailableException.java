@@ -0,0 +1,15 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.exception;
+
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * A backend call refused locally, without touching the network, because its endpoint's circuit
+ * is open or its bulkhead is full. Extends ResourceAccessException so every existing
+ * "backend unreachable" path handles it too.
+ */
+public class BackendUnavailableException extends ResourceAccessException {
+
+    public BackendUnavailableException(String message) {
+        super(message);
+    }
+}
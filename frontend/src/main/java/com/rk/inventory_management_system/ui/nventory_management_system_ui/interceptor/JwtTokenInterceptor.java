@@ -1,9 +1,11 @@
 package com.rk.inventory_management_system.ui.nventory_management_system_ui.interceptor;
 
 
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.TokenVerifier;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
@@ -11,8 +13,11 @@ import org.springframework.web.servlet.HandlerInterceptor;
 import java.util.Arrays;
 
 @Component
+@RequiredArgsConstructor
 public class JwtTokenInterceptor implements HandlerInterceptor {
 
+    private final TokenVerifier tokenVerifier;
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
 
@@ -43,20 +48,30 @@ public class JwtTokenInterceptor implements HandlerInterceptor {
 
         if (token == null || token.trim().isEmpty()) {
             // No token found, redirect to login
-            String redirectUrl = request.getRequestURL().toString();
-            if (request.getQueryString() != null) {
-                redirectUrl += "?" + request.getQueryString();
-            }
-
-            response.sendRedirect("/login?redirect=" + java.net.URLEncoder.encode(redirectUrl, "UTF-8"));
+            redirectToLogin(request, response);
             return false;
         }
 
         // Add token to request header for backend API calls
         request.setAttribute("authToken", token);
 
+        // Pages are largely served from caches shared by all users, so the token must be one the backend accepts
+        if (!tokenVerifier.isValid()) {
+            redirectToLogin(request, response);
+            return false;
+        }
+
         return true;
     }
 
+    private void redirectToLogin(HttpServletRequest request, HttpServletResponse response) throws Exception {
+        String redirectUrl = request.getRequestURL().toString();
+        if (request.getQueryString() != null) {
+            redirectUrl += "?" + request.getQueryString();
+        }
+
+        response.sendRedirect("/login?redirect=" + java.net.URLEncoder.encode(redirectUrl, "UTF-8"));
+    }
+
 
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.interceptor;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.StaleData;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Puts the staleness banner into the model when a page was rendered from last-known-good
+ * backend data (stale-if-error) rather than a live response.
+ */
+@Component
+public class StaleDataInterceptor implements HandlerInterceptor {
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView == null || !(request.getAttribute(StaleData.REQUEST_ATTRIBUTE) instanceof Instant since)) {
+            return;
+        }
+        String viewName = modelAndView.getViewName();
+        if (viewName != null && viewName.startsWith("redirect:")) {
+            return;
+        }
+        modelAndView.addObject("staleDataSince", since);
+        modelAndView.addObject("staleDataMessage",
+                "The backend is not responding. Showing data last refreshed " + describeAge(since) + ".");
+    }
+
+    private String describeAge(Instant since) {
+        long minutes = Duration.between(since, Instant.now()).toMinutes();
+        if (minutes < 1) {
+            return "less than a minute ago";
+        }
+        return minutes == 1 ? "1 minute ago" : minutes + " minutes ago";
+    }
+}
@@ -0,0 +1,158 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.proxy;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reverse proxy that pipes bodies between the servlet streams and the pooled backend client
+ * through a fixed-size buffer, so heap use per request does not grow with the payload.
+ */
+@Slf4j
+@Component
+public class StreamingProxyEngine {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    // Hop-by-hop headers (RFC 7230 section 6.1) belong to a single connection and are never forwarded
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization",
+            "te", "trailer", "transfer-encoding", "upgrade", "host");
+
+    private final ClientHttpRequestFactory requestFactory;
+    private final String backendUrl;
+
+    public StreamingProxyEngine(ClientHttpRequestFactory proxyRequestFactory,
+                                @Value("${backend.base-url}") String backendUrl) {
+        this.requestFactory = proxyRequestFactory;
+        this.backendUrl = backendUrl;
+    }
+
+    /**
+     * Forward the current request to the backend path and stream the answer back as-is:
+     * status, headers (including Set-Cookie and Content-Type) and body. Validators travel both
+     * ways untouched (If-None-Match / If-Modified-Since in, ETag / Last-Modified out), so a
+     * browser revalidation ends in a bodiless 304 straight from the backend.
+     */
+    public void forward(HttpServletRequest request, HttpServletResponse response, String backendPath) throws IOException {
+        URI target = buildTarget(backendPath, request.getQueryString());
+        String method = request.getMethod();
+        log.debug("Proxying {} request to: {}", method, target);
+
+        ClientHttpRequest backendRequest = requestFactory.createRequest(target, HttpMethod.valueOf(method));
+        copyRequestHeaders(request, backendRequest.getHeaders());
+        if (hasBody(request)) {
+            ((StreamingHttpOutputMessage) backendRequest).setBody(out -> copy(request.getInputStream(), out));
+        }
+
+        ClientHttpResponse backendResponse;
+        try {
+            backendResponse = backendRequest.execute();
+        } catch (IOException e) {
+            log.error("Proxy {} request to {} failed", method, target, e);
+            writeError(response, HttpStatus.BAD_GATEWAY, "Request failed: " + e.getMessage());
+            return;
+        }
+
+        try (backendResponse) {
+            response.setStatus(backendResponse.getStatusCode().value());
+            copyResponseHeaders(backendResponse.getHeaders(), response);
+            try (InputStream body = backendResponse.getBody()) {
+                copy(body, response.getOutputStream());
+            }
+        } catch (IOException e) {
+            // Headers may already be on the wire, so all we can do is cut the response short
+            log.error("Streaming {} response from {} aborted", method, target, e);
+            if (!response.isCommitted()) {
+                response.reset();
+                writeError(response, HttpStatus.BAD_GATEWAY, "Response streaming failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private URI buildTarget(String backendPath, String queryString) {
+        // Request URI and query string are still percent-encoded, so they can be reused verbatim
+        String target = backendUrl + "/api" + backendPath;
+        if (queryString != null && !queryString.isEmpty()) {
+            target += "?" + queryString;
+        }
+        return URI.create(target);
+    }
+
+    private boolean hasBody(HttpServletRequest request) {
+        return request.getContentLengthLong() > 0 || request.getHeader(HttpHeaders.TRANSFER_ENCODING) != null;
+    }
+
+    private void copyRequestHeaders(HttpServletRequest request, HttpHeaders target) {
+        Set<String> connectionTokens = connectionTokens(Collections.list(request.getHeaders(HttpHeaders.CONNECTION)));
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (isForwardable(name, connectionTokens)) {
+                target.addAll(name, Collections.list(request.getHeaders(name)));
+            }
+        }
+    }
+
+    private void copyResponseHeaders(HttpHeaders source, HttpServletResponse response) {
+        Set<String> connectionTokens = connectionTokens(source.getOrEmpty(HttpHeaders.CONNECTION));
+        source.forEach((name, values) -> {
+            if (isForwardable(name, connectionTokens)) {
+                for (String value : values) {
+                    response.addHeader(name, value);
+                }
+            }
+        });
+    }
+
+    private boolean isForwardable(String headerName, Set<String> connectionTokens) {
+        String name = headerName.toLowerCase(Locale.ROOT);
+        return !HOP_BY_HOP_HEADERS.contains(name) && !connectionTokens.contains(name);
+    }
+
+    // Headers named in Connection are hop-by-hop as well
+    private Set<String> connectionTokens(List<String> connectionHeaders) {
+        if (connectionHeaders.isEmpty()) {
+            return Set.of();
+        }
+        return connectionHeaders.stream()
+                .flatMap(value -> List.of(value.split(",")).stream())
+                .map(token -> token.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+    }
+
+    private void copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        out.flush();
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        String json = "{\"error\": \"" + message.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+        response.getOutputStream().write(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
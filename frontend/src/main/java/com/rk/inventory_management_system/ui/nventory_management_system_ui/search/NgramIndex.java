@@ -0,0 +1,342 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Inverted index from text fragments to documents, for "contains" search without scanning
+ * every document.
+ * <ul>
+ *   <li>every field is indexed by its trigrams; a query of three or more characters looks up
+ *   the posting lists of its own trigrams and intersects them, smallest first</li>
+ *   <li>one- and two-character queries match word prefixes instead, from a prefix index</li>
+ *   <li>candidates are verified against the stored text, so results are exact</li>
+ * </ul>
+ * Documents live in append-only slots, so posting lists stay sorted without re-sorting.
+ * Replacing or removing a document leaves a dead slot; the index compacts itself once a
+ * quarter of the slots are dead.
+ */
+public class NgramIndex<T> {
+
+    private static final int GRAM = 3;
+    private static final char PREFIX_MARK = '\u0001';
+    private static final int MIN_COMPACT = 1024;
+
+    /**
+     * Shortest query matched as a substring; shorter ones only match word prefixes
+     */
+    public static final int MIN_SUBSTRING_QUERY = GRAM;
+
+    private final Function<T, Long> idOf;
+    private final Function<T, String[]> fieldsOf;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<T> docs = new ArrayList<>();
+    private final List<String[]> texts = new ArrayList<>();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private int dead;
+
+    /**
+     * Sorted slots of the documents containing one fragment
+     */
+    private static final class Postings {
+        int[] slots = new int[4];
+        int size;
+
+        void add(int slot) {
+            // Slots only grow and a fragment can repeat within a document
+            if (size > 0 && slots[size - 1] == slot) {
+                return;
+            }
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+
+    public NgramIndex(Function<T, Long> idOf, Function<T, String[]> fieldsOf) {
+        this.idOf = idOf;
+        this.fieldsOf = fieldsOf;
+    }
+
+    /**
+     * Add a document, replacing any with the same id
+     */
+    public void put(T doc) {
+        Long id = idOf.apply(doc);
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer previous = slotById.get(id);
+            if (previous != null) {
+                kill(previous);
+            }
+            append(id, doc);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putAll(Iterable<T> all) {
+        lock.writeLock().lock();
+        try {
+            for (T doc : all) {
+                Long id = idOf.apply(doc);
+                if (id == null) {
+                    continue;
+                }
+                Integer previous = slotById.get(id);
+                if (previous != null) {
+                    kill(previous);
+                }
+                append(id, doc);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.remove(id);
+            if (slot != null) {
+                kill(slot);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the stored document with {@code id} by the result of {@code change}, if present.
+     * The change must not alter indexed text.
+     */
+    public void update(long id, Function<T, T> change) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.get(id);
+            if (slot != null) {
+                docs.set(slot, change.apply(docs.get(slot)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public T get(long id) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotById.get(id);
+            return slot != null ? docs.get(slot) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every live document, oldest first
+     */
+    public List<T> all() {
+        lock.readLock().lock();
+        try {
+            List<T> live = new ArrayList<>(slotById.size());
+            for (T doc : docs) {
+                if (doc != null) {
+                    live.add(doc);
+                }
+            }
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Documents with a field containing {@code query} (case-insensitive), or for one- and
+     * two-character queries, a word starting with it; in insertion order. A blank query
+     * matches everything.
+     */
+    public List<T> search(String query) {
+        String q = normalize(query).trim();
+        if (q.isEmpty()) {
+            return all();
+        }
+        lock.readLock().lock();
+        try {
+            List<String> keys = q.length() < GRAM ? List.of(PREFIX_MARK + q) : List.copyOf(grams(q));
+            List<Postings> lists = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                Postings list = postings.get(key);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+            List<T> matches = new ArrayList<>();
+            Postings smallest = lists.get(0);
+            int[] cursors = new int[lists.size()];
+            candidates:
+            for (int i = 0; i < smallest.size; i++) {
+                int slot = smallest.slots[i];
+                for (int l = 1; l < lists.size(); l++) {
+                    if (!advanceTo(lists.get(l), cursors, l, slot)) {
+                        continue candidates;
+                    }
+                }
+                T doc = docs.get(slot);
+                if (doc != null && verify(texts.get(slot), q)) {
+                    matches.add(doc);
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Move list {@code l}'s cursor to the first slot >= {@code slot} by galloping, and tell
+     * whether it holds exactly that slot
+     */
+    private static boolean advanceTo(Postings list, int[] cursors, int l, int slot) {
+        int from = cursors[l];
+        int step = 1;
+        int to = from;
+        while (to < list.size && list.slots[to] < slot) {
+            from = to + 1;
+            to = from + step;
+            step <<= 1;
+        }
+        int found = Arrays.binarySearch(list.slots, from, Math.min(to + 1, list.size), slot);
+        cursors[l] = found >= 0 ? found : -found - 1;
+        return found >= 0;
+    }
+
+    private static boolean verify(String[] fields, String q) {
+        for (String field : fields) {
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (q.length() >= GRAM) {
+                if (field.contains(q)) {
+                    return true;
+                }
+            } else if (field.startsWith(q) || wordStartsWith(field, q)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean wordStartsWith(String field, String q) {
+        for (int i = field.indexOf(q); i > 0; i = field.indexOf(q, i + 1)) {
+            if (!Character.isLetterOrDigit(field.charAt(i - 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void append(long id, T doc) {
+        int slot = docs.size();
+        String[] fields = fieldsOf.apply(doc);
+        String[] normalized = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            normalized[i] = normalize(fields[i]);
+        }
+        docs.add(doc);
+        texts.add(normalized);
+        slotById.put(id, slot);
+        for (String field : normalized) {
+            for (String gram : grams(field)) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(slot);
+            }
+            for (String prefix : prefixes(field)) {
+                postings.computeIfAbsent(prefix, p -> new Postings()).add(slot);
+            }
+        }
+    }
+
+    private void kill(int slot) {
+        docs.set(slot, null);
+        texts.set(slot, new String[0]);
+        dead++;
+    }
+
+    private void compactIfNeeded() {
+        if (dead < MIN_COMPACT || dead * 4 < docs.size()) {
+            return;
+        }
+        List<T> live = new ArrayList<>(slotById.size());
+        for (T doc : docs) {
+            if (doc != null) {
+                live.add(doc);
+            }
+        }
+        docs.clear();
+        texts.clear();
+        slotById.clear();
+        postings.clear();
+        dead = 0;
+        for (T doc : live) {
+            append(idOf.apply(doc), doc);
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    // One- and two-character starts of every word, marked so they can't collide with trigrams
+    private static Set<String> prefixes(String text) {
+        Set<String> prefixes = new LinkedHashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            if (i > 0 && Character.isLetterOrDigit(text.charAt(i - 1))) {
+                continue;
+            }
+            if (Character.isWhitespace(text.charAt(i))) {
+                continue;
+            }
+            prefixes.add(PREFIX_MARK + text.substring(i, i + 1));
+            if (i + 1 < text.length()) {
+                prefixes.add(PREFIX_MARK + text.substring(i, i + 2));
+            }
+        }
+        return prefixes;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,253 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.search;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderStatus;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.supplierDtos.SupplierResponseDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Search indexes for orders (id, customer name, customer email), products (name, code, brand)
+ * and suppliers (name). Each is rebuilt from a full backend list at most once per
+ * backend.search.refresh-interval, and kept current in between by the clients reporting the
+ * creates, deletes and status changes they send. Changes made while a rebuild's list was being
+ * fetched are replayed onto the new index, so a rebuild never undoes them.
+ * <p>
+ * Meters: search.index.documents{index}.
+ */
+@Slf4j
+@Component
+public class SearchIndex {
+
+    private static final int MAX_LOGGED_CHANGES = 10_000;
+
+    private final Dataset<OrderDto> orders = new Dataset<>("orders",
+            OrderDto::getOrderId,
+            order -> new String[]{
+                    order.getOrderId() != null ? order.getOrderId().toString() : null,
+                    order.getCustomer() != null ? order.getCustomer().getName() : null,
+                    order.getCustomer() != null ? order.getCustomer().getEmail() : null});
+    private final Dataset<ProductDto> products = new Dataset<>("products",
+            ProductDto::getProductId,
+            product -> new String[]{product.getName(), product.getProductCode(), product.getBrandName()});
+    private final Dataset<SupplierResponseDto> suppliers = new Dataset<>("suppliers",
+            SupplierResponseDto::getId,
+            supplier -> new String[]{supplier.getName()});
+
+    private final Executor rebuildExecutor;
+    private final long refreshNanos;
+
+    public SearchIndex(MeterRegistry meterRegistry,
+                       ExecutorService backendCallExecutor,
+                       @Value("${backend.search.refresh-interval:2m}") Duration refreshInterval) {
+        this.rebuildExecutor = backendCallExecutor;
+        this.refreshNanos = refreshInterval.toNanos();
+        for (Dataset<?> dataset : List.of(orders, products, suppliers)) {
+            Gauge.builder("search.index.documents", dataset, Dataset::size)
+                    .description("Documents in the in-memory search index")
+                    .tag("index", dataset.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * One index plus what is needed to rebuild it without losing concurrent changes
+     */
+    static final class Dataset<T> {
+        final String name;
+        private final Function<T, Long> idOf;
+        private final Function<T, String[]> fieldsOf;
+        private final Deque<Change<T>> changes = new ArrayDeque<>();
+        private final AtomicBoolean rebuilding = new AtomicBoolean();
+        private volatile NgramIndex<T> index;
+        private volatile long builtAt;
+
+        private record Change<T>(long at, Consumer<NgramIndex<T>> apply) {
+        }
+
+        Dataset(String name, Function<T, Long> idOf, Function<T, String[]> fieldsOf) {
+            this.name = name;
+            this.idOf = idOf;
+            this.fieldsOf = fieldsOf;
+        }
+
+        NgramIndex<T> index() {
+            return index;
+        }
+
+        boolean needsRebuild(long refreshNanos) {
+            return index == null || System.nanoTime() - builtAt > refreshNanos;
+        }
+
+        void rebuild(List<T> all, long fetchStartedAt) {
+            NgramIndex<T> fresh = new NgramIndex<>(idOf, fieldsOf);
+            fresh.putAll(all);
+            synchronized (this) {
+                if (index != null && fetchStartedAt - builtAt < 0) {
+                    // A rebuild from a newer list already finished
+                    return;
+                }
+                // Anything changed after the list was requested may be missing from it
+                for (Change<T> change : changes) {
+                    if (change.at() - fetchStartedAt >= 0) {
+                        change.apply().accept(fresh);
+                    }
+                }
+                changes.removeIf(change -> change.at() - fetchStartedAt < 0);
+                index = fresh;
+                builtAt = fetchStartedAt;
+            }
+            log.debug("Rebuilt {} search index with {} documents", name, fresh.size());
+        }
+
+        /**
+         * Rebuild in the background from a list a caller already has, unless the index is still
+         * fresh or another rebuild is running
+         */
+        void offer(List<T> all, long fetchStartedAt, long refreshNanos, Executor executor) {
+            if (!needsRebuild(refreshNanos) || !rebuilding.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        rebuild(all, fetchStartedAt);
+                    } finally {
+                        rebuilding.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                rebuilding.set(false);
+            }
+        }
+
+        void apply(Consumer<NgramIndex<T>> change) {
+            synchronized (this) {
+                changes.addLast(new Change<>(System.nanoTime(), change));
+                while (changes.size() > MAX_LOGGED_CHANGES) {
+                    changes.removeFirst();
+                }
+                if (index != null) {
+                    change.accept(index);
+                }
+            }
+        }
+
+        int size() {
+            NgramIndex<T> current = index;
+            return current != null ? current.size() : 0;
+        }
+    }
+
+    // ---------------- orders ----------------
+
+    public boolean ordersNeedRebuild() {
+        return orders.needsRebuild(refreshNanos);
+    }
+
+    /**
+     * Rebuild from a full order list requested at {@code fetchStartedAt} (System.nanoTime)
+     */
+    public void rebuildOrders(List<OrderDto> all, long fetchStartedAt) {
+        orders.rebuild(all, fetchStartedAt);
+    }
+
+    /**
+     * Hand over a full order list fetched for something else; used for a background rebuild
+     * if the index is due one. The list must not be modified afterwards.
+     */
+    public void offerOrders(List<OrderDto> all, long fetchStartedAt) {
+        orders.offer(all, fetchStartedAt, refreshNanos, rebuildExecutor);
+    }
+
+    /**
+     * Orders whose id, customer name or email contains {@code query}; null until first built
+     */
+    public List<OrderDto> searchOrders(String query) {
+        NgramIndex<OrderDto> index = orders.index();
+        return index != null ? index.search(query) : null;
+    }
+
+    public void orderSaved(OrderDto order) {
+        if (order != null && order.getOrderId() != null) {
+            orders.apply(index -> index.put(order));
+        }
+    }
+
+    public void orderStatusChanged(Long orderId, OrderStatus status) {
+        if (orderId == null || status == null) {
+            return;
+        }
+        // Copy rather than mutate: callers may still be rendering the old object
+        orders.apply(index -> index.update(orderId, order -> withStatus(order, status)));
+    }
+
+    private static OrderDto withStatus(OrderDto order, OrderStatus status) {
+        return new OrderDto(order.getOrderId(), order.getOrderType(), status, order.getCreatedAt(),
+                order.getPaymentType(), order.getCustomer(), order.getSupplier(), order.getOrderItems(),
+                order.getTotalPrice());
+    }
+
+    // ---------------- products ----------------
+
+    public boolean productsNeedRebuild() {
+        return products.needsRebuild(refreshNanos);
+    }
+
+    public void rebuildProducts(List<ProductDto> all, long fetchStartedAt) {
+        products.rebuild(all, fetchStartedAt);
+    }
+
+    public List<ProductDto> searchProducts(String query) {
+        NgramIndex<ProductDto> index = products.index();
+        return index != null ? index.search(query) : null;
+    }
+
+    public void productSaved(ProductDto product) {
+        if (product != null && product.getProductId() != null) {
+            products.apply(index -> index.put(product));
+        }
+    }
+
+    // ---------------- suppliers ----------------
+
+    public boolean suppliersNeedRebuild() {
+        return suppliers.needsRebuild(refreshNanos);
+    }
+
+    public void rebuildSuppliers(List<SupplierResponseDto> all, long fetchStartedAt) {
+        suppliers.rebuild(all, fetchStartedAt);
+    }
+
+    public List<SupplierResponseDto> searchSuppliers(String query) {
+        NgramIndex<SupplierResponseDto> index = suppliers.index();
+        return index != null ? index.search(query) : null;
+    }
+
+    public void supplierSaved(SupplierResponseDto supplier) {
+        if (supplier != null && supplier.getId() != null) {
+            suppliers.apply(index -> index.put(supplier));
+        }
+    }
+
+    public void supplierRemoved(Long supplierId) {
+        if (supplierId != null) {
+            suppliers.apply(index -> index.remove(supplierId));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.search;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.OrdersClient;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.ProductsClient;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.SuppliersClient;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.BackendIdentity;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.LocalOrderPager;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.SearchHitDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.SearchResponseDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderSort;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.supplierDtos.SupplierResponseDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.FanOut;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.service.FanOutScope;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Search over orders, products and suppliers backed by {@link SearchIndex}. The first search
+ * of a kind builds its index on the caller's request; after that, an index past its refresh
+ * interval is still answered from and rebuilt in the background with the caller's credentials.
+ * <p>
+ * "Contains" below holds for queries of three characters or more. One- and two-character
+ * queries only match the start of a word ("jo" finds "John" and "Mary-Jo", not "Major"): a
+ * plain substring match that short hits most of the data and is no use as a search.
+ */
+@Slf4j
+@Component
+public class SearchService {
+
+    private final OrdersClient ordersClient;
+    private final ProductsClient productsClient;
+    private final SuppliersClient suppliersClient;
+    private final SearchIndex searchIndex;
+    private final ExecutorService backendCallExecutor;
+    private final FanOut fanOut;
+    private final AtomicBoolean ordersRefreshing = new AtomicBoolean();
+    private final AtomicBoolean productsRefreshing = new AtomicBoolean();
+    private final AtomicBoolean suppliersRefreshing = new AtomicBoolean();
+
+    public SearchService(OrdersClient ordersClient,
+                         ProductsClient productsClient,
+                         SuppliersClient suppliersClient,
+                         SearchIndex searchIndex,
+                         ExecutorService backendCallExecutor,
+                         FanOut fanOut) {
+        this.ordersClient = ordersClient;
+        this.productsClient = productsClient;
+        this.suppliersClient = suppliersClient;
+        this.searchIndex = searchIndex;
+        this.backendCallExecutor = backendCallExecutor;
+        this.fanOut = fanOut;
+    }
+
+    /**
+     * Orders whose id, customer name or email contains {@code query}, newest first
+     */
+    public List<OrderDto> searchOrders(String query) {
+        List<OrderDto> matches = search(query, searchIndex::searchOrders, searchIndex::ordersNeedRebuild,
+                ordersRefreshing, this::rebuildOrders);
+        return matches.stream().sorted(LocalOrderPager.comparator(OrderSort.DATE_DESC)).toList();
+    }
+
+    /**
+     * Products whose name, code or brand contains {@code query}, by name
+     */
+    public List<ProductDto> searchProducts(String query) {
+        List<ProductDto> matches = search(query, searchIndex::searchProducts, searchIndex::productsNeedRebuild,
+                productsRefreshing, this::rebuildProducts);
+        return matches.stream()
+                .sorted(Comparator.comparing(ProductDto::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)))
+                .toList();
+    }
+
+    /**
+     * Suppliers whose name contains {@code query}, by name
+     */
+    public List<SupplierResponseDto> searchSuppliers(String query) {
+        List<SupplierResponseDto> matches = search(query, searchIndex::searchSuppliers, searchIndex::suppliersNeedRebuild,
+                suppliersRefreshing, this::rebuildSuppliers);
+        return matches.stream()
+                .sorted(Comparator.comparing(SupplierResponseDto::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)))
+                .toList();
+    }
+
+    /**
+     * All three kinds at once, at most {@code limit} hits each
+     */
+    public SearchResponseDto searchAll(String query, int limit) {
+        List<OrderDto> orders;
+        List<ProductDto> products;
+        List<SupplierResponseDto> suppliers;
+        try (FanOutScope scope = fanOut.open()) {
+            FanOutScope.Subtask<List<OrderDto>> ordersTask = scope.fork("orders", () -> searchOrders(query));
+            FanOutScope.Subtask<List<ProductDto>> productsTask = scope.fork("products", () -> searchProducts(query));
+            FanOutScope.Subtask<List<SupplierResponseDto>> suppliersTask = scope.fork("suppliers", () -> searchSuppliers(query));
+            scope.join();
+            orders = ordersTask.get();
+            products = productsTask.get();
+            suppliers = suppliersTask.get();
+        }
+
+        return SearchResponseDto.builder()
+                .query(query)
+                .orders(orders.stream().limit(limit).map(SearchService::hit).toList())
+                .totalOrders(orders.size())
+                .products(products.stream().limit(limit).map(SearchService::hit).toList())
+                .totalProducts(products.size())
+                .suppliers(suppliers.stream().limit(limit).map(SearchService::hit).toList())
+                .totalSuppliers(suppliers.size())
+                .build();
+    }
+
+    private <T> List<T> search(String query, Function<String, List<T>> lookup, BooleanSupplier needsRebuild,
+                               AtomicBoolean refreshing, Runnable rebuild) {
+        List<T> matches = lookup.apply(query);
+        if (matches == null) {
+            rebuild.run();
+            matches = lookup.apply(query);
+        } else if (needsRebuild.getAsBoolean() && refreshing.compareAndSet(false, true)) {
+            refreshInBackground(refreshing, rebuild);
+        }
+        return matches != null ? matches : List.of();
+    }
+
+    private void refreshInBackground(AtomicBoolean refreshing, Runnable rebuild) {
+        BackendIdentity identity = BackendIdentity.capture();
+        try {
+            backendCallExecutor.execute(() -> {
+                try {
+                    BackendIdentity.runAs(identity, rebuild);
+                } catch (RuntimeException e) {
+                    log.warn("Search index refresh failed: {}", e.getMessage());
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+        }
+    }
+
+    private void rebuildOrders() {
+        rebuild(ordersClient::findAll, searchIndex::rebuildOrders);
+    }
+
+    private void rebuildProducts() {
+        rebuild(productsClient::findAll, searchIndex::rebuildProducts);
+    }
+
+    private void rebuildSuppliers() {
+        rebuild(suppliersClient::findAll, searchIndex::rebuildSuppliers);
+    }
+
+    private static <T> void rebuild(Supplier<List<T>> fetch, ObjLongConsumer<List<T>> target) {
+        long started = System.nanoTime();
+        target.accept(fetch.get(), started);
+    }
+
+    private static SearchHitDto hit(OrderDto order) {
+        String customer = order.getCustomer() != null ? order.getCustomer().getName()
+                : order.getSupplier() != null ? order.getSupplier().getName() : null;
+        String status = order.getOrderStatus() != null ? order.getOrderStatus().name() : null;
+        return new SearchHitDto("ORDER", order.getOrderId(), "Order #" + order.getOrderId(),
+                join(customer, status), "/orders/" + order.getOrderId());
+    }
+
+    private static SearchHitDto hit(ProductDto product) {
+        return new SearchHitDto("PRODUCT", product.getProductId(), product.getName(),
+                join(product.getProductCode(), product.getBrandName()), "/products/" + product.getProductId());
+    }
+
+    private static SearchHitDto hit(SupplierResponseDto supplier) {
+        return new SearchHitDto("SUPPLIER", supplier.getId(), supplier.getName(),
+                supplier.getEmail(), "/suppliers/" + supplier.getId());
+    }
+
+    private static String join(String first, String second) {
+        if (first == null || first.isBlank()) {
+            return second;
+        }
+        return second == null || second.isBlank() ? first : first + " · " + second;
+    }
+}
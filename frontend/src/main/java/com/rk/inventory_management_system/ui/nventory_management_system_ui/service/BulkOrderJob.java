@@ -0,0 +1,142 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.service;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.BulkOperationDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.BulkOrderResultDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * One action applied to a list of order ids, at most {@code parallelism} at a time. Every id
+ * gets its own result; a failing order never stops the others.
+ */
+@Slf4j
+public class BulkOrderJob {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+
+    private final String id;
+    private final String operation;
+    private final String ownerScope;
+    private final List<Long> orderIds;
+    private final Consumer<Long> action;
+    private final BulkOrderResultDto[] results;
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final long startedAt = System.nanoTime();
+    private volatile long finishedAt;
+
+    BulkOrderJob(String id, String operation, String ownerScope, List<Long> orderIds, Consumer<Long> action) {
+        this.id = id;
+        this.operation = operation;
+        this.ownerScope = ownerScope;
+        this.orderIds = orderIds;
+        this.action = action;
+        this.results = new BulkOrderResultDto[orderIds.size()];
+    }
+
+    /**
+     * Dispatch every id to the executor and return once all of them have finished. Runs on the
+     * calling thread, which only hands out work and waits.
+     */
+    void run(Executor executor, int parallelism) {
+        Semaphore permits = new Semaphore(parallelism);
+        for (int i = 0; i < orderIds.size(); i++) {
+            int index = i;
+            permits.acquireUninterruptibly();
+            try {
+                executor.execute(() -> {
+                    try {
+                        runOne(index);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                record(index, new BulkOrderResultDto(orderIds.get(index), false,
+                        HttpStatus.SERVICE_UNAVAILABLE.value(), "Server is shutting down"));
+            }
+        }
+        // All permits back means every dispatched call has finished
+        permits.acquireUninterruptibly(parallelism);
+        finishedAt = System.nanoTime();
+        log.info("Bulk {} of {} orders finished in {} ms, {} failed",
+                operation, orderIds.size(), elapsedMillis(), failed.get());
+    }
+
+    private void runOne(int index) {
+        Long orderId = orderIds.get(index);
+        try {
+            action.accept(orderId);
+            record(index, new BulkOrderResultDto(orderId, true, HttpStatus.OK.value(), null));
+        } catch (RestClientResponseException e) {
+            log.warn("Bulk {} failed for order {}: {}", operation, orderId, e.getStatusCode());
+            record(index, new BulkOrderResultDto(orderId, false, e.getStatusCode().value(), failureMessage(e)));
+        } catch (ResourceAccessException e) {
+            log.warn("Bulk {} could not reach the backend for order {}: {}", operation, orderId, e.getMessage());
+            record(index, new BulkOrderResultDto(orderId, false, HttpStatus.SERVICE_UNAVAILABLE.value(), "Backend unavailable"));
+        } catch (RuntimeException e) {
+            log.error("Bulk {} failed for order {}", operation, orderId, e);
+            record(index, new BulkOrderResultDto(orderId, false, HttpStatus.INTERNAL_SERVER_ERROR.value(), e.getMessage()));
+        }
+    }
+
+    private void record(int index, BulkOrderResultDto result) {
+        results[index] = result;
+        if (!result.isSuccess()) {
+            failed.incrementAndGet();
+        }
+        completed.incrementAndGet();
+    }
+
+    private String failureMessage(RestClientResponseException e) {
+        String body = e.getResponseBodyAsString();
+        return body.isBlank() ? e.getStatusText() : body;
+    }
+
+    String id() {
+        return id;
+    }
+
+    String ownerScope() {
+        return ownerScope;
+    }
+
+    boolean isFinished() {
+        return finishedAt != 0;
+    }
+
+    long elapsedMillis() {
+        long end = isFinished() ? finishedAt : System.nanoTime();
+        return (end - startedAt) / 1_000_000;
+    }
+
+    BulkOperationDto snapshot() {
+        boolean finished = isFinished();
+        int done = completed.get();
+        int failures = failed.get();
+        return BulkOperationDto.builder()
+                .jobId(id)
+                .operation(operation)
+                .state(finished ? COMPLETED : RUNNING)
+                .total(orderIds.size())
+                .completed(done)
+                .succeeded(done - failures)
+                .failed(failures)
+                .elapsedMillis(elapsedMillis())
+                .results(finished ? Arrays.stream(results).filter(Objects::nonNull).toList() : null)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.OrdersClient;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.AuthScope;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.BackendIdentity;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.BulkOperationDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * Bulk cancel / process for the orders list. Orders are updated in parallel (bounded by
+ * backend.bulk.parallelism) with a result per order. Small selections are answered in the same
+ * request; large ones, or any with background=true, run as a job whose progress is polled.
+ */
+@Slf4j
+@Component
+public class BulkOrderService {
+
+    public enum Operation {CANCEL, PROCESS}
+
+    private final OrdersClient ordersClient;
+    private final ExecutorService backendCallExecutor;
+    private final int parallelism;
+    private final int backgroundThreshold;
+    private final Cache<String, BulkOrderJob> jobs;
+
+    public BulkOrderService(OrdersClient ordersClient,
+                            ExecutorService backendCallExecutor,
+                            @Value("${backend.bulk.parallelism:8}") int parallelism,
+                            @Value("${backend.bulk.background-threshold:100}") int backgroundThreshold,
+                            @Value("${backend.bulk.job-retention:30m}") Duration jobRetention) {
+        this.ordersClient = ordersClient;
+        this.backendCallExecutor = backendCallExecutor;
+        this.parallelism = parallelism;
+        this.backgroundThreshold = backgroundThreshold;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(jobRetention)
+                .maximumSize(1000)
+                .build();
+    }
+
+    public BulkOperationDto execute(Operation operation, List<Long> orderIds, boolean background) {
+        List<Long> ids = orderIds.stream().filter(Objects::nonNull).distinct().toList();
+        // The job may outlive this request, so it carries the caller's credentials itself
+        BackendIdentity identity = BackendIdentity.capture();
+        Consumer<Long> action = actionFor(operation);
+        BulkOrderJob job = new BulkOrderJob(UUID.randomUUID().toString(), operation.name(), AuthScope.current(), ids,
+                orderId -> BackendIdentity.runAs(identity, () -> action.accept(orderId)));
+
+        if (!background && ids.size() <= backgroundThreshold) {
+            job.run(backendCallExecutor, parallelism);
+            return job.snapshot();
+        }
+
+        jobs.put(job.id(), job);
+        backendCallExecutor.execute(() -> job.run(backendCallExecutor, parallelism));
+        log.info("Started bulk {} job {} for {} orders", operation, job.id(), ids.size());
+        return job.snapshot();
+    }
+
+    /**
+     * Progress of a background job, visible only to the user who started it
+     */
+    public Optional<BulkOperationDto> status(String jobId) {
+        BulkOrderJob job = jobs.getIfPresent(jobId);
+        if (job == null || !job.ownerScope().equals(AuthScope.current())) {
+            return Optional.empty();
+        }
+        return Optional.of(job.snapshot());
+    }
+
+    private Consumer<Long> actionFor(Operation operation) {
+        return switch (operation) {
+            case CANCEL -> ordersClient::cancel;
+            case PROCESS -> orderId -> ordersClient.updateStatus(orderId, "PROCESSING");
+        };
+    }
+}
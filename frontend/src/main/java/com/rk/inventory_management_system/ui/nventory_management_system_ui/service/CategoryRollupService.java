@@ -0,0 +1,149 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.service;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.CategoriesClient;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.ProductsClient;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.CategoryRollupDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductCategoryDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Category figures for the list page, /categories/analytics and the CSV export, computed in one
+ * pass over the product list instead of fetching every category's products separately. Both
+ * inputs come from ReferenceDataCache, so a warm rollup costs no backend call at all.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryRollupService {
+
+    public static final int TOP_K = 5;
+    // Same "low stock" line the product and dashboard pages use
+    private static final int LOW_STOCK_LIMIT = 10;
+
+    private static final Comparator<ProductDto> BY_QUANTITY_SOLD =
+            Comparator.comparingInt(product -> valueOf(product.getQuantitySold()));
+    private static final Comparator<ProductDto> BY_STOCK =
+            Comparator.comparingInt(product -> valueOf(product.getStockQuantity()));
+
+    private final CategoriesClient categoriesClient;
+    private final ProductsClient productsClient;
+    private final FanOut fanOut;
+
+    /**
+     * Categories (in backend order) with their rollups; every category has an entry, possibly empty
+     */
+    public record Rollup(List<ProductCategoryDto> categories, Map<Long, CategoryRollupDto> byCategory) {
+
+        public CategoryRollupDto of(ProductCategoryDto category) {
+            return byCategory.get(category.getId());
+        }
+
+        public int totalProducts() {
+            return byCategory.values().stream().mapToInt(CategoryRollupDto::getProductCount).sum();
+        }
+
+        public double totalStockValue() {
+            return byCategory.values().stream().mapToDouble(CategoryRollupDto::getStockValue).sum();
+        }
+    }
+
+    public Rollup rollup() {
+        List<ProductCategoryDto> categories;
+        List<ProductDto> products;
+        try (FanOutScope scope = fanOut.open()) {
+            FanOutScope.Subtask<List<ProductCategoryDto>> categoriesTask = scope.fork("categories", categoriesClient::findAll);
+            FanOutScope.Subtask<List<ProductDto>> productsTask = scope.fork("products", productsClient::findAll);
+            scope.join();
+            categories = categoriesTask.get();
+            products = productsTask.get();
+        }
+
+        Map<Long, Accumulator> accumulators = new HashMap<>();
+        for (ProductCategoryDto category : categories) {
+            accumulators.put(category.getId(), new Accumulator());
+        }
+        for (ProductDto product : products) {
+            if (product.getCategory() == null) {
+                continue;
+            }
+            Accumulator accumulator = accumulators.get(product.getCategory().getId());
+            if (accumulator != null) {
+                accumulator.add(product);
+            }
+        }
+
+        Map<Long, CategoryRollupDto> byCategory = new HashMap<>();
+        for (ProductCategoryDto category : categories) {
+            byCategory.put(category.getId(), accumulators.get(category.getId()).toDto(category));
+        }
+        log.debug("Rolled up {} products into {} categories", products.size(), categories.size());
+        return new Rollup(categories, byCategory);
+    }
+
+    private static int valueOf(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    private static final class Accumulator {
+
+        private int productCount;
+        private long totalUnits;
+        private double stockValue;
+        private int lowStockCount;
+        // Bounded heaps: the root is the entry to evict next
+        private final PriorityQueue<ProductDto> topSellers = new PriorityQueue<>(TOP_K + 1, BY_QUANTITY_SOLD);
+        private final PriorityQueue<ProductDto> lowStock = new PriorityQueue<>(TOP_K + 1, BY_STOCK.reversed());
+
+        void add(ProductDto product) {
+            int stock = valueOf(product.getStockQuantity());
+            productCount++;
+            totalUnits += stock;
+            Double unitValue = product.getActualPrice() != null ? product.getActualPrice() : product.getSellingPrice();
+            if (unitValue != null) {
+                stockValue += unitValue * stock;
+            }
+
+            if (valueOf(product.getQuantitySold()) > 0) {
+                offer(topSellers, product);
+            }
+            if (stock < LOW_STOCK_LIMIT) {
+                lowStockCount++;
+                offer(lowStock, product);
+            }
+        }
+
+        private static void offer(PriorityQueue<ProductDto> heap, ProductDto product) {
+            heap.offer(product);
+            if (heap.size() > TOP_K) {
+                heap.poll();
+            }
+        }
+
+        CategoryRollupDto toDto(ProductCategoryDto category) {
+            List<ProductDto> sellers = new ArrayList<>(topSellers);
+            sellers.sort(BY_QUANTITY_SOLD.reversed());
+            List<ProductDto> low = new ArrayList<>(lowStock);
+            low.sort(BY_STOCK);
+            return CategoryRollupDto.builder()
+                    .categoryId(category.getId())
+                    .categoryName(category.getName())
+                    .productCount(productCount)
+                    .totalUnits(totalUnits)
+                    .stockValue(stockValue)
+                    .lowStockCount(lowStockCount)
+                    .topSellers(sellers)
+                    .lowStockProducts(low)
+                    .build();
+        }
+    }
+}
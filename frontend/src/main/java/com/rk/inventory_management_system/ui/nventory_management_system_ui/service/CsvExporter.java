@@ -0,0 +1,84 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.service;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.StreamingGetClient;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.utils.CsvRowEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Streams CSV downloads row by row. Controllers open the data while the request is still
+ * theirs (backend auth, error pages); turning it into rows happens lazily on the response
+ * thread, so nothing but the current line is ever held as text and the header reaches the
+ * browser before the last row has been computed. Items that are still being read from the
+ * backend ({@link StreamingGetClient.Elements}) keep memory flat however many rows there are;
+ * a List passed in is held whole until the download ends. Closeable items are closed once the
+ * rows are written or the download fails.
+ */
+@Slf4j
+@Component
+public class CsvExporter {
+
+    public static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    /**
+     * Writes the rows for one item; may write none or several (e.g. one per order item)
+     */
+    @FunctionalInterface
+    public interface RowWriter<T> {
+        void write(T item, CsvRowEncoder csv) throws IOException;
+    }
+
+    private final int flushRows;
+    private final int bufferSize;
+
+    public CsvExporter(@Value("${backend.export.flush-rows:500}") int flushRows,
+                       @Value("${backend.export.buffer-size:16384}") int bufferSize) {
+        this.flushRows = flushRows;
+        this.bufferSize = bufferSize;
+    }
+
+    public <T> ResponseEntity<StreamingResponseBody> export(String name, String[] header,
+                                                           Iterable<T> items, RowWriter<T> rowWriter) {
+        String filename = name + "_export_" + LocalDate.now() + ".csv";
+        StreamingResponseBody body = out -> {
+            long started = System.nanoTime();
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), bufferSize);
+            CsvRowEncoder csv = new CsvRowEncoder(writer, flushRows);
+            try {
+                csv.header(header);
+                for (T item : items) {
+                    rowWriter.write(item, csv);
+                }
+                writer.flush();
+            } catch (IOException e) {
+                // Usually the browser cancelling the download
+                log.debug("CSV export {} aborted after {} rows: {}", filename, csv.rows(), e.getMessage());
+                throw e;
+            } finally {
+                if (items instanceof Closeable closeable) {
+                    closeable.close();
+                }
+            }
+            log.info("Exported {} rows to {} in {} ms", csv.rows() - 1, filename, (System.nanoTime() - started) / 1_000_000);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,176 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.service;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.BackendIdentity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server-Sent Events feed of dashboard payloads. The payloads are computed once, by
+ * {@link PrecomputedPayloads}, however many dashboards are open; each new payload is diffed
+ * against the previous one and only the leaves that changed go out, to every subscriber:
+ * <ul>
+ *     <li>{@code snapshot}: every followed payload, {@code {"<key>": payload, ...}}</li>
+ *     <li>{@code delta}: {@code {"set": {"/<key>/<field>/...": value}, "remove": [pointer]}}, with
+ *     JSON pointers down to the first non-object value (arrays are sent whole)</li>
+ * </ul>
+ * Numbering, resume, heartbeats and the per-subscriber bounds are {@link EventBroadcast}'s,
+ * configured under backend.dashboard.live.
+ */
+@Slf4j
+@Component
+public class DashboardLiveFeed {
+
+    private static final String DELTA = "delta";
+    private static final double SAME_NUMBER = 1e-9;
+
+    private final PrecomputedPayloads precomputedPayloads;
+    // Not synchronized: subscribers are added from request threads, which may be virtual
+    private final ReentrantLock lock = new ReentrantLock();
+    private final EventBroadcast broadcast;
+    // Latest payload and its flattened leaves per followed key
+    private final Map<String, Object> payloads = new LinkedHashMap<>();
+    private final Map<String, Map<String, Object>> leaves = new HashMap<>();
+
+    public DashboardLiveFeed(PrecomputedPayloads precomputedPayloads,
+                             @Value("${backend.dashboard.live.heartbeat:15s}") Duration heartbeat,
+                             @Value("${backend.dashboard.live.replay-events:256}") int replayEvents,
+                             @Value("${backend.dashboard.live.subscriber-buffer:32}") int subscriberBuffer,
+                             @Value("${backend.dashboard.live.max-subscribers:200}") int maxSubscribers) {
+        this.precomputedPayloads = precomputedPayloads;
+        this.broadcast = new EventBroadcast("live dashboard", lock, heartbeat, replayEvents, subscriberBuffer, maxSubscribers);
+        precomputedPayloads.addListener(this::payloadComputed);
+    }
+
+    /**
+     * Stream of the given payload keys, which must already have been computed once. The keys
+     * stay refreshed by PrecomputedPayloads, with the caller's credentials, while the stream is open.
+     *
+     * @param lastEventId the client's Last-Event-ID header, null on a first connection
+     */
+    public Flux<ServerSentEvent<Object>> subscribe(Collection<String> keys, String lastEventId) {
+        BackendIdentity identity = BackendIdentity.capture();
+        return broadcast.subscribe(lastEventId, () -> snapshot(keys),
+                () -> keys.forEach(key -> precomputedPayloads.watch(key, identity)),
+                () -> keys.forEach(precomputedPayloads::unwatch));
+    }
+
+    public int subscriberCount() {
+        return broadcast.subscriberCount();
+    }
+
+    private Map<String, Object> snapshot(Collection<String> keys) {
+        for (String key : keys) {
+            if (!payloads.containsKey(key)) {
+                Object payload = precomputedPayloads.peek(key);
+                payloads.put(key, payload);
+                leaves.put(key, payload != null ? flatten(key, payload) : Map.of());
+            }
+        }
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        payloads.forEach((key, payload) -> snapshot.put(key, payload != null ? payload : Map.of()));
+        return snapshot;
+    }
+
+    private void payloadComputed(String key, Object payload) {
+        lock.lock();
+        try {
+            if (!payloads.containsKey(key)) {
+                // Not followed by any live dashboard
+                return;
+            }
+            Map<String, Object> previous = leaves.getOrDefault(key, Map.of());
+            Map<String, Object> current = flatten(key, payload);
+            Map<String, Object> set = new LinkedHashMap<>();
+            current.forEach((pointer, value) -> {
+                if (!previous.containsKey(pointer) || !same(previous.get(pointer), value)) {
+                    set.put(pointer, value);
+                }
+            });
+            List<String> remove = new ArrayList<>();
+            for (String pointer : previous.keySet()) {
+                if (!current.containsKey(pointer)) {
+                    remove.add(pointer);
+                }
+            }
+            payloads.put(key, payload);
+            leaves.put(key, current);
+            if (set.isEmpty() && remove.isEmpty()) {
+                return;
+            }
+            Map<String, Object> delta = new LinkedHashMap<>();
+            delta.put("set", set);
+            delta.put("remove", remove);
+            broadcast.publish(DELTA, delta);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ---------------- JSON pointers ----------------
+
+    private static Map<String, Object> flatten(String key, Object payload) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        flatten("/" + escape(key), payload, result);
+        return result;
+    }
+
+    private static void flatten(String pointer, Object value, Map<String, Object> result) {
+        if (value instanceof Map<?, ?> map && !map.isEmpty()) {
+            map.forEach((field, child) -> flatten(pointer + "/" + escape(String.valueOf(field)), child, result));
+        } else {
+            result.put(pointer, value);
+        }
+    }
+
+    /**
+     * Equal values, with doubles compared to 1e-9 relative: the running totals and a full
+     * recomputation add the same amounts in different orders
+     */
+    private static boolean same(Object previous, Object current) {
+        if (previous instanceof Number a && current instanceof Number b) {
+            double x = a.doubleValue();
+            double y = b.doubleValue();
+            return x == y || Math.abs(x - y) <= SAME_NUMBER * Math.max(Math.abs(x), Math.abs(y));
+        }
+        if (previous instanceof List<?> a && current instanceof List<?> b) {
+            if (a.size() != b.size()) {
+                return false;
+            }
+            for (int i = 0; i < a.size(); i++) {
+                if (!same(a.get(i), b.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (previous instanceof Map<?, ?> a && current instanceof Map<?, ?> b) {
+            if (!a.keySet().equals(b.keySet())) {
+                return false;
+            }
+            for (Map.Entry<?, ?> entry : a.entrySet()) {
+                if (!same(entry.getValue(), b.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return Objects.equals(previous, current);
+    }
+
+    private static String escape(String token) {
+        return token.replace("~", "~0").replace("/", "~1");
+    }
+}
@@ -0,0 +1,161 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Numbered Server-Sent Events sent to every subscriber of a live feed (DashboardLiveFeed,
+ * StockLevels). A new subscriber gets a {@code snapshot} event built by the feed, or, when it
+ * reconnects with a Last-Event-ID, the events it missed if the last replay-events still cover
+ * them and they fit in its queue. A comment line every heartbeat keeps proxies from closing
+ * idle streams.
+ * <p>
+ * Each subscriber has a queue of at most subscriber-buffer events; one that falls that far
+ * behind is disconnected (EventSource reconnects and resumes). At most max-subscribers streams
+ * are open at a time, further ones fail with 503.
+ * <p>
+ * The lock is the feed's own: holding it while changing its state and publishing keeps every
+ * snapshot consistent with the events numbered after it.
+ */
+@Slf4j
+final class EventBroadcast {
+
+    static final String SNAPSHOT = "snapshot";
+
+    private final String name;
+    private final ReentrantLock lock;
+    private final Duration heartbeat;
+    private final int replayEvents;
+    private final int subscriberBuffer;
+    private final int maxSubscribers;
+    private final Deque<Event> recent = new ArrayDeque<>();
+    private final Set<Sinks.Many<Event>> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger open = new AtomicInteger();
+    private long sequence;
+
+    private record Event(long id, String type, Object data) {
+
+        ServerSentEvent<Object> toSse() {
+            return ServerSentEvent.builder().id(Long.toString(id)).event(type).data(data).build();
+        }
+    }
+
+    EventBroadcast(String name, ReentrantLock lock, Duration heartbeat, int replayEvents, int subscriberBuffer, int maxSubscribers) {
+        this.name = name;
+        this.lock = lock;
+        this.heartbeat = heartbeat;
+        this.replayEvents = replayEvents;
+        this.subscriberBuffer = subscriberBuffer;
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    /**
+     * @param lastEventId the client's Last-Event-ID header, null on a first connection
+     * @param snapshot    the feed's whole state, called under the lock when nothing can be replayed
+     * @param onOpen      called once the subscriber is accepted, never for one turned away
+     * @param onClose     called once an accepted stream ends, however it ends
+     */
+    Flux<ServerSentEvent<Object>> subscribe(String lastEventId, Supplier<Object> snapshot, Runnable onOpen, Runnable onClose) {
+        if (open.incrementAndGet() > maxSubscribers) {
+            open.decrementAndGet();
+            return Flux.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many " + name + " streams"));
+        }
+        onOpen.run();
+        Sinks.Many<Event> sink = Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(subscriberBuffer));
+        lock.lock();
+        try {
+            // First events and registration under the lock, so no event falls in between
+            List<Event> missed = replayAfter(parseId(lastEventId));
+            // A replay longer than the subscriber's queue would lose its overflow: send the state instead
+            List<Event> first = missed != null && missed.size() <= subscriberBuffer
+                    ? missed : List.of(new Event(sequence, SNAPSHOT, snapshot.get()));
+            boolean emitted = true;
+            for (Event event : first) {
+                emitted &= sink.tryEmitNext(event).isSuccess();
+            }
+            if (emitted) {
+                subscribers.add(sink);
+            } else {
+                // Never registered, so it gets no later event either; EventSource reconnects
+                log.warn("Could not queue the first events of a {} stream, closing it", name);
+                sink.tryEmitComplete();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        Flux<ServerSentEvent<Object>> heartbeats = Flux.interval(heartbeat, heartbeat)
+                .map(tick -> ServerSentEvent.builder().comment("heartbeat").build());
+        return Flux.merge(sink.asFlux().map(Event::toSse), heartbeats)
+                .doFinally(signal -> {
+                    subscribers.remove(sink);
+                    open.decrementAndGet();
+                    onClose.run();
+                });
+    }
+
+    void publish(String type, Object data) {
+        lock.lock();
+        try {
+            Event event = new Event(++sequence, type, data);
+            recent.addLast(event);
+            while (recent.size() > replayEvents) {
+                recent.removeFirst();
+            }
+            for (Sinks.Many<Event> subscriber : subscribers) {
+                if (subscriber.tryEmitNext(event).isFailure()) {
+                    // Too far behind (or gone): drop it, the client resumes from its last event id
+                    subscribers.remove(subscriber);
+                    subscriber.tryEmitComplete();
+                    log.debug("Disconnected a {} stream that fell {} events behind", name, subscriberBuffer);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * The events after lastEventId if they are all still buffered, else null
+     */
+    private List<Event> replayAfter(long lastEventId) {
+        if (lastEventId < 0 || lastEventId > sequence) {
+            return null;
+        }
+        long oldest = recent.isEmpty() ? sequence + 1 : recent.peekFirst().id();
+        if (lastEventId + 1 < oldest) {
+            return null;
+        }
+        return recent.stream().filter(event -> event.id() > lastEventId).toList();
+    }
+
+    private static long parseId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Entry point for running independent backend calls of one request concurrently.
+ *
+ * <pre>
+ * try (FanOutScope scope = fanOut.open()) {
+ *     FanOutScope.Subtask&lt;List&lt;ProductDto&gt;&gt; products = scope.fork("products", productsClient::findAll);
+ *     FanOutScope.Subtask&lt;List&lt;CustomerDto&gt;&gt; customers = scope.fork("customers", customersClient::findAll);
+ *     scope.join();
+ *     ...products.get(), customers.get()
+ * }
+ * </pre>
+ */
+@Component
+public class FanOut {
+
+    private final ExecutorService backendCallExecutor;
+    private final Duration defaultDeadline;
+
+    public FanOut(ExecutorService backendCallExecutor,
+                  @Value("${backend.fan-out.deadline:15s}") Duration defaultDeadline) {
+        this.backendCallExecutor = backendCallExecutor;
+        this.defaultDeadline = defaultDeadline;
+    }
+
+    /**
+     * Open a scope whose calls must all finish within the default deadline
+     */
+    public FanOutScope open() {
+        return open(defaultDeadline);
+    }
+
+    public FanOutScope open(Duration deadline) {
+        return new FanOutScope(backendCallExecutor, deadline);
+    }
+}
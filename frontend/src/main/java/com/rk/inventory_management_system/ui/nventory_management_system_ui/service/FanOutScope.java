@@ -0,0 +1,247 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.service;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.BackendIdentity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A group of backend calls forked from one request thread and joined before it continues.
+ * Forked calls see the caller's RequestContextHolder attributes, or outside a request the
+ * BackendIdentity bound to the caller, so RestClient still forwards the user's JWT and cookies. The first failure or missed deadline cancels every sibling, and
+ * close() does not return while forked calls are still touching the request.
+ */
+@Slf4j
+public class FanOutScope implements AutoCloseable {
+
+    private static final Duration CLOSE_GRACE = Duration.ofSeconds(2);
+
+    private final ExecutorService executor;
+    private final long deadlineNanos;
+    private final RequestAttributes requestAttributes;
+    private final BackendIdentity identity;
+    private final Thread owner = Thread.currentThread();
+    private final List<Subtask<?>> subtasks = new ArrayList<>();
+    private final BlockingQueue<Subtask<?>> completed = new LinkedBlockingQueue<>();
+    private final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+    private final Phaser running = new Phaser(1);
+    private boolean joined;
+    private boolean closed;
+
+    FanOutScope(ExecutorService executor, Duration deadline) {
+        this.executor = executor;
+        this.deadlineNanos = System.nanoTime() + deadline.toNanos();
+        this.requestAttributes = RequestContextHolder.getRequestAttributes();
+        // Background work (e.g. PrecomputedPayloads refreshes) has no request, only a bound identity
+        this.identity = requestAttributes == null ? BackendIdentity.current() : null;
+    }
+
+    public <T> Subtask<T> fork(String name, Callable<T> call) {
+        return fork(name, null, call);
+    }
+
+    /**
+     * Start a call with its own deadline; it is still bounded by the scope deadline
+     */
+    public <T> Subtask<T> fork(String name, Duration deadline, Callable<T> call) {
+        checkOwner();
+        if (joined || closed) {
+            throw new IllegalStateException("Cannot fork '" + name + "' after the scope was joined or closed");
+        }
+        long callDeadline = deadline == null
+                ? deadlineNanos
+                : Math.min(deadlineNanos, System.nanoTime() + deadline.toNanos());
+
+        Subtask<T> subtask = new Subtask<>(name, callDeadline, withRequestContext(call));
+        subtasks.add(subtask);
+        running.register();
+        try {
+            executor.execute(subtask.task);
+        } catch (RejectedExecutionException e) {
+            running.arriveAndDeregister();
+            subtasks.remove(subtask);
+            throw e;
+        }
+        return subtask;
+    }
+
+    /**
+     * Wait for every forked call. Rethrows the first failure as-is, or a ResourceAccessException
+     * for a call that missed its deadline; either way the remaining calls are cancelled.
+     */
+    public void join() {
+        checkOwner();
+        joined = true;
+        int remaining = subtasks.size();
+        try {
+            while (remaining > 0) {
+                throwIfFailed();
+                long nextDeadline = nextPendingDeadline();
+                Subtask<?> done = nextDeadline == Long.MAX_VALUE
+                        ? completed.take()
+                        : completed.poll(Math.max(0, nextDeadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (done != null) {
+                    remaining--;
+                } else {
+                    expireOverdue();
+                }
+            }
+            throwIfFailed();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelAll();
+            throw new ResourceAccessException("Interrupted while waiting for backend calls");
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        cancelAll();
+        // Cancelled calls may still be inside the RestClient interceptor reading the request
+        int phase = running.arriveAndDeregister();
+        try {
+            running.awaitAdvanceInterruptibly(phase, CLOSE_GRACE.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            log.warn("Backend calls still running {} after their scope closed", CLOSE_GRACE);
+        }
+    }
+
+    private <T> Callable<T> withRequestContext(Callable<T> call) {
+        RequestAttributes attributes = requestAttributes;
+        if (attributes == null && identity != null) {
+            return () -> BackendIdentity.callAs(identity, call);
+        }
+        return () -> {
+            RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+            RequestContextHolder.setRequestAttributes(attributes);
+            try {
+                return call.call();
+            } finally {
+                if (previous == null) {
+                    RequestContextHolder.resetRequestAttributes();
+                } else {
+                    RequestContextHolder.setRequestAttributes(previous);
+                }
+            }
+        };
+    }
+
+    private long nextPendingDeadline() {
+        long next = Long.MAX_VALUE;
+        for (Subtask<?> subtask : subtasks) {
+            if (!subtask.task.isDone()) {
+                next = Math.min(next, subtask.deadlineNanos);
+            }
+        }
+        return next;
+    }
+
+    private void expireOverdue() {
+        long now = System.nanoTime();
+        for (Subtask<?> subtask : subtasks) {
+            if (!subtask.task.isDone() && subtask.deadlineNanos - now <= 0) {
+                fail(subtask.name, new ResourceAccessException("Backend call '" + subtask.name + "' missed its deadline"));
+            }
+        }
+    }
+
+    private void fail(String name, Throwable cause) {
+        if (firstFailure.compareAndSet(null, cause)) {
+            log.debug("Backend call '{}' failed, cancelling its siblings", name, cause);
+            cancelAll();
+        }
+    }
+
+    private void throwIfFailed() {
+        Throwable failure = firstFailure.get();
+        if (failure == null) {
+            return;
+        }
+        cancelAll();
+        if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        throw new IllegalStateException("Backend call failed", failure);
+    }
+
+    private void cancelAll() {
+        for (Subtask<?> subtask : subtasks) {
+            subtask.task.cancel(true);
+        }
+    }
+
+    private void checkOwner() {
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("FanOutScope used outside the thread that opened it");
+        }
+    }
+
+    /**
+     * Handle to one forked call; its result is available once the scope joined successfully
+     */
+    public final class Subtask<T> {
+
+        private final String name;
+        private final long deadlineNanos;
+        private final FutureTask<T> task;
+
+        private Subtask(String name, long deadlineNanos, Callable<T> call) {
+            this.name = name;
+            this.deadlineNanos = deadlineNanos;
+            this.task = new FutureTask<>(call) {
+                @Override
+                public void run() {
+                    try {
+                        super.run();
+                    } finally {
+                        running.arriveAndDeregister();
+                    }
+                }
+
+                @Override
+                protected void done() {
+                    if (state() == Future.State.FAILED) {
+                        fail(Subtask.this.name, exceptionNow());
+                    }
+                    completed.add(Subtask.this);
+                }
+            };
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public T get() {
+            if (task.state() != Future.State.SUCCESS) {
+                throw new IllegalStateException("Backend call '" + name + "' has no result (" + task.state() + ")");
+            }
+            return task.resultNow();
+        }
+    }
+}
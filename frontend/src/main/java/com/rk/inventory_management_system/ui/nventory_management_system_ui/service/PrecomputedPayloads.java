@@ -0,0 +1,272 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.service;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.BackendIdentity;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.TokenVerifier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Stale-while-revalidate store for payloads that take a full aggregation to compute (the
+ * dashboard's JSON endpoints). Only the very first request for a key computes in-line; after
+ * that the last payload is served at once, with its age, and recomputed in the background on
+ * backend-call threads when it goes stale:
+ * <ul>
+ *     <li>older than backend.dashboard.precompute.refresh-interval, or</li>
+ *     <li>its data version (e.g. OrderAnalytics / ReferenceDataCache versions) has moved.</li>
+ * </ul>
+ * Besides requests, a ticker checks every check-interval and refreshes stale payloads that were
+ * requested within idle-after or are {@link #watch watched} (live feeds), so a dashboard is
+ * already up to date when it polls. {@link #addListener Listeners} see every new payload.
+ * Refreshes of a key are coalesced: at most one runs at a time, however many requests or ticks
+ * ask for it. They run with the credentials of the key's latest requester.
+ * <p>
+ * Payloads are shared between requests and must be treated as read-only. They are shared
+ * between users too, so {@link #get} only answers callers whose token the backend accepts
+ * ({@link TokenVerifier}).
+ */
+@Slf4j
+@Component
+public class PrecomputedPayloads implements SmartLifecycle {
+
+    private final ExecutorService backendCallExecutor;
+    private final TokenVerifier tokenVerifier;
+    private final long refreshIntervalNanos;
+    private final Duration checkInterval;
+    private final long idleAfterNanos;
+    private final Map<String, Entry<?>> entries = new ConcurrentHashMap<>();
+    private final List<BiConsumer<String, Object>> listeners = new CopyOnWriteArrayList<>();
+    private volatile ScheduledExecutorService ticker;
+
+    /**
+     * A computed payload, the data version it was computed at and when (System.nanoTime)
+     */
+    public record Payload<T>(T value, Object version, long computedAt) {
+
+        public Duration age() {
+            return Duration.ofNanos(System.nanoTime() - computedAt);
+        }
+    }
+
+    public PrecomputedPayloads(ExecutorService backendCallExecutor,
+                               TokenVerifier tokenVerifier,
+                               @Value("${backend.dashboard.precompute.refresh-interval:30s}") Duration refreshInterval,
+                               @Value("${backend.dashboard.precompute.check-interval:2s}") Duration checkInterval,
+                               @Value("${backend.dashboard.precompute.idle-after:10m}") Duration idleAfter) {
+        this.backendCallExecutor = backendCallExecutor;
+        this.tokenVerifier = tokenVerifier;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+        this.checkInterval = checkInterval;
+        this.idleAfterNanos = idleAfter.toNanos();
+    }
+
+    /**
+     * The latest payload of a key, computed in-line only if there is none yet. Fails with a 401
+     * HttpClientErrorException for a caller whose token the backend rejects.
+     *
+     * @param version data version of the payload, compared with equals; read after each computation
+     * @param compute builds the payload; failures leave the previous payload in place
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Payload<T> get(String key, Supplier<?> version, Callable<T> compute) throws Exception {
+        tokenVerifier.verify();
+        Entry<T> entry = (Entry<T>) entries.computeIfAbsent(key, k -> new Entry<>(k, version, compute));
+        entry.requested(BackendIdentity.capture());
+        Payload<T> payload = entry.payload;
+        if (payload == null) {
+            return entry.computeFirst();
+        }
+        if (entry.isStale()) {
+            entry.refreshInBackground();
+        }
+        return payload;
+    }
+
+    /**
+     * The latest payload of a key, without computing or refreshing it; null if there is none
+     */
+    public Object peek(String key) {
+        Entry<?> entry = entries.get(key);
+        Payload<?> payload = entry != null ? entry.payload : null;
+        return payload != null ? payload.value() : null;
+    }
+
+    /**
+     * Called with the key and value of every payload computed from now on, on the computing thread
+     */
+    public void addListener(BiConsumer<String, Object> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Keep refreshing an existing key while watched, with the watcher's credentials; every
+     * watch must be followed by one {@link #unwatch}
+     */
+    public void watch(String key, BackendIdentity identity) {
+        Entry<?> entry = entries.get(key);
+        if (entry != null) {
+            entry.watchers.incrementAndGet();
+            entry.requested(identity);
+        }
+    }
+
+    public void unwatch(String key) {
+        Entry<?> entry = entries.get(key);
+        if (entry != null) {
+            entry.watchers.decrementAndGet();
+        }
+    }
+
+    // ---------------- ticker ----------------
+
+    @Override
+    public void start() {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("payload-refresh").daemon(true).factory());
+        long period = checkInterval.toMillis();
+        executor.scheduleWithFixedDelay(this::refreshWatched, period, period, TimeUnit.MILLISECONDS);
+        ticker = executor;
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = ticker;
+        ticker = null;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ticker != null;
+    }
+
+    private void refreshWatched() {
+        long now = System.nanoTime();
+        for (Entry<?> entry : entries.values()) {
+            try {
+                boolean watched = entry.watchers.get() > 0 || now - entry.requestedAt < idleAfterNanos;
+                if (watched && entry.isStale()) {
+                    entry.refreshInBackground();
+                }
+            } catch (RuntimeException e) {
+                // A failing version check must not stop the ticker
+                log.warn("Could not check precomputed payload {}: {}", entry.key, e.getMessage());
+            }
+        }
+    }
+
+    // ---------------- entries ----------------
+
+    private final class Entry<T> {
+
+        private final String key;
+        private final Supplier<?> version;
+        private final Callable<T> compute;
+        // Not synchronized: computing calls the backend and would pin a virtual thread
+        private final ReentrantLock firstLock = new ReentrantLock();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private final AtomicInteger watchers = new AtomicInteger();
+        private volatile Payload<T> payload;
+        private volatile BackendIdentity identity;
+        private volatile long requestedAt;
+        // After a failed refresh, no retry before this (System.nanoTime)
+        private volatile long retryAt = System.nanoTime();
+
+        Entry(String key, Supplier<?> version, Callable<T> compute) {
+            this.key = key;
+            this.version = version;
+            this.compute = compute;
+        }
+
+        void requested(BackendIdentity requester) {
+            requestedAt = System.nanoTime();
+            if (requester != null) {
+                identity = requester;
+            }
+        }
+
+        boolean isStale() {
+            Payload<T> current = payload;
+            long now = System.nanoTime();
+            if (current == null || now - retryAt < 0) {
+                return false;
+            }
+            return now - current.computedAt() > refreshIntervalNanos || !Objects.equals(current.version(), version.get());
+        }
+
+        Payload<T> computeFirst() throws Exception {
+            firstLock.lock();
+            try {
+                // Concurrent first requests wait for one computation
+                Payload<T> current = payload;
+                if (current == null) {
+                    current = computeNow();
+                }
+                return current;
+            } finally {
+                firstLock.unlock();
+            }
+        }
+
+        void refreshInBackground() {
+            if (!refreshing.compareAndSet(false, true)) {
+                return;
+            }
+            BackendIdentity runAs = identity;
+            try {
+                backendCallExecutor.execute(() -> {
+                    try {
+                        BackendIdentity.callAs(runAs, this::computeNow);
+                    } catch (Exception e) {
+                        retryAt = System.nanoTime() + refreshIntervalNanos;
+                        log.warn("Refresh of precomputed payload {} failed, serving the previous one: {}", key, e.getMessage());
+                    } finally {
+                        refreshing.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                refreshing.set(false);
+            }
+        }
+
+        private Payload<T> computeNow() throws Exception {
+            long started = System.nanoTime();
+            // Read before: a change landing mid-computation must leave the payload stale. When
+            // computing itself loads the data (a cold start) that costs one extra recompute.
+            Object computedVersion = version.get();
+            T value = compute.call();
+            Payload<T> computed = new Payload<>(value, computedVersion, started);
+            payload = computed;
+            log.debug("Precomputed payload {} in {} ms", key, (System.nanoTime() - started) / 1_000_000);
+            for (BiConsumer<String, Object> listener : listeners) {
+                try {
+                    listener.accept(key, value);
+                } catch (RuntimeException e) {
+                    log.warn("Payload listener failed for {}: {}", key, e.getMessage());
+                }
+            }
+            return computed;
+        }
+    }
+}
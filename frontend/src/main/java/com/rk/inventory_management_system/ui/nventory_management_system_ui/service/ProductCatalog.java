@@ -0,0 +1,499 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.service;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.ProductsClient;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.BackendIdentity;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.ReferenceDataCache;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductPageDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductPageQuery;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductStockDetailsDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductStockResponseDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.SupplierDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.ProductSort;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.StockBand;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.search.SearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Server-side view of the product list. The product list is turned into an immutable snapshot
+ * once per ReferenceDataCache version: products in name order, the stock and price orderings
+ * as position arrays, category/supplier/band membership as bitsets and per-band counters for
+ * the whole catalog and for each category and supplier. A page request then only combines
+ * bitsets and walks one ordering until the page is full, so the work done and the HTML
+ * rendered per request no longer grow with the catalog.
+ * <p>
+ * Every list a snapshot is built from is also handed to {@link StockLevels}. While stock
+ * streams are open, a poll every backend.products.live.poll-interval looks up the products
+ * StockLevels queued and revalidates the snapshot, so stock changed outside this frontend
+ * reaches the streams within catalog.max-age.
+ * <p>
+ * Snapshot products are shared between requests and must be treated as read-only.
+ */
+@Slf4j
+@Component
+public class ProductCatalog implements SmartLifecycle {
+
+    private static final StockBand[] BANDS = StockBand.values();
+
+    private final ProductsClient productsClient;
+    private final ReferenceDataCache referenceDataCache;
+    private final SearchService searchService;
+    private final StockLevels stockLevels;
+    private final ExecutorService backendCallExecutor;
+    private final long maxAgeNanos;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final Duration pollInterval;
+    // Not synchronized: builds call the backend and would pin a virtual thread
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+    private volatile ScheduledExecutorService ticker;
+
+    public ProductCatalog(ProductsClient productsClient,
+                          ReferenceDataCache referenceDataCache,
+                          SearchService searchService,
+                          StockLevels stockLevels,
+                          ExecutorService backendCallExecutor,
+                          @Value("${backend.products.catalog.max-age:30s}") Duration maxAge,
+                          @Value("${backend.products.page.default-size:24}") int defaultPageSize,
+                          @Value("${backend.products.page.max-size:96}") int maxPageSize,
+                          @Value("${backend.products.live.poll-interval:5s}") Duration pollInterval) {
+        this.productsClient = productsClient;
+        this.referenceDataCache = referenceDataCache;
+        this.searchService = searchService;
+        this.stockLevels = stockLevels;
+        this.backendCallExecutor = backendCallExecutor;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.pollInterval = pollInterval;
+    }
+
+    public ProductPageDto page(ProductPageQuery query) {
+        Snapshot current = snapshot();
+        int size = query.getSize() <= 0 ? defaultPageSize : Math.min(query.getSize(), maxPageSize);
+        int page = Math.max(0, query.getPage());
+
+        BitSet scope = current.scope(query, matchingIds(query.getSearch()));
+        BitSet filter = scope;
+        if (query.getBand() != null) {
+            filter = copyOrAll(scope, current.size());
+            filter.and(current.byBand[query.getBand().ordinal()]);
+        }
+
+        long total = filter == null ? current.size() : filter.cardinality();
+        int totalPages = (int) ((total + size - 1) / size);
+        List<ProductDto> content = current.slice(query.getSort(), filter, (long) page * size, size);
+
+        return ProductPageDto.builder()
+                .content(content)
+                .page(page)
+                .size(size)
+                .totalElements(total)
+                .totalPages(totalPages)
+                .hasNext((long) (page + 1) * size < total)
+                .bandCounts(current.bandCounts(query, scope))
+                .build();
+    }
+
+    /**
+     * Products per stock band over the whole catalog, from the precomputed counters
+     */
+    public Map<StockBand, Long> bandTotals() {
+        Snapshot current = snapshot();
+        Map<StockBand, Long> totals = new LinkedHashMap<>();
+        for (StockBand band : BANDS) {
+            totals.put(band, current.bandTotals[band.ordinal()]);
+        }
+        return totals;
+    }
+
+    public long totalProducts() {
+        return snapshot().size();
+    }
+
+    /**
+     * Distinct suppliers of the catalog's products, by name
+     */
+    public List<SupplierDto> suppliers() {
+        return snapshot().suppliers;
+    }
+
+    private long[] matchingIds(String search) {
+        if (search == null || search.isBlank()) {
+            return null;
+        }
+        return searchService.searchProducts(search.trim()).stream()
+                .map(ProductDto::getProductId)
+                .filter(id -> id != null)
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current;
+        }
+        buildLock.lock();
+        try {
+            current = snapshot;
+            if (isFresh(current)) {
+                return current;
+            }
+            // Read the version first: a change that lands while the list is fetched leaves the
+            // snapshot one version behind, so the next request rebuilds from the newer list
+            long version = referenceDataCache.version(ReferenceDataCache.PRODUCTS);
+            long started = System.nanoTime();
+            List<ProductDto> products;
+            try {
+                products = productsClient.findAll();
+            } catch (RuntimeException e) {
+                if (current == null) {
+                    throw e;
+                }
+                log.warn("Product catalog refresh failed, serving the previous snapshot: {}", e.getMessage());
+                return current;
+            }
+            current = Snapshot.build(products, version, System.nanoTime());
+            snapshot = current;
+            stockLevels.productsLoaded(products, version);
+            log.debug("Built product catalog of {} products in {} ms", current.size(), (System.nanoTime() - started) / 1_000_000);
+            return current;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    // ---------------- stock poll ----------------
+
+    @Override
+    public void start() {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("stock-poll").daemon(true).factory());
+        long period = pollInterval.toMillis();
+        executor.scheduleWithFixedDelay(this::poll, period, period, TimeUnit.MILLISECONDS);
+        ticker = executor;
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = ticker;
+        ticker = null;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ticker != null;
+    }
+
+    private void poll() {
+        // Only while a stock stream is open, with its subscriber's credentials
+        BackendIdentity identity = stockLevels.watcher();
+        if (identity == null || !polling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            backendCallExecutor.execute(() -> {
+                try {
+                    BackendIdentity.runAs(identity, this::pollNow);
+                } catch (RuntimeException e) {
+                    log.warn("Stock poll failed: {}", e.getMessage());
+                } finally {
+                    polling.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            polling.set(false);
+        }
+    }
+
+    private void pollNow() {
+        Set<Long> ids = stockLevels.drainPending();
+        if (!ids.isEmpty()) {
+            // A lookup also reports the same product at its other suppliers
+            Map<Long, Integer> reported = new HashMap<>();
+            for (ProductStockResponseDto stock : productsClient.findProductStockByIds(ids).getStock()) {
+                if (stock.getProductStockDetails() != null && !stock.getProductStockDetails().isEmpty()) {
+                    for (ProductStockDetailsDto details : stock.getProductStockDetails()) {
+                        if (details.getProductId() != null && details.getStockQuantity() != null) {
+                            reported.put(details.getProductId(), details.getStockQuantity());
+                        }
+                    }
+                } else if (stock.getProductId() != null && stock.getTotalStock() != null) {
+                    reported.put(stock.getProductId(), stock.getTotalStock());
+                }
+            }
+            stockLevels.stockReported(reported);
+        }
+        // Rebuilds, and so reconciles StockLevels, once the list changed or is older than max-age
+        snapshot();
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null
+                && current.version == referenceDataCache.version(ReferenceDataCache.PRODUCTS)
+                && System.nanoTime() - current.builtAt < maxAgeNanos;
+    }
+
+    private static BitSet copyOrAll(BitSet bits, int size) {
+        if (bits != null) {
+            return (BitSet) bits.clone();
+        }
+        BitSet all = new BitSet(size);
+        all.set(0, size);
+        return all;
+    }
+
+    private static String nameKey(ProductDto product) {
+        return product.getName() == null ? "" : product.getName().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Snapshot {
+
+        final long version;
+        final long builtAt;
+        // Name order (case-insensitive, then id); every other structure refers to these positions
+        final ProductDto[] products;
+        final String[] names;
+        final Map<Long, Integer> positionById;
+        // Positions in sort order, indexed by ProductSort ordinal; null for the name sorts
+        final int[][] orders;
+        final Map<Long, BitSet> byCategory;
+        final Map<Long, BitSet> bySupplier;
+        final BitSet[] byBand;
+        final long[] bandTotals;
+        final Map<Long, long[]> bandsByCategory;
+        final Map<Long, long[]> bandsBySupplier;
+        final List<SupplierDto> suppliers;
+
+        private Snapshot(long version, long builtAt, ProductDto[] products) {
+            this.version = version;
+            this.builtAt = builtAt;
+            this.products = products;
+            int n = products.length;
+            this.names = new String[n];
+            this.positionById = new HashMap<>(n * 2);
+            this.byCategory = new HashMap<>();
+            this.bySupplier = new HashMap<>();
+            this.byBand = new BitSet[BANDS.length];
+            this.bandTotals = new long[BANDS.length];
+            this.bandsByCategory = new HashMap<>();
+            this.bandsBySupplier = new HashMap<>();
+            for (int b = 0; b < BANDS.length; b++) {
+                byBand[b] = new BitSet(n);
+            }
+
+            Map<Long, SupplierDto> distinctSuppliers = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                ProductDto product = products[i];
+                names[i] = nameKey(product);
+                if (product.getProductId() != null) {
+                    positionById.put(product.getProductId(), i);
+                }
+                int band = StockBand.of(product.getStockQuantity()).ordinal();
+                byBand[band].set(i);
+                bandTotals[band]++;
+
+                Long categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
+                if (categoryId != null) {
+                    byCategory.computeIfAbsent(categoryId, id -> new BitSet(n)).set(i);
+                    bandsByCategory.computeIfAbsent(categoryId, id -> new long[BANDS.length])[band]++;
+                }
+                Long supplierId = product.getSupplier() != null ? product.getSupplier().getId() : null;
+                if (supplierId != null) {
+                    bySupplier.computeIfAbsent(supplierId, id -> new BitSet(n)).set(i);
+                    bandsBySupplier.computeIfAbsent(supplierId, id -> new long[BANDS.length])[band]++;
+                    distinctSuppliers.putIfAbsent(supplierId, product.getSupplier());
+                }
+            }
+
+            this.orders = new int[ProductSort.values().length][];
+            ToDoubleFunction<ProductDto> stock = product -> product.getStockQuantity() == null ? 0 : product.getStockQuantity();
+            ToDoubleFunction<ProductDto> price = product -> product.getSellingPrice() == null ? 0 : product.getSellingPrice();
+            orders[ProductSort.STOCK_LOW.ordinal()] = order(stock, false);
+            orders[ProductSort.STOCK_HIGH.ordinal()] = order(stock, true);
+            orders[ProductSort.PRICE_LOW.ordinal()] = order(price, false);
+            orders[ProductSort.PRICE_HIGH.ordinal()] = order(price, true);
+
+            List<SupplierDto> supplierList = new ArrayList<>(distinctSuppliers.values());
+            supplierList.sort(Comparator.comparing(SupplierDto::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+            this.suppliers = List.copyOf(supplierList);
+        }
+
+        static Snapshot build(List<ProductDto> list, long version, long builtAt) {
+            ProductDto[] products = list.toArray(ProductDto[]::new);
+            Arrays.sort(products, Comparator.comparing(ProductCatalog::nameKey)
+                    .thenComparing(ProductDto::getProductId, Comparator.nullsLast(Comparator.naturalOrder())));
+            return new Snapshot(version, builtAt, products);
+        }
+
+        int size() {
+            return products.length;
+        }
+
+        // Stable sort of name-ordered positions, so equal keys stay A-Z in both directions
+        private int[] order(ToDoubleFunction<ProductDto> key, boolean descending) {
+            Comparator<Integer> byKey = Comparator.comparingDouble(position -> key.applyAsDouble(products[position]));
+            return IntStream.range(0, products.length).boxed()
+                    .sorted(descending ? byKey.reversed() : byKey)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        /**
+         * Everything but the band filter, or null when nothing narrows the catalog
+         */
+        BitSet scope(ProductPageQuery query, long[] searchIds) {
+            BitSet scope = null;
+            if (query.getCategoryId() != null) {
+                scope = narrow(scope, byCategory.get(query.getCategoryId()));
+            }
+            if (query.getSupplierId() != null) {
+                scope = narrow(scope, bySupplier.get(query.getSupplierId()));
+            }
+            String prefix = query.getPrefix();
+            if (prefix != null && !prefix.isBlank()) {
+                String key = prefix.trim().toLowerCase(Locale.ROOT);
+                BitSet range = new BitSet(products.length);
+                range.set(lowerBound(key), lowerBound(key + Character.MAX_VALUE));
+                scope = narrow(scope, range);
+            }
+            if (searchIds != null) {
+                BitSet matches = new BitSet(products.length);
+                for (long id : searchIds) {
+                    Integer position = positionById.get(id);
+                    if (position != null) {
+                        matches.set(position);
+                    }
+                }
+                scope = narrow(scope, matches);
+            }
+            return scope;
+        }
+
+        private BitSet narrow(BitSet scope, BitSet members) {
+            if (members == null) {
+                return new BitSet();
+            }
+            BitSet narrowed = scope == null ? (BitSet) members.clone() : scope;
+            if (scope != null) {
+                narrowed.and(members);
+            }
+            return narrowed;
+        }
+
+        // First name position whose key is >= the given key
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = names.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (names[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        List<ProductDto> slice(ProductSort sort, BitSet filter, long offset, int limit) {
+            int n = products.length;
+            List<ProductDto> page = new ArrayList<>(limit);
+            if (offset >= n) {
+                return page;
+            }
+            int[] order = orders[sort.ordinal()];
+            if (filter == null) {
+                // Unfiltered: jump straight to the offset
+                for (int k = (int) offset; k < n && page.size() < limit; k++) {
+                    page.add(products[positionAt(sort, order, k)]);
+                }
+                return page;
+            }
+            long skipped = 0;
+            if (order == null) {
+                // Name sorts walk the bitset itself, which is already in name order
+                boolean descending = sort == ProductSort.NAME_DESC;
+                for (int i = descending ? filter.previousSetBit(n - 1) : filter.nextSetBit(0);
+                     i >= 0 && page.size() < limit;
+                     i = descending ? filter.previousSetBit(i - 1) : filter.nextSetBit(i + 1)) {
+                    if (skipped++ >= offset) {
+                        page.add(products[i]);
+                    }
+                }
+                return page;
+            }
+            for (int k = 0; k < n && page.size() < limit; k++) {
+                int position = order[k];
+                if (filter.get(position) && skipped++ >= offset) {
+                    page.add(products[position]);
+                }
+            }
+            return page;
+        }
+
+        private int positionAt(ProductSort sort, int[] order, int k) {
+            if (order != null) {
+                return order[k];
+            }
+            return sort == ProductSort.NAME_DESC ? products.length - 1 - k : k;
+        }
+
+        Map<String, Long> bandCounts(ProductPageQuery query, BitSet scope) {
+            long[] counts;
+            boolean searched = (query.getSearch() != null && !query.getSearch().isBlank())
+                    || (query.getPrefix() != null && !query.getPrefix().isBlank());
+            if (scope == null) {
+                counts = bandTotals;
+            } else if (!searched && query.getSupplierId() == null) {
+                counts = bandsByCategory.getOrDefault(query.getCategoryId(), new long[BANDS.length]);
+            } else if (!searched && query.getCategoryId() == null) {
+                counts = bandsBySupplier.getOrDefault(query.getSupplierId(), new long[BANDS.length]);
+            } else {
+                counts = new long[BANDS.length];
+                for (int b = 0; b < BANDS.length; b++) {
+                    BitSet inBand = (BitSet) scope.clone();
+                    inBand.and(byBand[b]);
+                    counts[b] = inBand.cardinality();
+                }
+            }
+
+            Map<String, Long> result = new LinkedHashMap<>();
+            result.put("all", Arrays.stream(counts).sum());
+            for (StockBand band : BANDS) {
+                result.put(band.getParam(), counts[band.ordinal()]);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.service;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.BackendIdentity;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderItemDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.StockBand;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Live stock level of every product and the per-band counters, streamed to open product pages
+ * as Server-Sent Events (see {@link EventBroadcast}, configured under backend.products.live):
+ * <ul>
+ *     <li>{@code snapshot}: {@code {"total": n, "bands": {"in-stock": n, "low-stock": n, "critical": n}}}</li>
+ *     <li>{@code stock}: the products whose quantity changed, {@code [{"productId", "stockQuantity",
+ *     "band", "previousBand"}]}, the band counter deltas and the new counters</li>
+ * </ul>
+ * Like OrderAnalytics it fetches nothing itself. The clients report stock mutations as they
+ * pass through ({@link #stockIncreased}, {@link #stockReduced}, {@link #orderCreated}); products
+ * whose new quantity is not known from the response are queued and looked up by
+ * ProductCatalog's poll, which also revalidates the whole list so changes made elsewhere show
+ * up. Every product list ProductCatalog builds on is reconciled with the known quantities.
+ */
+@Slf4j
+@Component
+public class StockLevels {
+
+    private static final String STOCK = "stock";
+    private static final StockBand[] BANDS = StockBand.values();
+
+    // Not synchronized: subscribers are added from request threads, which may be virtual
+    private final ReentrantLock lock = new ReentrantLock();
+    private final EventBroadcast broadcast;
+    private final Map<Long, Integer> quantities = new HashMap<>();
+    private final long[] bandTotals = new long[BANDS.length];
+    // Products whose quantity a mutation changed by an amount the response did not tell
+    private final Set<Long> pending = new HashSet<>();
+    private volatile boolean loaded;
+    // Product list versions (ReferenceDataCache) before this one predate a known mutation
+    private long changedAtVersion = Long.MIN_VALUE;
+    private volatile BackendIdentity watcher;
+
+    public StockLevels(@Value("${backend.products.live.heartbeat:15s}") Duration heartbeat,
+                       @Value("${backend.products.live.replay-events:256}") int replayEvents,
+                       @Value("${backend.products.live.subscriber-buffer:64}") int subscriberBuffer,
+                       @Value("${backend.products.live.max-subscribers:200}") int maxSubscribers) {
+        this.broadcast = new EventBroadcast("stock", lock, heartbeat, replayEvents, subscriberBuffer, maxSubscribers);
+    }
+
+    /**
+     * Stock events from now on; the credentials of the latest subscriber are used for polling
+     *
+     * @param lastEventId the client's Last-Event-ID header, null on a first connection
+     */
+    public Flux<ServerSentEvent<Object>> subscribe(String lastEventId) {
+        BackendIdentity identity = BackendIdentity.capture();
+        return broadcast.subscribe(lastEventId, this::counters, () -> {
+            if (identity != null) {
+                watcher = identity;
+            }
+        }, () -> { });
+    }
+
+    /**
+     * Credentials to poll the backend with, or null when no stream is open
+     */
+    public BackendIdentity watcher() {
+        return broadcast.subscriberCount() > 0 ? watcher : null;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // ---------------- updates ----------------
+
+    /**
+     * The whole product list, read at the given ReferenceDataCache version. Lists older than a
+     * mutation already reported are ignored, as they would undo it.
+     */
+    public void productsLoaded(List<ProductDto> products, long version) {
+        lock.lock();
+        try {
+            if (version < changedAtVersion) {
+                return;
+            }
+            Map<Long, Integer> reported = new HashMap<>(products.size() * 2);
+            for (ProductDto product : products) {
+                if (product.getProductId() != null) {
+                    reported.put(product.getProductId(), quantityOf(product.getStockQuantity()));
+                }
+            }
+            if (!loaded) {
+                // First list: the baseline, nothing to announce
+                reported.forEach((id, quantity) -> {
+                    quantities.put(id, quantity);
+                    bandTotals[StockBand.of(quantity).ordinal()]++;
+                });
+                loaded = true;
+                return;
+            }
+            List<Map<String, Object>> changes = new ArrayList<>();
+            long[] deltas = new long[BANDS.length];
+            reported.forEach((id, quantity) -> apply(id, quantity, changes, deltas));
+            for (Long id : List.copyOf(quantities.keySet())) {
+                if (!reported.containsKey(id)) {
+                    apply(id, null, changes, deltas);
+                }
+            }
+            publish(changes, deltas);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Quantities looked up for queued products (ProductsClient#findProductStockByIds)
+     */
+    public void stockReported(Map<Long, Integer> reported) {
+        lock.lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            List<Map<String, Object>> changes = new ArrayList<>();
+            long[] deltas = new long[BANDS.length];
+            reported.forEach((id, quantity) -> apply(id, quantityOf(quantity), changes, deltas));
+            publish(changes, deltas);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void stockIncreased(Long productId, int quantity, long version) {
+        lock.lock();
+        try {
+            changedAtVersion = Math.max(changedAtVersion, version);
+            Integer known = quantities.get(productId);
+            if (!loaded || known == null) {
+                queue(productId);
+                return;
+            }
+            List<Map<String, Object>> changes = new ArrayList<>();
+            long[] deltas = new long[BANDS.length];
+            apply(productId, known + quantity, changes, deltas);
+            publish(changes, deltas);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A reduction, which the backend may spread over the product's suppliers; the affected
+     * products it returns carry their new quantities
+     */
+    public void stockReduced(Long productId, List<ProductDto> affected, long version) {
+        lock.lock();
+        try {
+            changedAtVersion = Math.max(changedAtVersion, version);
+            List<Map<String, Object>> changes = new ArrayList<>();
+            long[] deltas = new long[BANDS.length];
+            boolean reported = false;
+            if (loaded && affected != null) {
+                for (ProductDto product : affected) {
+                    if (product.getProductId() != null && product.getStockQuantity() != null) {
+                        apply(product.getProductId(), product.getStockQuantity(), changes, deltas);
+                        reported |= product.getProductId().equals(productId);
+                    }
+                }
+            }
+            if (!reported) {
+                queue(productId);
+            }
+            publish(changes, deltas);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Orders move the stock of their products by rules the backend owns, so they are looked up
+     */
+    public void orderCreated(OrderDto order, long version) {
+        if (order == null || order.getOrderItems() == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            changedAtVersion = Math.max(changedAtVersion, version);
+            for (OrderItemDto item : order.getOrderItems()) {
+                if (item.getProductDto() != null && item.getProductDto().getProductId() != null) {
+                    queue(item.getProductDto().getProductId());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The queued products, now taken off the queue
+     */
+    public Set<Long> drainPending() {
+        lock.lock();
+        try {
+            Set<Long> ids = Set.copyOf(pending);
+            pending.clear();
+            return ids;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Only worth looking up while someone is watching; the next product list catches up otherwise
+    private void queue(Long productId) {
+        if (productId != null && broadcast.subscriberCount() > 0) {
+            pending.add(productId);
+        }
+    }
+
+    private void apply(Long productId, Integer quantity, List<Map<String, Object>> changes, long[] deltas) {
+        Integer previous = quantities.get(productId);
+        if (previous == null ? quantity == null : previous.equals(quantity)) {
+            return;
+        }
+        StockBand previousBand = previous != null ? StockBand.of(previous) : null;
+        StockBand band = quantity != null ? StockBand.of(quantity) : null;
+        if (quantity != null) {
+            quantities.put(productId, quantity);
+        } else {
+            quantities.remove(productId);
+        }
+        if (previousBand != band) {
+            if (previousBand != null) {
+                bandTotals[previousBand.ordinal()]--;
+                deltas[previousBand.ordinal()]--;
+            }
+            if (band != null) {
+                bandTotals[band.ordinal()]++;
+                deltas[band.ordinal()]++;
+            }
+        }
+        // A null quantity is a product that is gone
+        Map<String, Object> change = new LinkedHashMap<>();
+        change.put("productId", productId);
+        change.put("stockQuantity", quantity);
+        change.put("band", band != null ? band.getParam() : null);
+        change.put("previousBand", previousBand != null ? previousBand.getParam() : null);
+        changes.add(change);
+    }
+
+    private void publish(List<Map<String, Object>> changes, long[] deltas) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Map<String, Long> bandDeltas = new LinkedHashMap<>();
+        for (StockBand band : BANDS) {
+            bandDeltas.put(band.getParam(), deltas[band.ordinal()]);
+        }
+        Map<String, Object> event = counters();
+        event.put("changes", changes);
+        event.put("bandDeltas", bandDeltas);
+        broadcast.publish(STOCK, event);
+        log.debug("Published {} stock changes", changes.size());
+    }
+
+    private Map<String, Object> counters() {
+        Map<String, Long> bands = new LinkedHashMap<>();
+        for (StockBand band : BANDS) {
+            bands.put(band.getParam(), bandTotals[band.ordinal()]);
+        }
+        Map<String, Object> counters = new LinkedHashMap<>();
+        counters.put("total", (long) quantities.size());
+        counters.put("bands", bands);
+        return counters;
+    }
+
+    private static int quantityOf(Integer stockQuantity) {
+        return stockQuantity == null ? 0 : stockQuantity;
+    }
+}
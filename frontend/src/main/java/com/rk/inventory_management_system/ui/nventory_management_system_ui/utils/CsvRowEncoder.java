@@ -0,0 +1,153 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Writes RFC 4180 rows to a Writer one at a time, reusing a single line buffer. Fields are
+ * quoted only when they need it, text that a spreadsheet would run as a formula is prefixed
+ * with an apostrophe, and numbers never use exponent notation. The writer is flushed every
+ * {@code flushEvery} rows so the client receives the file while it is still being produced.
+ */
+public class CsvRowEncoder {
+
+    private static final String LINE_END = "\r\n";
+
+    private final Writer writer;
+    private final int flushEvery;
+    private final StringBuilder line = new StringBuilder(256);
+    private boolean rowStarted;
+    private long rows;
+
+    public CsvRowEncoder(Writer writer, int flushEvery) {
+        this.writer = writer;
+        this.flushEvery = Math.max(1, flushEvery);
+    }
+
+    public CsvRowEncoder header(String... names) throws IOException {
+        for (String name : names) {
+            text(name);
+        }
+        endRow();
+        // Headers go out straight away, before any data row has been computed
+        writer.flush();
+        return this;
+    }
+
+    public CsvRowEncoder text(String value) {
+        separator();
+        if (value == null || value.isEmpty()) {
+            return this;
+        }
+        boolean formula = "=+-@\t\r".indexOf(value.charAt(0)) >= 0;
+        boolean quote = formula || needsQuoting(value);
+        if (quote) {
+            line.append('"');
+        }
+        if (formula) {
+            line.append('\'');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        if (quote) {
+            line.append('"');
+        }
+        return this;
+    }
+
+    public CsvRowEncoder number(Long value) {
+        separator();
+        if (value != null) {
+            line.append(value.longValue());
+        }
+        return this;
+    }
+
+    public CsvRowEncoder number(Integer value) {
+        separator();
+        if (value != null) {
+            line.append(value.intValue());
+        }
+        return this;
+    }
+
+    public CsvRowEncoder number(Double value) {
+        separator();
+        if (value != null && Double.isFinite(value)) {
+            line.append(BigDecimal.valueOf(value).stripTrailingZeros().toPlainString());
+        }
+        return this;
+    }
+
+    /**
+     * Amount with exactly two decimals, e.g. 1250.50
+     */
+    public CsvRowEncoder money(Double value) {
+        separator();
+        if (value != null && Double.isFinite(value)) {
+            line.append(BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).toPlainString());
+        }
+        return this;
+    }
+
+    /**
+     * Any other value (enums, dates) by its toString, escaped like text
+     */
+    public CsvRowEncoder value(Object value) {
+        return text(value != null ? value.toString() : null);
+    }
+
+    /**
+     * {@code count} empty fields
+     */
+    public CsvRowEncoder blank(int count) {
+        for (int i = 0; i < count; i++) {
+            separator();
+        }
+        return this;
+    }
+
+    public void endRow() throws IOException {
+        line.append(LINE_END);
+        writer.write(line.toString());
+        line.setLength(0);
+        rowStarted = false;
+        if (++rows % flushEvery == 0) {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Rows written so far, header included
+     */
+    public long rows() {
+        return rows;
+    }
+
+    private void separator() {
+        if (rowStarted) {
+            line.append(',');
+        }
+        rowStarted = true;
+    }
+
+    private static boolean needsQuoting(String value) {
+        if (value.charAt(0) == ' ' || value.charAt(value.length() - 1) == ' ') {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
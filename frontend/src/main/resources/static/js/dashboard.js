@@ -8,7 +8,9 @@ document.addEventListener('DOMContentLoaded', function() {
 });
 
 function initializeDashboard() {
-    loadAnalyticsData();
+    if (!connectLiveDashboard()) {
+        loadAnalyticsData();
+    }
     setupSalesTrendButtons();
     setupModalEventListeners();
 }
@@ -747,15 +749,130 @@ window.onclick = function(event) {
     }
 }
 
-// Refresh data every 5 minutes
-setInterval(function() {
-    loadAnalyticsData();
+// Live updates: the server pushes a snapshot of the KPI cards, charts and stock overview, then
+// only the values that changed ("set"/"remove" by JSON pointer). EventSource reconnects on its
+// own and resumes from the last event it saw.
+let liveState = {};
+
+function connectLiveDashboard() {
+    if (typeof EventSource === 'undefined') {
+        return false;
+    }
+    showLoadingSpinners();
+    const source = new EventSource('/dashboard/live');
+    source.addEventListener('snapshot', event => {
+        liveState = JSON.parse(event.data);
+        hideLoadingSpinners();
+        renderLiveSections(Object.keys(liveState));
+    });
+    source.addEventListener('delta', event => {
+        const delta = JSON.parse(event.data);
+        const changed = new Set();
+        Object.entries(delta.set || {}).forEach(([pointer, value]) => changed.add(setPointer(liveState, pointer, value)));
+        (delta.remove || []).forEach(pointer => changed.add(setPointer(liveState, pointer, undefined)));
+        renderLiveSections([...changed]);
+    });
+    source.onerror = () => {
+        if (source.readyState !== EventSource.CLOSED) {
+            console.warn('Live dashboard disconnected, reconnecting...');
+            return;
+        }
+        // Refused for good (too many streams, or sent to the login page): poll instead
+        console.warn('Live dashboard unavailable, falling back to polling');
+        source.close();
+        hideLoadingSpinners();
+        loadAnalyticsData();
+        startPolling();
+    };
+    return true;
+}
+
+// Applies one JSON pointer to the state and returns the section (first token) it belongs to
+function setPointer(target, pointer, value) {
+    const tokens = pointer.split('/').slice(1).map(token => token.replace(/~1/g, '/').replace(/~0/g, '~'));
+    let node = target;
+    for (let i = 0; i < tokens.length - 1; i++) {
+        if (node[tokens[i]] === null || typeof node[tokens[i]] !== 'object') {
+            node[tokens[i]] = {};
+        }
+        node = node[tokens[i]];
+    }
+    const last = tokens[tokens.length - 1];
+    if (value === undefined) {
+        delete node[last];
+    } else {
+        node[last] = value;
+    }
+    return tokens[0];
+}
 
-    // Also refresh stock overview if the function exists
-    if (typeof loadStockOverview === 'function') {
-        loadStockOverview();
+function renderLiveSections(sections) {
+    if (sections.includes('kpis') && liveState.kpis) {
+        updateKpis(liveState.kpis);
     }
-}, 300000); // 5 minutes
+    if (sections.includes('chart-data') && liveState['chart-data']) {
+        renderCharts(liveState['chart-data']);
+    }
+    if (sections.includes('stock-overview') && liveState['stock-overview'] && typeof updateStockItemsList === 'function') {
+        updateStockItemsList(liveState['stock-overview']);
+    }
+}
+
+function updateKpis(kpis) {
+    const setText = (id, text) => {
+        const element = document.getElementById(id);
+        if (element) element.textContent = text;
+    };
+    const setChange = (prefix, change, suffix, upColor) => {
+        if (!change) return;
+        setText(prefix + 'Amount', '₹' + Math.round(change.amount || 0).toLocaleString());
+        setText(prefix + 'Change', (change.percentageChange || 0).toFixed(1) + suffix);
+        const color = change.isIncrease ? upColor : 'text-red-200';
+        const icon = document.getElementById(prefix + 'Icon');
+        if (icon) icon.className = (change.isIncrease ? 'bi bi-arrow-up ' : 'bi bi-arrow-down ') + color + ' mr-1';
+        const label = document.getElementById(prefix + 'Change');
+        if (label) label.className = color + ' text-xs font-medium';
+    };
+
+    setChange('kpiProfit', kpis.monthlyProfit, '% vs last month', 'text-emerald-200');
+    setChange('kpiRevenue', kpis.monthlyRevenue, '% growth', 'text-blue-200');
+    if (kpis.monthlyOrders) {
+        setText('kpiOrdersCount', kpis.monthlyOrders.count || 0);
+        setText('kpiNewOrders', '+' + (kpis.monthlyOrders.newOrders || 0) + ' new orders');
+    }
+    setText('kpiProductCount', kpis.productCount || 0);
+    const lowStock = kpis.lowStockCount || 0;
+    setText('kpiLowStock', lowStock + ' low stock items');
+    const lowStockIcon = document.getElementById('kpiLowStockIcon');
+    if (lowStockIcon) {
+        lowStockIcon.className = lowStock > 0 ? 'bi bi-exclamation-triangle text-orange-200 mr-1' : 'bi bi-check-circle text-green-200 mr-1';
+    }
+    const lowStockLabel = document.getElementById('kpiLowStock');
+    if (lowStockLabel) {
+        lowStockLabel.className = lowStock > 0 ? 'text-orange-200 text-xs font-medium' : 'text-green-200 text-xs font-medium';
+    }
+}
+
+// Without live updates, fall back to refreshing every 5 minutes
+let pollingTimer = null;
+
+function startPolling() {
+    if (pollingTimer !== null) {
+        return;
+    }
+    pollingTimer = setInterval(function() {
+        loadAnalyticsData();
+
+        // Also refresh stock overview if the function exists
+        if (typeof loadStockOverview === 'function') {
+            loadStockOverview();
+        }
+    }, 300000); // 5 minutes
+}
+
+if (typeof EventSource === 'undefined') {
+    startPolling();
+}
 
 // Export functions for global access
 window.openProfitModal = openProfitModal;
@@ -0,0 +1,189 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.CustomerDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderPageDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderPageQuery;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderSort;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderStatus;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * LocalOrderPager pages checked against sorting the whole filtered list and cutting it, for
+ * every sort, by page number and by walking the keyset cursors.
+ */
+class LocalOrderPagerTests {
+
+    private static final LocalDateTime FIRST = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final String[] NAMES = {"Ann Lee", "bob stone", "Cara Mills", "dan price", null};
+
+    private final Random random = new Random(42);
+
+    @Test
+    void pagesMatchBruteForce() {
+        List<OrderDto> orders = randomOrders(1500);
+        for (OrderSort sort : OrderSort.values()) {
+            for (int size : new int[]{1, 7, 25, 200}) {
+                OrderPageQuery query = OrderPageQuery.builder().sort(sort).size(size).build();
+                List<OrderDto> all = bruteForce(orders, query);
+                int pages = (all.size() + size - 1) / size;
+                for (int page = 0; page <= pages; page += Math.max(1, pages / 20)) {
+                    assertPageMatches(orders, query.toBuilder().page(page).build(), all);
+                }
+                assertPageMatches(orders, query.toBuilder().page(pages - 1).build(), all);
+            }
+        }
+    }
+
+    @Test
+    void filteredPagesMatchBruteForce() {
+        List<OrderDto> orders = randomOrders(1500);
+        String[] searches = {null, "", "an", "STONE", "1", "example"};
+        String[] statuses = {null, "", "COMPLETED", "CANCELLED"};
+        String[] types = {null, "SALE", "PURCHASE"};
+        for (int i = 0; i < 200; i++) {
+            OrderPageQuery query = OrderPageQuery.builder()
+                    .search(searches[random.nextInt(searches.length)])
+                    .status(statuses[random.nextInt(statuses.length)])
+                    .type(types[random.nextInt(types.length)])
+                    .sort(OrderSort.values()[random.nextInt(OrderSort.values().length)])
+                    .size(1 + random.nextInt(50))
+                    .page(random.nextInt(10))
+                    .build();
+            assertPageMatches(orders, query, bruteForce(orders, query));
+        }
+    }
+
+    @Test
+    void cursorWalkVisitsEveryOrderOnce() {
+        List<OrderDto> orders = randomOrders(1500);
+        for (OrderSort sort : List.of(OrderSort.DATE_DESC, OrderSort.DATE_ASC)) {
+            for (int size : new int[]{1, 13, 100}) {
+                OrderPageQuery query = OrderPageQuery.builder().sort(sort).size(size).status("COMPLETED").build();
+                List<OrderDto> all = bruteForce(orders, query);
+
+                List<OrderDto> walked = new ArrayList<>();
+                OrderPageDto page = LocalOrderPager.page(orders, query);
+                walked.addAll(page.getContent());
+                while (page.isHasNext()) {
+                    // A cursor that does not move would page forever
+                    assertThat(walked).hasSizeLessThan(all.size());
+                    assertThat(page.getNextCursor()).isNotNull();
+                    assertThat(page.getContent()).hasSize(size);
+                    page = LocalOrderPager.page(orders, query.toBuilder().cursor(page.getNextCursor()).build());
+                    assertThat(page.getTotalElements()).isEqualTo(all.size());
+                    walked.addAll(page.getContent());
+                }
+                assertThat(page.getNextCursor()).isNull();
+                assertThat(walked).as("%s by %d", sort, size).containsExactlyElementsOf(all);
+            }
+        }
+    }
+
+    @Test
+    void cursorSkipsPastTheLastOrderSeenEvenIfItIsGone() {
+        List<OrderDto> orders = randomOrders(300);
+        OrderPageQuery query = OrderPageQuery.builder().sort(OrderSort.DATE_DESC).size(20).build();
+        List<OrderDto> all = bruteForce(orders, query);
+        OrderPageDto first = LocalOrderPager.page(orders, query);
+
+        // The last order of the first page is deleted before the next page is asked for
+        List<OrderDto> remaining = new ArrayList<>(orders);
+        remaining.remove(first.getContent().get(19));
+        OrderPageDto second = LocalOrderPager.page(remaining, query.toBuilder().cursor(first.getNextCursor()).build());
+
+        assertThat(second.getContent()).containsExactlyElementsOf(all.subList(20, 40));
+    }
+
+    @Test
+    void pageFarPastTheEndIsEmpty() {
+        List<OrderDto> orders = randomOrders(100);
+        OrderPageDto page = LocalOrderPager.page(orders,
+                OrderPageQuery.builder().sort(OrderSort.TOTAL_HIGH).size(200).page(Integer.MAX_VALUE).build());
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getTotalElements()).isEqualTo(100);
+        assertThat(page.getTotalPages()).isEqualTo(1);
+    }
+
+    @Test
+    void malformedCursorStartsFromTheTop() {
+        List<OrderDto> orders = randomOrders(100);
+        OrderPageQuery query = OrderPageQuery.builder().sort(OrderSort.DATE_ASC).size(10).cursor("not a cursor").build();
+
+        assertThat(LocalOrderPager.page(orders, query).getContent())
+                .containsExactlyElementsOf(bruteForce(orders, query).subList(0, 10));
+    }
+
+    private static void assertPageMatches(List<OrderDto> orders, OrderPageQuery query, List<OrderDto> all) {
+        OrderPageDto page = LocalOrderPager.page(orders, query);
+        int size = query.getSize();
+        int from = Math.min(query.getPage() * size, all.size());
+        int to = Math.min(from + size, all.size());
+
+        assertThat(page.getContent()).as("%s", query).containsExactlyElementsOf(all.subList(from, to));
+        assertThat(page.getTotalElements()).isEqualTo(all.size());
+        assertThat(page.getTotalPages()).isEqualTo((all.size() + size - 1) / size);
+        assertThat(page.isHasNext()).isEqualTo(to < all.size());
+        if (page.isHasNext() && query.getSort().isKeyset()) {
+            assertThat(page.getNextCursor()).isEqualTo(LocalOrderPager.cursorOf(all.get(to - 1)));
+        } else {
+            assertThat(page.getNextCursor()).isNull();
+        }
+    }
+
+    private static List<OrderDto> bruteForce(List<OrderDto> orders, OrderPageQuery query) {
+        String search = query.getSearch() != null ? query.getSearch().trim().toLowerCase() : "";
+        String status = query.getStatus() != null ? query.getStatus().trim() : "";
+        String type = query.getType() != null ? query.getType().trim() : "";
+        List<OrderDto> matching = new ArrayList<>();
+        for (OrderDto order : orders) {
+            CustomerDto customer = order.getCustomer();
+            boolean searchHit = search.isEmpty()
+                    || String.valueOf(order.getOrderId()).contains(search)
+                    || (customer != null && customer.getName() != null && customer.getName().toLowerCase().contains(search))
+                    || (customer != null && customer.getEmail() != null && customer.getEmail().toLowerCase().contains(search));
+            boolean statusHit = status.isEmpty() || (order.getOrderStatus() != null && order.getOrderStatus().name().equals(status));
+            boolean typeHit = type.isEmpty() || (order.getOrderType() != null && order.getOrderType().name().equals(type));
+            if (searchHit && statusHit && typeHit) {
+                matching.add(order);
+            }
+        }
+        matching.sort(LocalOrderPager.comparator(query.getSort()));
+        return matching;
+    }
+
+    private List<OrderDto> randomOrders(int count) {
+        List<OrderDto> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OrderDto order = new OrderDto();
+            order.setOrderId((long) i + 1);
+            order.setOrderType(random.nextInt(4) == 0 ? OrderType.PURCHASE : OrderType.SALE);
+            order.setOrderStatus(OrderStatus.values()[random.nextInt(OrderStatus.values().length)]);
+            // Few distinct timestamps and totals, so ties are broken by id; some missing
+            order.setCreatedAt(random.nextInt(20) == 0 ? null : FIRST.plusHours(random.nextInt(60)));
+            order.setTotalPrice(random.nextInt(20) == 0 ? null : (double) random.nextInt(40));
+            String name = NAMES[random.nextInt(NAMES.length)];
+            if (name != null || random.nextBoolean()) {
+                CustomerDto customer = new CustomerDto();
+                customer.setName(name);
+                customer.setEmail(name != null ? name.replace(' ', '.') + "@example.com" : null);
+                order.setCustomer(customer);
+            }
+            orders.add(order);
+        }
+        // Input order must not matter
+        Collections.shuffle(orders, random);
+        return orders;
+    }
+}
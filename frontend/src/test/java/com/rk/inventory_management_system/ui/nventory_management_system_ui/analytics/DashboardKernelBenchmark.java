@@ -0,0 +1,359 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.CustomerDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderItemDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductCategoryDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderStatus;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderType;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.PaymentType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * All order figures of the dashboard (page KPIs, chart-data, the three profit-data periods and
+ * revenue-data) over synthetic order histories spread across 400 days:
+ * <ul>
+ *     <li>multiPass - the per-figure orders.stream() passes the controller used to make, each
+ *     reading the clock again (kept here as the baseline)</li>
+ *     <li>fusedKernel - the cold path: OrderColumns built from the same list, then
+ *     DashboardKernel's single pass over them</li>
+ *     <li>columnarKernel - DashboardKernel over columns built once per data version</li>
+ *     <li>runningTotals - DashboardFigures from the loaded OrderAnalytics buckets</li>
+ * </ul>
+ * Setup checks the kernel and the running totals agree.
+ * <p>
+ * Run: {@code mvn test-compile} then the main method (or org.openjdk.jmh.Main) with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class DashboardKernelBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int orders;
+
+    private List<OrderDto> history;
+    private OrderColumns columns;
+    private OrderAnalytics analytics;
+
+    @Setup
+    public void setUp() {
+        history = syntheticHistory(orders);
+        columns = OrderColumns.of(history, 0, System.nanoTime());
+        analytics = new OrderAnalytics(new SimpleMeterRegistry());
+        analytics.sync(history, System.nanoTime());
+
+        DashboardFigures kernel = fusedKernel();
+        DashboardFigures totals = runningTotals();
+        if (kernel.monthOrders() != totals.monthOrders()
+                || kernel.monthCustomers() != totals.monthCustomers()
+                || Math.abs(kernel.yearSales().profit() - totals.yearSales().profit()) > 1e-6 * Math.abs(totals.yearSales().profit())
+                || !kernel.yearTopProducts().products().get(0).id().equals(totals.yearTopProducts().products().get(0).id())) {
+            throw new IllegalStateException("Kernel and running totals disagree");
+        }
+    }
+
+    /**
+     * Orders over the last 400 days: 80% sales, 70% completed, 1-3 items of 2000 products in 10
+     * categories, 5000 customers
+     */
+    static List<OrderDto> syntheticHistory(int orders) {
+        Random random = new Random(42);
+        List<ProductCategoryDto> categories = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            ProductCategoryDto category = new ProductCategoryDto();
+            category.setId(id);
+            category.setName("Category " + id);
+            categories.add(category);
+        }
+        List<ProductDto> products = new ArrayList<>();
+        for (long id = 1; id <= 2_000; id++) {
+            ProductDto product = new ProductDto();
+            product.setProductId(id);
+            product.setName("Product " + id);
+            product.setActualPrice(10.0 + random.nextInt(490));
+            product.setCategory(categories.get(random.nextInt(categories.size())));
+            products.add(product);
+        }
+        List<CustomerDto> customers = new ArrayList<>();
+        for (long id = 1; id <= 5_000; id++) {
+            CustomerDto customer = new CustomerDto();
+            customer.setCustomerId(id);
+            customers.add(customer);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderDto> history = new ArrayList<>(orders);
+        for (long id = 1; id <= orders; id++) {
+            OrderDto order = new OrderDto();
+            order.setOrderId(id);
+            order.setOrderType(random.nextInt(10) < 8 ? OrderType.SALE : OrderType.PURCHASE);
+            order.setOrderStatus(random.nextInt(10) < 7 ? OrderStatus.COMPLETED : OrderStatus.CANCELLED);
+            order.setPaymentType(PaymentType.values()[random.nextInt(PaymentType.values().length)]);
+            order.setCreatedAt(now.minusMinutes(random.nextInt(400 * 24 * 60)));
+            order.setCustomer(customers.get(random.nextInt(customers.size())));
+            List<OrderItemDto> items = new ArrayList<>();
+            double total = 0;
+            for (int i = 1 + random.nextInt(3); i > 0; i--) {
+                ProductDto product = products.get(random.nextInt(products.size()));
+                OrderItemDto item = new OrderItemDto();
+                item.setProductDto(product);
+                item.setQuantity(1 + random.nextInt(5));
+                item.setPriceAtOrderTime(product.getActualPrice() * (0.9 + random.nextDouble() * 0.5));
+                total += item.getPriceAtOrderTime() * item.getQuantity();
+                items.add(item);
+            }
+            order.setOrderItems(items);
+            order.setTotalPrice(total);
+            history.add(order);
+        }
+
+        return history;
+    }
+
+    @Benchmark
+    public Map<String, Object> multiPass() {
+        Map<String, Object> figures = new HashMap<>();
+        figures.put("monthlyProfit", calculateMonthlyProfit(history));
+        figures.put("monthlyRevenue", calculateMonthlyRevenue(history));
+        figures.put("monthlyOrders", calculateMonthlyOrders(history));
+        figures.put("salesTrend", getSalesTrendData(history));
+        figures.put("ordersByChannel", getOrdersByChannelData(history));
+        figures.put("weekProfit", calculateProfitData(history, LocalDateTime.now().minusDays(7)));
+        figures.put("monthProfit", calculateProfitData(history, startOfMonth()));
+        figures.put("yearProfit", calculateProfitData(history, LocalDateTime.now().withDayOfYear(1).withHour(0).withMinute(0).withSecond(0)));
+        figures.put("monthly", completedRevenueSince(history, startOfMonth()));
+        figures.put("yearly", completedRevenueSince(history, LocalDateTime.now().withDayOfYear(1).withHour(0).withMinute(0).withSecond(0)));
+        figures.put("weekly", completedRevenueSince(history, LocalDateTime.now().minusDays(7)));
+        figures.put("averageOrderValue", calculateAverageOrderValue(history));
+        figures.put("totalOrders", calculateTotalOrders(history));
+        figures.put("contributingCustomers", calculateContributingCustomers(history));
+        figures.put("channelBreakdown", calculateRevenueByChannel(history));
+        return figures;
+    }
+
+    @Benchmark
+    public DashboardFigures fusedKernel() {
+        return DashboardKernel.compute(OrderColumns.of(history, 0, System.nanoTime()), new DashboardPeriods(LocalDate.now()));
+    }
+
+    @Benchmark
+    public DashboardFigures columnarKernel() {
+        return DashboardKernel.compute(columns, new DashboardPeriods(LocalDate.now()));
+    }
+
+    @Benchmark
+    public DashboardFigures runningTotals() {
+        return DashboardFigures.from(analytics, new DashboardPeriods(LocalDate.now()));
+    }
+
+    // ---------------- the former DashboardController passes ----------------
+
+    private static LocalDateTime startOfMonth() {
+        return LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
+    }
+
+    private static double completedProfit(List<OrderDto> orders, LocalDateTime from, LocalDateTime to) {
+        return orders.stream()
+                .filter(order -> order.getCreatedAt().isAfter(from) && (to == null || order.getCreatedAt().isBefore(to)))
+                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
+                .filter(order -> order.getOrderType() == OrderType.SALE)
+                .flatMap(order -> order.getOrderItems().stream())
+                .mapToDouble(item -> (item.getPriceAtOrderTime() - item.getProductDto().getActualPrice()) * item.getQuantity())
+                .sum();
+    }
+
+    private static double completedRevenue(List<OrderDto> orders, LocalDateTime from, LocalDateTime to) {
+        return orders.stream()
+                .filter(order -> order.getCreatedAt().isAfter(from) && (to == null || order.getCreatedAt().isBefore(to)))
+                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
+                .filter(order -> order.getOrderType() == OrderType.SALE)
+                .mapToDouble(OrderDto::getTotalPrice)
+                .sum();
+    }
+
+    private static double completedRevenueSince(List<OrderDto> orders, LocalDateTime from) {
+        return completedRevenue(orders, from, null);
+    }
+
+    private static Map<String, Object> comparedToPrevious(double current, double previous) {
+        double percentageChange = previous != 0 ? ((current - previous) / previous) * 100 : 0;
+        Map<String, Object> result = new HashMap<>();
+        result.put("amount", current);
+        result.put("percentageChange", percentageChange);
+        result.put("isIncrease", percentageChange >= 0);
+        return result;
+    }
+
+    private static Map<String, Object> calculateMonthlyProfit(List<OrderDto> orders) {
+        LocalDateTime startOfMonth = startOfMonth();
+        return comparedToPrevious(completedProfit(orders, startOfMonth, null),
+                completedProfit(orders, startOfMonth.minusMonths(1), startOfMonth.minusDays(1)));
+    }
+
+    private static Map<String, Object> calculateMonthlyRevenue(List<OrderDto> orders) {
+        LocalDateTime startOfMonth = startOfMonth();
+        return comparedToPrevious(completedRevenue(orders, startOfMonth, null),
+                completedRevenue(orders, startOfMonth.minusMonths(1), startOfMonth.minusDays(1)));
+    }
+
+    private static Map<String, Object> calculateMonthlyOrders(List<OrderDto> orders) {
+        LocalDateTime startOfMonth = startOfMonth();
+        long currentMonthOrders = orders.stream()
+                .filter(order -> order.getCreatedAt().isAfter(startOfMonth))
+                .filter(order -> order.getOrderType() == OrderType.SALE)
+                .count();
+        LocalDateTime startOfWeek = LocalDateTime.now().minusDays(7);
+        long newOrdersThisWeek = orders.stream()
+                .filter(order -> order.getCreatedAt().isAfter(startOfWeek))
+                .filter(order -> order.getOrderType() == OrderType.SALE)
+                .count();
+        Map<String, Object> result = new HashMap<>();
+        result.put("count", currentMonthOrders);
+        result.put("newOrders", newOrdersThisWeek);
+        return result;
+    }
+
+    private static Map<String, Object> getSalesTrendData(List<OrderDto> orders) {
+        List<OrderDto> salesOrders = orders.stream()
+                .filter(order -> order.getOrderType() == OrderType.SALE)
+                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
+                .collect(Collectors.toList());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Double> weekSales = new ArrayList<>();
+        for (int i = 6; i >= 0; i--) {
+            LocalDateTime dayStart = now.minusDays(i).withHour(0).withMinute(0).withSecond(0);
+            weekSales.add(completedRevenue(salesOrders, dayStart, dayStart.plusDays(1)));
+        }
+        now = LocalDateTime.now();
+        List<Double> monthSales = new ArrayList<>();
+        for (int week = 3; week >= 0; week--) {
+            LocalDateTime weekStart = now.minusWeeks(week).withHour(0).withMinute(0).withSecond(0);
+            monthSales.add(completedRevenue(salesOrders, weekStart, weekStart.plusWeeks(1)));
+        }
+        now = LocalDateTime.now();
+        List<Double> yearSales = new ArrayList<>();
+        for (int quarter = 3; quarter >= 0; quarter--) {
+            LocalDateTime quarterStart = now.minusMonths(quarter * 3L).withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
+            yearSales.add(completedRevenue(salesOrders, quarterStart, quarterStart.plusMonths(3)));
+        }
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("week", weekSales);
+        data.put("month", monthSales);
+        data.put("year", yearSales);
+        return data;
+    }
+
+    private static Map<PaymentType, Long> getOrdersByChannelData(List<OrderDto> orders) {
+        LocalDateTime startOfMonth = startOfMonth();
+        return orders.stream()
+                .filter(order -> order.getCreatedAt().isAfter(startOfMonth))
+                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
+                .filter(order -> order.getOrderType() == OrderType.SALE)
+                .collect(Collectors.groupingBy(OrderDto::getPaymentType, Collectors.counting()));
+    }
+
+    private static Map<String, Object> calculateProfitData(List<OrderDto> orders, LocalDateTime startDate) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("totalProfit", completedProfit(orders, startDate, null));
+        data.put("topProducts", getTopProfitableProductsForPeriod(orders, startDate));
+        return data;
+    }
+
+    private static List<Map<String, Object>> getTopProfitableProductsForPeriod(List<OrderDto> orders, LocalDateTime startDate) {
+        Map<String, Double> productProfits = orders.stream()
+                .filter(order -> order.getCreatedAt().isAfter(startDate))
+                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
+                .filter(order -> order.getOrderType() == OrderType.SALE)
+                .flatMap(order -> order.getOrderItems().stream())
+                .collect(Collectors.groupingBy(
+                        item -> item.getProductDto().getName(),
+                        Collectors.summingDouble(item -> (item.getPriceAtOrderTime() - item.getProductDto().getActualPrice()) * item.getQuantity())));
+
+        return productProfits.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .limit(5)
+                .map(entry -> {
+                    Map<String, Object> productData = new HashMap<>();
+                    productData.put("name", entry.getKey());
+                    productData.put("profit", entry.getValue());
+                    double totalProfit = productProfits.values().stream().mapToDouble(Double::doubleValue).sum();
+                    productData.put("percentage", totalProfit > 0 ? (entry.getValue() / totalProfit) * 100 : 0);
+                    return productData;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static double calculateAverageOrderValue(List<OrderDto> orders) {
+        LocalDateTime startOfMonth = startOfMonth();
+        List<OrderDto> monthlyOrders = orders.stream()
+                .filter(order -> order.getCreatedAt().isAfter(startOfMonth))
+                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
+                .filter(order -> order.getOrderType() == OrderType.SALE)
+                .collect(Collectors.toList());
+        return monthlyOrders.isEmpty() ? 0.0
+                : monthlyOrders.stream().mapToDouble(OrderDto::getTotalPrice).sum() / monthlyOrders.size();
+    }
+
+    private static long calculateTotalOrders(List<OrderDto> orders) {
+        LocalDateTime startOfMonth = startOfMonth();
+        return orders.stream()
+                .filter(order -> order.getCreatedAt().isAfter(startOfMonth))
+                .filter(order -> order.getOrderType() == OrderType.SALE)
+                .count();
+    }
+
+    private static long calculateContributingCustomers(List<OrderDto> orders) {
+        LocalDateTime startOfMonth = startOfMonth();
+        Set<Long> customerIds = orders.stream()
+                .filter(order -> order.getCreatedAt().isAfter(startOfMonth))
+                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
+                .filter(order -> order.getOrderType() == OrderType.SALE)
+                .map(order -> order.getCustomer().getCustomerId())
+                .collect(Collectors.toSet());
+        return customerIds.size();
+    }
+
+    private static Map<PaymentType, Double> calculateRevenueByChannel(List<OrderDto> orders) {
+        LocalDateTime startOfMonth = startOfMonth();
+        return orders.stream()
+                .filter(order -> order.getCreatedAt().isAfter(startOfMonth))
+                .filter(order -> order.getOrderStatus() == OrderStatus.COMPLETED)
+                .filter(order -> order.getOrderType() == OrderType.SALE)
+                .collect(Collectors.groupingBy(OrderDto::getPaymentType, Collectors.summingDouble(OrderDto::getTotalPrice)));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DashboardKernelBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,377 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics.OrderAnalytics.Bucket;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics.OrderAnalytics.ItemTotals;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics.OrderAnalytics.Totals;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.CustomerDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderItemDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductCategoryDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.ProductDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderStatus;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderType;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.PaymentType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * OrderAnalytics (and the SalesCube behind it) checked against a brute-force recomputation
+ * over the orders it should currently reflect, after every kind of update it gets.
+ */
+class OrderAnalyticsTests {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 11, 1);
+    private static final int DAYS = 500;
+    private static final double TOLERANCE = 1e-6;
+
+    private final Random random = new Random(42);
+    private OrderAnalytics analytics;
+    // What the totals should reflect, by order id
+    private Map<Long, OrderDto> expected;
+
+    @BeforeEach
+    void setUp() {
+        analytics = new OrderAnalytics(new SimpleMeterRegistry());
+        expected = new LinkedHashMap<>();
+    }
+
+    @Test
+    void syncedHistoryMatchesBruteForce() {
+        List<OrderDto> orders = randomOrders(3000);
+        analytics.sync(orders, System.nanoTime());
+        orders.forEach(order -> expected.put(order.getOrderId(), order));
+
+        for (int i = 0; i < 200; i++) {
+            LocalDate from = FIRST_DAY.plusDays(random.nextInt(DAYS));
+            LocalDate to = from.plusDays(random.nextInt(DAYS - (int) (from.toEpochDay() - FIRST_DAY.toEpochDay())));
+            assertMatches(from, to);
+        }
+    }
+
+    @Test
+    void rangeAcrossQuarterMonthAndWeekEdges() {
+        List<OrderDto> orders = randomOrders(3000);
+        analytics.sync(orders, System.nanoTime());
+        orders.forEach(order -> expected.put(order.getOrderId(), order));
+
+        // Mid-week near the end of Q1 to mid-week early in Q4: single days, then two whole
+        // quarters, then single days again
+        LocalDate from = LocalDate.of(2024, 3, 27);
+        LocalDate to = LocalDate.of(2024, 10, 2);
+        assertMatches(from, to);
+        for (Granularity granularity : Granularity.values()) {
+            assertSeriesMatches(granularity, from, to);
+        }
+        // Exactly one quarter, one month and one week
+        assertMatches(LocalDate.of(2024, 4, 1), LocalDate.of(2024, 6, 30));
+        assertMatches(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29));
+        assertMatches(LocalDate.of(2024, 5, 6), LocalDate.of(2024, 5, 12));
+        // A week that straddles a month and a quarter boundary
+        assertMatches(LocalDate.of(2024, 9, 30), LocalDate.of(2024, 10, 6));
+        assertSeriesMatches(Granularity.WEEK, LocalDate.of(2024, 9, 25), LocalDate.of(2024, 10, 9));
+    }
+
+    @Test
+    void completedSaleThatIsCancelledLeavesSalesFigures() {
+        OrderDto order = order(1L, FIRST_DAY.plusDays(40), OrderType.SALE, OrderStatus.CREATED, PaymentType.CARD);
+        analytics.sync(List.of(), System.nanoTime());
+
+        analytics.orderSaved(order);
+        expected.put(1L, order);
+        assertMatches(FIRST_DAY, FIRST_DAY.plusDays(DAYS));
+
+        analytics.orderStatusChanged(1L, OrderStatus.COMPLETED);
+        order.setOrderStatus(OrderStatus.COMPLETED);
+        assertMatches(FIRST_DAY, FIRST_DAY.plusDays(DAYS));
+        assertThat(analytics.productTotals(FIRST_DAY, FIRST_DAY.plusDays(DAYS))).isNotEmpty();
+
+        analytics.orderStatusChanged(1L, OrderStatus.CANCELLED);
+        order.setOrderStatus(OrderStatus.CANCELLED);
+        assertMatches(FIRST_DAY, FIRST_DAY.plusDays(DAYS));
+        assertThat(analytics.productTotals(FIRST_DAY, FIRST_DAY.plusDays(DAYS))).isEmpty();
+        assertThat(analytics.categoryTotals(FIRST_DAY, FIRST_DAY.plusDays(DAYS))).isEmpty();
+        assertThat(analytics.distinctCustomers(FIRST_DAY, FIRST_DAY.plusDays(DAYS))).isZero();
+        assertThat(analytics.totals(FIRST_DAY, FIRST_DAY.plusDays(DAYS), OrderType.SALE, OrderStatus.COMPLETED))
+                .isEqualTo(Totals.EMPTY);
+    }
+
+    @Test
+    void syncDoesNotUndoNewerLocalChange() {
+        List<OrderDto> orders = randomOrders(200);
+        orders.get(0).setOrderType(OrderType.SALE);
+        orders.get(0).setOrderStatus(OrderStatus.COMPLETED);
+        analytics.sync(orders, System.nanoTime());
+        orders.forEach(order -> expected.put(order.getOrderId(), copy(order)));
+
+        // A list requested before the cancel, answered after it
+        long fetchStartedAt = System.nanoTime();
+        Long cancelled = orders.get(0).getOrderId();
+        analytics.orderStatusChanged(cancelled, OrderStatus.CANCELLED);
+        expected.get(cancelled).setOrderStatus(OrderStatus.CANCELLED);
+        analytics.sync(orders, fetchStartedAt);
+        assertMatches(FIRST_DAY, FIRST_DAY.plusDays(DAYS));
+
+        // A list requested after the cancel is taken as it is
+        orders.get(0).setOrderStatus(OrderStatus.CANCELLED);
+        OrderStatus changed = orders.get(1).getOrderStatus() == OrderStatus.PROCESSING ? OrderStatus.CREATED : OrderStatus.PROCESSING;
+        orders.get(1).setOrderStatus(changed);
+        expected.get(orders.get(1).getOrderId()).setOrderStatus(changed);
+        assertThat(analytics.sync(orders, System.nanoTime())).isTrue();
+        assertMatches(FIRST_DAY, FIRST_DAY.plusDays(DAYS));
+    }
+
+    @Test
+    void orderMissingFromSyncIsRemoved() {
+        List<OrderDto> orders = new ArrayList<>(randomOrders(300));
+        analytics.sync(orders, System.nanoTime());
+
+        OrderDto removed = orders.remove(7);
+        assertThat(analytics.sync(orders, System.nanoTime())).isTrue();
+        orders.forEach(order -> expected.put(order.getOrderId(), order));
+        assertThat(expected).doesNotContainKey(removed.getOrderId());
+        assertMatches(FIRST_DAY, FIRST_DAY.plusDays(DAYS));
+        assertMatches(removed.getCreatedAt().toLocalDate(), removed.getCreatedAt().toLocalDate());
+
+        // An unchanged list changes nothing
+        long version = analytics.version();
+        assertThat(analytics.sync(orders, System.nanoTime())).isFalse();
+        assertThat(analytics.version()).isEqualTo(version);
+    }
+
+    @Test
+    void recentDaysRingSlides() {
+        LocalDate today = FIRST_DAY.plusDays(300);
+        List<OrderDto> orders = randomOrders(3000);
+        analytics.sync(orders, System.nanoTime());
+        orders.forEach(order -> expected.put(order.getOrderId(), order));
+        analytics.advanceTo(today);
+        assertRecentMatches(today);
+
+        long nextId = 1_000_000;
+        for (int step = 0; step < 40; step++) {
+            today = today.plusDays(1 + random.nextInt(5));
+            analytics.advanceTo(today);
+            // New orders on the newest days, and changes to orders on days leaving the ring
+            for (int i = 0; i < 5; i++) {
+                OrderDto order = randomOrder(nextId++, today.minusDays(random.nextInt(SalesCube.RECENT_DAYS + 5)));
+                analytics.orderSaved(order);
+                expected.put(order.getOrderId(), order);
+            }
+            List<OrderDto> all = List.copyOf(expected.values());
+            for (int i = 0; i < 3; i++) {
+                OrderDto order = all.get(random.nextInt(all.size()));
+                OrderStatus status = OrderStatus.values()[random.nextInt(OrderStatus.values().length)];
+                analytics.orderStatusChanged(order.getOrderId(), status);
+                order.setOrderStatus(status);
+            }
+            assertRecentMatches(today);
+        }
+    }
+
+    // ---------------- brute force ----------------
+
+    private void assertRecentMatches(LocalDate today) {
+        assertMatches(today.minusDays(6), today);
+        assertMatches(today.minusDays(SalesCube.RECENT_DAYS - 1), today);
+        assertMatches(today.minusDays(SalesCube.RECENT_DAYS), today);
+        assertMatches(today.minusDays(20), today.minusDays(3));
+    }
+
+    private void assertMatches(LocalDate from, LocalDate to) {
+        for (OrderType type : nullAnd(OrderType.values())) {
+            for (OrderStatus status : nullAnd(OrderStatus.values())) {
+                assertTotals(analytics.totals(from, to, type, status), expectedTotals(from, to, type, status), from, to);
+            }
+        }
+
+        Map<PaymentType, Totals> byPayment = analytics.totalsByPayment(from, to, OrderType.SALE, null);
+        Map<PaymentType, Totals> expectedByPayment = new EnumMap<>(PaymentType.class);
+        for (PaymentType payment : PaymentType.values()) {
+            Totals totals = sumOf(from, to, OrderType.SALE, null, payment);
+            if (totals.orders() > 0) {
+                expectedByPayment.put(payment, totals);
+            }
+        }
+        assertThat(byPayment.keySet()).isEqualTo(expectedByPayment.keySet());
+        byPayment.forEach((payment, totals) -> assertTotals(totals, expectedByPayment.get(payment), from, to));
+
+        assertItems(analytics.productTotals(from, to), expectedItems(from, to, false));
+        assertItems(analytics.categoryTotals(from, to), expectedItems(from, to, true));
+        assertThat(analytics.distinctCustomers(from, to)).isEqualTo(expectedCustomers(from, to));
+    }
+
+    private void assertSeriesMatches(Granularity granularity, LocalDate from, LocalDate to) {
+        List<Bucket> series = analytics.series(granularity, from, to, OrderType.SALE, OrderStatus.COMPLETED);
+        LocalDate next = from;
+        for (Bucket bucket : series) {
+            assertThat(bucket.start()).isEqualTo(next);
+            assertTotals(bucket.totals(), expectedTotals(bucket.start(), bucket.end(), OrderType.SALE, OrderStatus.COMPLETED),
+                    bucket.start(), bucket.end());
+            next = bucket.end().plusDays(1);
+        }
+        assertThat(next).isEqualTo(to.plusDays(1));
+    }
+
+    private Totals expectedTotals(LocalDate from, LocalDate to, OrderType type, OrderStatus status) {
+        return sumOf(from, to, type, status, null);
+    }
+
+    private Totals sumOf(LocalDate from, LocalDate to, OrderType type, OrderStatus status, PaymentType payment) {
+        long orders = 0;
+        double revenue = 0;
+        double profit = 0;
+        for (OrderDto order : expected.values()) {
+            if (isBetween(order, from, to) && (type == null || order.getOrderType() == type)
+                    && (status == null || order.getOrderStatus() == status)
+                    && (payment == null || order.getPaymentType() == payment)) {
+                orders++;
+                revenue += order.getTotalPrice();
+                for (OrderItemDto item : order.getOrderItems()) {
+                    profit += (item.getPriceAtOrderTime() - item.getProductDto().getActualPrice()) * item.getQuantity();
+                }
+            }
+        }
+        return new Totals(orders, revenue, profit);
+    }
+
+    private Map<Long, double[]> expectedItems(LocalDate from, LocalDate to, boolean byCategory) {
+        Map<Long, double[]> items = new HashMap<>();
+        for (OrderDto order : expected.values()) {
+            if (!isBetween(order, from, to) || !completedSale(order)) {
+                continue;
+            }
+            for (OrderItemDto item : order.getOrderItems()) {
+                ProductDto product = item.getProductDto();
+                Long id = byCategory ? product.getCategory().getId() : product.getProductId();
+                double[] totals = items.computeIfAbsent(id, k -> new double[3]);
+                totals[0] += item.getQuantity();
+                totals[1] += item.getPriceAtOrderTime() * item.getQuantity();
+                totals[2] += (item.getPriceAtOrderTime() - product.getActualPrice()) * item.getQuantity();
+            }
+        }
+        return items;
+    }
+
+    private long expectedCustomers(LocalDate from, LocalDate to) {
+        Set<Long> customers = new HashSet<>();
+        for (OrderDto order : expected.values()) {
+            if (isBetween(order, from, to) && completedSale(order)) {
+                customers.add(order.getCustomer().getCustomerId());
+            }
+        }
+        return customers.size();
+    }
+
+    private static void assertTotals(Totals actual, Totals expected, LocalDate from, LocalDate to) {
+        assertThat(actual.orders()).as("orders %s..%s", from, to).isEqualTo(expected.orders());
+        assertThat(actual.revenue()).as("revenue %s..%s", from, to).isCloseTo(expected.revenue(), within(TOLERANCE));
+        assertThat(actual.profit()).as("profit %s..%s", from, to).isCloseTo(expected.profit(), within(TOLERANCE));
+    }
+
+    private static void assertItems(List<ItemTotals> actual, Map<Long, double[]> expected) {
+        assertThat(actual).hasSize(expected.size());
+        for (ItemTotals item : actual) {
+            double[] totals = expected.get(item.id());
+            assertThat(totals).as("item %s", item.id()).isNotNull();
+            assertThat((double) item.quantity()).isEqualTo(totals[0]);
+            assertThat(item.revenue()).isCloseTo(totals[1], within(TOLERANCE));
+            assertThat(item.profit()).isCloseTo(totals[2], within(TOLERANCE));
+        }
+    }
+
+    private static boolean isBetween(OrderDto order, LocalDate from, LocalDate to) {
+        LocalDate day = order.getCreatedAt().toLocalDate();
+        return !day.isBefore(from) && !day.isAfter(to);
+    }
+
+    private static boolean completedSale(OrderDto order) {
+        return order.getOrderType() == OrderType.SALE && order.getOrderStatus() == OrderStatus.COMPLETED;
+    }
+
+    private static <T> List<T> nullAnd(T[] values) {
+        List<T> result = new ArrayList<>();
+        result.add(null);
+        result.addAll(List.of(values));
+        return result;
+    }
+
+    // ---------------- orders ----------------
+
+    private List<OrderDto> randomOrders(int count) {
+        List<OrderDto> orders = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            orders.add(randomOrder(id, FIRST_DAY.plusDays(random.nextInt(DAYS))));
+        }
+        return orders;
+    }
+
+    private OrderDto randomOrder(long id, LocalDate day) {
+        PaymentType[] payments = PaymentType.values();
+        return order(id, day,
+                random.nextInt(4) == 0 ? OrderType.PURCHASE : OrderType.SALE,
+                OrderStatus.values()[random.nextInt(OrderStatus.values().length)],
+                random.nextInt(10) == 0 ? null : payments[random.nextInt(payments.length)]);
+    }
+
+    private OrderDto order(long id, LocalDate day, OrderType type, OrderStatus status, PaymentType payment) {
+        List<OrderItemDto> items = new ArrayList<>();
+        double total = 0;
+        for (int i = 0, lines = 1 + random.nextInt(3); i < lines; i++) {
+            long productId = 1 + random.nextInt(40);
+            ProductCategoryDto category = new ProductCategoryDto();
+            category.setId(productId % 6);
+            category.setName("Category " + productId % 6);
+            ProductDto product = new ProductDto();
+            product.setProductId(productId);
+            product.setName("Product " + productId);
+            product.setActualPrice(10.0 + productId);
+            product.setCategory(category);
+            OrderItemDto item = new OrderItemDto();
+            item.setProductDto(product);
+            item.setQuantity(1 + random.nextInt(5));
+            item.setPriceAtOrderTime(product.getActualPrice() + random.nextInt(20) - 5 + 0.25);
+            items.add(item);
+            total += item.getPriceAtOrderTime() * item.getQuantity();
+        }
+        CustomerDto customer = new CustomerDto();
+        customer.setCustomerId(1 + (long) random.nextInt(60));
+        OrderDto order = new OrderDto();
+        order.setOrderId(id);
+        order.setOrderType(type);
+        order.setOrderStatus(status);
+        order.setPaymentType(payment);
+        order.setCreatedAt(day.atTime(random.nextInt(24), random.nextInt(60)));
+        order.setCustomer(customer);
+        order.setOrderItems(items);
+        order.setTotalPrice(total);
+        return order;
+    }
+
+    private static OrderDto copy(OrderDto order) {
+        OrderDto copy = new OrderDto();
+        copy.setOrderId(order.getOrderId());
+        copy.setOrderType(order.getOrderType());
+        copy.setOrderStatus(order.getOrderStatus());
+        copy.setPaymentType(order.getPaymentType());
+        copy.setCreatedAt(order.getCreatedAt());
+        copy.setCustomer(order.getCustomer());
+        copy.setOrderItems(order.getOrderItems());
+        copy.setTotalPrice(order.getTotalPrice());
+        return copy;
+    }
+}
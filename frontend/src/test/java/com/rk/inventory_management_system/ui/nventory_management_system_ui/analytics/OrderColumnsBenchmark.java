@@ -0,0 +1,169 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.Clients.support.DtoCopier;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.analytics.OrderColumns.CustomerTotals;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderItemDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderStatus;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order list as DTOs vs as {@link OrderColumns}. The DTO list is deep-copied through
+ * {@link DtoCopier}, so every order has its own customer, items and products as it does after
+ * OrdersClient#findAll. Setup prints the retained heap of both representations; the benchmarks
+ * time two scans:
+ * <ul>
+ *     <li>customerTotals - per-customer order count, revenue and latest order (the customer
+ *     list's figures): grouping the DTOs by customer vs one pass over the columns</li>
+ *     <li>recentSales - completed-sale revenue and profit of the last 30 days, items included</li>
+ * </ul>
+ * Run: {@code mvn test-compile} then the main method (or org.openjdk.jmh.Main) with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class OrderColumnsBenchmark {
+
+    private static final int COPY_CHUNK = 10_000;
+
+    @Param({"100000", "1000000"})
+    private int orders;
+
+    private List<OrderDto> history;
+    private OrderColumns columns;
+    private LocalDateTime since;
+
+    @Setup
+    public void setUp() {
+        DtoCopier copier = new DtoCopier(new ObjectMapper().findAndRegisterModules());
+        JavaType listType = copier.listTypeOf(OrderDto.class);
+        List<OrderDto> shared = DashboardKernelBenchmark.syntheticHistory(orders);
+
+        long before = usedHeap();
+        history = new ArrayList<>(orders);
+        for (int from = 0; from < shared.size(); from += COPY_CHUNK) {
+            List<OrderDto> chunk = new ArrayList<>(shared.subList(from, Math.min(shared.size(), from + COPY_CHUNK)));
+            history.addAll(copier.copy(chunk, listType));
+        }
+        long dtoBytes = usedHeap() - before;
+
+        before = usedHeap();
+        columns = OrderColumns.of(history, 0, System.nanoTime());
+        long columnBytes = usedHeap() - before;
+        System.out.printf("%n%d orders, %d items: DTO list %,d bytes retained, columns %,d bytes retained (%,d in arrays)%n",
+                columns.size(), columns.itemCount(), dtoBytes, columnBytes, columns.arrayBytes());
+
+        since = LocalDateTime.now().minusDays(30);
+        if (Math.abs(dtoRecentSales()[0] - columnRecentSales()[0]) > 1e-6 * Math.abs(dtoRecentSales()[0])) {
+            throw new IllegalStateException("DTO and column scans disagree");
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Benchmark
+    public Map<Long, double[]> dtoCustomerTotals() {
+        Map<Long, List<OrderDto>> ordersByCustomer = new HashMap<>();
+        for (OrderDto order : history) {
+            if (order.getCustomer() != null && order.getCustomer().getCustomerId() != null) {
+                ordersByCustomer.computeIfAbsent(order.getCustomer().getCustomerId(), id -> new ArrayList<>()).add(order);
+            }
+        }
+        Map<Long, double[]> totals = new HashMap<>();
+        ordersByCustomer.forEach((customerId, customerOrders) -> {
+            double revenue = 0;
+            boolean recent = false;
+            for (OrderDto order : customerOrders) {
+                if (!OrderStatus.CANCELLED.equals(order.getOrderStatus()) && order.getTotalPrice() != null) {
+                    revenue += order.getTotalPrice();
+                }
+                if (order.getCreatedAt() != null && order.getCreatedAt().isAfter(since)) {
+                    recent = true;
+                }
+            }
+            totals.put(customerId, new double[]{customerOrders.size(), revenue, recent ? 1 : 0});
+        });
+        return totals;
+    }
+
+    @Benchmark
+    public CustomerTotals columnCustomerTotals() {
+        return CustomerTotals.of(columns);
+    }
+
+    @Benchmark
+    public double[] dtoRecentSales() {
+        double revenue = 0;
+        double profit = 0;
+        for (OrderDto order : history) {
+            if (order.getOrderType() != OrderType.SALE || order.getOrderStatus() != OrderStatus.COMPLETED
+                    || order.getCreatedAt() == null || !order.getCreatedAt().isAfter(since)) {
+                continue;
+            }
+            revenue += order.getTotalPrice() != null ? order.getTotalPrice() : 0;
+            for (OrderItemDto item : order.getOrderItems()) {
+                if (item.getPriceAtOrderTime() != null && item.getProductDto() != null && item.getProductDto().getActualPrice() != null) {
+                    profit += (item.getPriceAtOrderTime() - item.getProductDto().getActualPrice()) * item.getQuantity();
+                }
+            }
+        }
+        return new double[]{revenue, profit};
+    }
+
+    @Benchmark
+    public double[] columnRecentSales() {
+        byte sale = OrderColumns.code(OrderType.SALE);
+        byte completed = OrderColumns.code(OrderStatus.COMPLETED);
+        long after = OrderColumns.epochSecond(since);
+        double revenue = 0;
+        double profit = 0;
+        for (int o = 0; o < columns.size; o++) {
+            if (columns.type[o] != sale || columns.status[o] != completed
+                    || columns.createdAt[o] == OrderColumns.NO_TIME || columns.createdAt[o] <= after) {
+                continue;
+            }
+            revenue += Double.isNaN(columns.totalPrice[o]) ? 0 : columns.totalPrice[o];
+            for (int i = columns.itemStart[o]; i < columns.itemStart[o + 1]; i++) {
+                if (!Double.isNaN(columns.itemPrice[i]) && !Double.isNaN(columns.itemCost[i])) {
+                    profit += (columns.itemPrice[i] - columns.itemCost[i]) * columns.itemQuantity[i];
+                }
+            }
+        }
+        return new double[]{revenue, profit};
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(OrderColumnsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,101 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.search;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.CustomerDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Order search over synthetic order histories: the trigram index against the per-request
+ * scan the orders list used to do (toLowerCase().contains() on customer name and email,
+ * toString().contains() on the id). Setup checks both return the same orders.
+ * <p>
+ * Run: {@code mvn test-compile} then the main method (or org.openjdk.jmh.Main) with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class NgramIndexBenchmark {
+
+    private static final String[] FIRST = {"Aarav", "Priya", "Rahul", "Sneha", "Vikram", "Ananya", "Karan", "Meera",
+            "Rohan", "Isha", "Arjun", "Divya", "Nikhil", "Pooja", "Siddharth", "Kavya"};
+    private static final String[] LAST = {"Sharma", "Patel", "Reddy", "Iyer", "Gupta", "Nair", "Mehta", "Joshi",
+            "Kapoor", "Rao", "Singh", "Das", "Kulkarni", "Menon", "Bose", "Chopra"};
+
+    @Param({"10000", "200000"})
+    private int orders;
+
+    @Param({"kapoor", "rahul.me", "18842"})
+    private String query;
+
+    private List<OrderDto> history;
+    private NgramIndex<OrderDto> index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        history = new ArrayList<>(orders);
+        for (long id = 1; id <= orders; id++) {
+            // Customers are mostly unique, as in a real order history
+            int customer = random.nextInt(orders);
+            String first = FIRST[customer % FIRST.length];
+            String last = LAST[(customer / FIRST.length) % LAST.length];
+            CustomerDto dto = new CustomerDto();
+            dto.setName(first + " " + last);
+            dto.setEmail((first + "." + last).toLowerCase() + customer + "@mail.example");
+            OrderDto order = new OrderDto();
+            order.setOrderId(id);
+            order.setCustomer(dto);
+            history.add(order);
+        }
+        index = new NgramIndex<>(OrderDto::getOrderId, order -> new String[]{
+                order.getOrderId().toString(), order.getCustomer().getName(), order.getCustomer().getEmail()});
+        index.putAll(history);
+
+        if (!indexed().equals(scan())) {
+            throw new IllegalStateException("Index and scan disagree for '" + query + "'");
+        }
+    }
+
+    @Benchmark
+    public List<OrderDto> indexed() {
+        return index.search(query);
+    }
+
+    @Benchmark
+    public List<OrderDto> scan() {
+        String lower = query.toLowerCase();
+        List<OrderDto> matches = new ArrayList<>();
+        for (OrderDto order : history) {
+            if (order.getOrderId().toString().contains(query)
+                    || order.getCustomer().getName().toLowerCase().contains(lower)
+                    || order.getCustomer().getEmail().toLowerCase().contains(lower)) {
+                matches.add(order);
+            }
+        }
+        return matches;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NgramIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
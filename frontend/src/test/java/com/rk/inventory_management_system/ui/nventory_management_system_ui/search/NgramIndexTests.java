@@ -0,0 +1,191 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * NgramIndex checked against a brute-force scan of the documents it should currently hold:
+ * case-insensitive "contains" for queries of three or more characters, word prefixes for
+ * shorter ones.
+ */
+class NgramIndexTests {
+
+    private static final String ALPHABET = "abcdeABC 1-@.";
+
+    private record Doc(long id, String name, String email) {
+    }
+
+    private final Random random = new Random(42);
+    private NgramIndex<Doc> index;
+    // What the index should hold, in insertion order (a replaced document moves to the end)
+    private Map<Long, Doc> expected;
+
+    @BeforeEach
+    void setUp() {
+        index = new NgramIndex<>(Doc::id, doc -> new String[]{doc.name(), doc.email()});
+        expected = new LinkedHashMap<>();
+    }
+
+    @Test
+    void searchMatchesBruteForce() {
+        for (long id = 1; id <= 2000; id++) {
+            put(randomDoc(id));
+        }
+        assertQueriesMatch(1000);
+    }
+
+    @Test
+    void searchMatchesBruteForceAfterReplacesAndRemoves() {
+        for (long id = 1; id <= 2000; id++) {
+            put(randomDoc(id));
+        }
+        // Enough dead slots to compact the index more than once
+        for (int i = 0; i < 5000; i++) {
+            long id = 1 + random.nextInt(2500);
+            if (random.nextInt(3) == 0) {
+                index.remove(id);
+                expected.remove(id);
+            } else {
+                put(randomDoc(id));
+            }
+            if (i % 500 == 0) {
+                assertQueriesMatch(50);
+            }
+        }
+        assertThat(index.size()).isEqualTo(expected.size());
+        assertThat(index.all()).containsExactlyElementsOf(expected.values());
+        assertQueriesMatch(500);
+    }
+
+    @Test
+    void putAllReplacesLikePut() {
+        List<Doc> batch = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            Doc doc = randomDoc(1 + random.nextInt(1000));
+            batch.add(doc);
+            expected.remove(doc.id());
+            expected.put(doc.id(), doc);
+        }
+        index.putAll(batch);
+        assertThat(index.all()).containsExactlyElementsOf(expected.values());
+        assertQueriesMatch(500);
+    }
+
+    @Test
+    void shortQueriesMatchWordStartsOnly() {
+        put(new Doc(1, "John Smith", "john@example.com"));
+        put(new Doc(2, "Major Tom", null));
+        put(new Doc(3, "Mary-Jo Ruiz", "mj@example.com"));
+        put(new Doc(4, "Adjoa", "adjoa@example.com"));
+
+        assertThat(ids(index.search("jo"))).containsExactly(1L, 3L);
+        assertThat(ids(index.search("J"))).containsExactly(1L, 3L);
+        assertThat(ids(index.search("joh"))).containsExactly(1L);
+        // Three characters or more match anywhere in a word
+        assertThat(ids(index.search("ajo"))).containsExactly(2L);
+        assertThat(ids(index.search("djo"))).containsExactly(4L);
+        assertThat(ids(index.search("  jo "))).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void blankQueryMatchesEverything() {
+        for (long id = 1; id <= 100; id++) {
+            put(randomDoc(id));
+        }
+        assertThat(index.search("")).containsExactlyElementsOf(expected.values());
+        assertThat(index.search("   ")).containsExactlyElementsOf(expected.values());
+        assertThat(index.search(null)).containsExactlyElementsOf(expected.values());
+    }
+
+    @Test
+    void updateKeepsPositionAndText() {
+        for (long id = 1; id <= 10; id++) {
+            put(new Doc(id, "name" + id, null));
+        }
+        index.update(5, doc -> new Doc(doc.id(), doc.name(), "changed"));
+        index.update(99, doc -> {
+            throw new AssertionError("no document 99");
+        });
+
+        assertThat(index.get(5).email()).isEqualTo("changed");
+        assertThat(ids(index.all())).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(ids(index.search("name5"))).containsExactly(5L);
+    }
+
+    private void put(Doc doc) {
+        index.put(doc);
+        expected.remove(doc.id());
+        expected.put(doc.id(), doc);
+    }
+
+    private void assertQueriesMatch(int queries) {
+        List<Doc> docs = new ArrayList<>(expected.values());
+        for (int i = 0; i < queries; i++) {
+            String query;
+            if (!docs.isEmpty() && random.nextBoolean()) {
+                // A piece of a stored field, so most queries have hits
+                Doc doc = docs.get(random.nextInt(docs.size()));
+                String field = doc.email() != null && random.nextBoolean() ? doc.email() : doc.name();
+                int from = random.nextInt(field.length());
+                query = field.substring(from, Math.min(field.length(), from + 1 + random.nextInt(5)));
+            } else {
+                query = randomText(1 + random.nextInt(5));
+            }
+            assertThat(index.search(query)).as("query '%s'", query).containsExactlyElementsOf(bruteForce(query));
+        }
+    }
+
+    private List<Doc> bruteForce(String query) {
+        String q = query.toLowerCase(Locale.ROOT).trim();
+        List<Doc> matches = new ArrayList<>();
+        for (Doc doc : expected.values()) {
+            if (q.isEmpty() || matches(doc.name(), q) || matches(doc.email(), q)) {
+                matches.add(doc);
+            }
+        }
+        return matches;
+    }
+
+    private static boolean matches(String field, String q) {
+        if (field == null) {
+            return false;
+        }
+        String text = field.toLowerCase(Locale.ROOT);
+        if (q.length() >= NgramIndex.MIN_SUBSTRING_QUERY) {
+            return text.contains(q);
+        }
+        for (int i = 0; i + q.length() <= text.length(); i++) {
+            boolean wordStart = i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1));
+            if (wordStart && text.startsWith(q, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Doc randomDoc(long id) {
+        String email = random.nextInt(4) == 0 ? null : randomText(3 + random.nextInt(12));
+        return new Doc(id, randomText(1 + random.nextInt(15)), email);
+    }
+
+    private String randomText(int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+
+    private static List<Long> ids(List<Doc> docs) {
+        return docs.stream().map(Doc::id).toList();
+    }
+}
@@ -0,0 +1,124 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.search;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.CustomerDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.OrderDto;
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.enums.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SearchIndex rebuilds: what a rebuild must keep of the changes reported while its list was
+ * being fetched, and what it must drop.
+ */
+class SearchIndexTests {
+
+    private ExecutorService executor;
+    private SearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        searchIndex = new SearchIndex(new SimpleMeterRegistry(), executor, Duration.ofMinutes(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void nothingToSearchBeforeFirstBuild() {
+        assertThat(searchIndex.searchOrders("ann")).isNull();
+        assertThat(searchIndex.ordersNeedRebuild()).isTrue();
+    }
+
+    @Test
+    void searchesIdCustomerNameAndEmail() {
+        searchIndex.rebuildOrders(List.of(order(1201, "Ann Lee", "ann@example.com"),
+                order(17, "Bob Stone", "bob@shop.io"),
+                order(3, null, null)), System.nanoTime());
+
+        assertThat(ids(searchIndex.searchOrders("120"))).containsExactly(1201L);
+        assertThat(ids(searchIndex.searchOrders("STONE"))).containsExactly(17L);
+        assertThat(ids(searchIndex.searchOrders("shop.io"))).containsExactly(17L);
+        assertThat(ids(searchIndex.searchOrders("le"))).containsExactly(1201L);
+        assertThat(ids(searchIndex.searchOrders(""))).containsExactly(1201L, 17L, 3L);
+        assertThat(searchIndex.ordersNeedRebuild()).isFalse();
+    }
+
+    @Test
+    void rebuildReplaysChangesMadeWhileFetching() {
+        searchIndex.rebuildOrders(List.of(order(1, "Ann Lee", null)), System.nanoTime());
+
+        long fetchStartedAt = System.nanoTime();
+        // Reported after the list was requested, so the list may not have them
+        searchIndex.orderSaved(order(2, "Cara Mills", null));
+        searchIndex.orderStatusChanged(1L, OrderStatus.CANCELLED);
+        searchIndex.rebuildOrders(List.of(order(1, "Ann Lee", null)), fetchStartedAt);
+
+        assertThat(ids(searchIndex.searchOrders(""))).containsExactly(1L, 2L);
+        assertThat(searchIndex.searchOrders("ann").get(0).getOrderStatus()).isEqualTo(OrderStatus.CANCELLED);
+    }
+
+    @Test
+    void rebuildDropsChangesTheListAlreadyHas() {
+        searchIndex.orderSaved(order(5, "Dan Price", null));
+        long fetchStartedAt = System.nanoTime();
+        // Order 5 was deleted on the backend after it was reported; the newer list wins
+        searchIndex.rebuildOrders(List.of(order(6, "Eve Hart", null)), fetchStartedAt);
+
+        assertThat(ids(searchIndex.searchOrders(""))).containsExactly(6L);
+    }
+
+    @Test
+    void olderRebuildDoesNotReplaceNewerOne() {
+        long older = System.nanoTime();
+        long newer = older + 1;
+        searchIndex.rebuildOrders(List.of(order(1, "Ann Lee", null), order(2, "Bob Stone", null)), newer);
+        searchIndex.rebuildOrders(List.of(order(1, "Ann Lee", null)), older);
+
+        assertThat(ids(searchIndex.searchOrders(""))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void statusChangeCopiesTheIndexedOrder() {
+        OrderDto order = order(1, "Ann Lee", null);
+        order.setOrderStatus(OrderStatus.PROCESSING);
+        searchIndex.rebuildOrders(List.of(order), System.nanoTime());
+
+        searchIndex.orderStatusChanged(1L, OrderStatus.COMPLETED);
+
+        assertThat(order.getOrderStatus()).isEqualTo(OrderStatus.PROCESSING);
+        assertThat(searchIndex.searchOrders("1").get(0).getOrderStatus()).isEqualTo(OrderStatus.COMPLETED);
+    }
+
+    private static OrderDto order(long id, String customerName, String customerEmail) {
+        OrderDto order = new OrderDto();
+        order.setOrderId(id);
+        if (customerName != null || customerEmail != null) {
+            CustomerDto customer = new CustomerDto();
+            customer.setName(customerName);
+            customer.setEmail(customerEmail);
+            order.setCustomer(customer);
+        }
+        return order;
+    }
+
+    private static List<Long> ids(List<OrderDto> orders) {
+        List<Long> ids = new ArrayList<>(orders.size());
+        for (OrderDto order : orders) {
+            ids.add(order.getOrderId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,76 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.service;
+
+import com.rk.inventory_management_system.ui.nventory_management_system_ui.dtos.BulkOperationDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.LongStream;
+
+/**
+ * Time to push a 1,000-order bulk operation through BulkOrderJob against a simulated backend
+ * with fixed per-call latency; parallelism 1 is the old one-at-a-time loop.
+ * <p>
+ * Run: {@code mvn test-compile} then the main method (or org.openjdk.jmh.Main) with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class BulkOrderJobBenchmark {
+
+    @Param({"1", "8", "32"})
+    private int parallelism;
+
+    @Param({"2"})
+    private long backendLatencyMillis;
+
+    private List<Long> orderIds;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        orderIds = LongStream.rangeClosed(1, 1_000).boxed().toList();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public BulkOperationDto bulk1000Orders() {
+        long latencyNanos = backendLatencyMillis * 1_000_000;
+        BulkOrderJob job = new BulkOrderJob("bench", "PROCESS", "bench", orderIds, orderId -> {
+            LockSupport.parkNanos(latencyNanos);
+            if (orderId % 100 == 0) {
+                throw new IllegalStateException("Order " + orderId + " is already completed");
+            }
+        });
+        job.run(executor, parallelism);
+        return job.snapshot();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BulkOrderJobBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,178 @@
+package com.rk.inventory_management_system.ui.nventory_management_system_ui.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CsvRowEncoder output read back with a plain RFC 4180 parser: every field must survive the
+ * round trip, with only text a spreadsheet would run as a formula gaining an apostrophe.
+ */
+class CsvRowEncoderTests {
+
+    private static final String ALPHABET = "ab ,\"\r\n=+-@\t'x1";
+
+    private final Random random = new Random(42);
+
+    @Test
+    void randomTextSurvivesRoundTrip() throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        StringWriter out = new StringWriter();
+        CsvRowEncoder csv = new CsvRowEncoder(out, 10);
+        for (int r = 0; r < 2000; r++) {
+            List<String> row = new ArrayList<>();
+            for (int f = 1 + random.nextInt(6); f > 0; f--) {
+                String value = random.nextInt(10) == 0 ? null : randomText(random.nextInt(8));
+                csv.text(value);
+                row.add(expected(value));
+            }
+            csv.endRow();
+            rows.add(row);
+        }
+
+        assertThat(parse(out.toString())).containsExactlyElementsOf(rows);
+        assertThat(csv.rows()).isEqualTo(2000);
+    }
+
+    @Test
+    void quotesOnlyWhenNeeded() throws IOException {
+        assertThat(row(csv -> csv.text("plain").text("with space").text("a,b").text("say \"hi\"")))
+                .isEqualTo("plain,with space,\"a,b\",\"say \"\"hi\"\"\"\r\n");
+        assertThat(row(csv -> csv.text(" padded").text("line\nbreak").text("cr\rhere")))
+                .isEqualTo("\" padded\",\"line\nbreak\",\"cr\rhere\"\r\n");
+        assertThat(row(csv -> csv.text(null).text("").value(null).blank(2).text("end")))
+                .isEqualTo(",,,,,end\r\n");
+    }
+
+    @Test
+    void formulasArePrefixed() throws IOException {
+        assertThat(row(csv -> csv.text("=SUM(A1:A9)").text("+1").text("-2").text("@cmd").text("\tx")))
+                .isEqualTo("\"'=SUM(A1:A9)\",\"'+1\",\"'-2\",\"'@cmd\",\"'\tx\"\r\n");
+        // Only a leading formula character counts
+        assertThat(row(csv -> csv.text("a=b").text("x-1"))).isEqualTo("a=b,x-1\r\n");
+        // Numbers are written as numbers, negative or not
+        assertThat(row(csv -> csv.number(-5L).number(-1.5).money(-2.0))).isEqualTo("-5,-1.5,-2.00\r\n");
+    }
+
+    @Test
+    void numbersAreWrittenInFull() throws IOException {
+        assertThat(row(csv -> csv.number(12L).number(7).number((Long) null).number((Integer) null)))
+                .isEqualTo("12,7,,\r\n");
+        assertThat(row(csv -> csv.number(1e20).number(1.5e-7).number(2.50).number(Double.NaN).number(Double.POSITIVE_INFINITY)))
+                .isEqualTo("100000000000000000000,0.00000015,2.5,,\r\n");
+        assertThat(row(csv -> csv.money(1250.5).money(0.125).money(1e12).money(null)))
+                .isEqualTo("1250.50,0.13,1000000000000.00,\r\n");
+    }
+
+    @Test
+    void headerIsFlushedAtOnceAndRowsEveryFlushEvery() throws IOException {
+        StringWriter out = new StringWriter();
+        int[] flushes = {0};
+        Writer counting = new Writer() {
+            @Override
+            public void write(char[] chars, int offset, int length) {
+                out.write(chars, offset, length);
+            }
+
+            @Override
+            public void flush() {
+                flushes[0]++;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        CsvRowEncoder csv = new CsvRowEncoder(counting, 3);
+
+        csv.header("A", "B");
+        assertThat(flushes[0]).isEqualTo(1);
+        for (int i = 0; i < 8; i++) {
+            csv.number(i).number(i * 2).endRow();
+        }
+        // Rows 3, 6 and 9 (header included), plus the header's own flush
+        assertThat(flushes[0]).isEqualTo(4);
+        assertThat(csv.rows()).isEqualTo(9);
+        assertThat(out.toString()).startsWith("A,B\r\n0,0\r\n1,2\r\n");
+    }
+
+    private interface Fields {
+        void write(CsvRowEncoder csv) throws IOException;
+    }
+
+    private static String row(Fields fields) throws IOException {
+        StringWriter out = new StringWriter();
+        CsvRowEncoder csv = new CsvRowEncoder(out, 1);
+        fields.write(csv);
+        csv.endRow();
+        return out.toString();
+    }
+
+    private static String expected(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        return "=+-@\t\r".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+    }
+
+    /**
+     * Rows of an RFC 4180 document with CRLF line ends
+     */
+    private static List<List<String>> parse(String text) {
+        List<List<String>> rows = new ArrayList<>();
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '"' && field.isEmpty()) {
+                i++;
+                while (true) {
+                    char q = text.charAt(i++);
+                    if (q == '"') {
+                        if (i < text.length() && text.charAt(i) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        field.append(q);
+                    }
+                }
+                continue;
+            }
+            if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+                i++;
+            } else if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+                row.add(field.toString());
+                field.setLength(0);
+                rows.add(row);
+                row = new ArrayList<>();
+                i += 2;
+            } else {
+                field.append(c);
+                i++;
+            }
+        }
+        assertThat(row).isEmpty();
+        return rows;
+    }
+
+    private String randomText(int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+}